@@ -0,0 +1,39 @@
+package com.kivojenko.spring.forge.annotation;
+
+/**
+ * Concurrency strategy of an entity or collection in the Hibernate second-level cache.
+ */
+public enum CacheConcurrency {
+  /**
+   * For data that is never updated; updating a cached entity fails.
+   */
+  READ_ONLY("read-only"),
+  /**
+   * Invalidates cached entries after a transaction commits, without locking; a concurrent read may briefly see the
+   * previous state.
+   */
+  NONSTRICT_READ_WRITE("nonstrict-read-write"),
+  /**
+   * Locks cached entries while they are updated, so that reads never see stale data.
+   */
+  READ_WRITE("read-write"),
+  /**
+   * Updates cached entries within JTA transactions; requires a transactional cache provider.
+   */
+  TRANSACTIONAL("transactional");
+
+  private final String externalName;
+
+  CacheConcurrency(String externalName) {
+    this.externalName = externalName;
+  }
+
+  /**
+   * Returns the name Hibernate uses for this strategy in its configuration properties.
+   *
+   * @return the external name, e.g. {@code read-write}
+   */
+  public String externalName() {
+    return externalName;
+  }
+}
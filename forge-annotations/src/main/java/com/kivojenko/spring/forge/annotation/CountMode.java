@@ -0,0 +1,22 @@
+package com.kivojenko.spring.forge.annotation;
+
+/**
+ * Controls how a generated service counts entities.
+ */
+public enum CountMode {
+  /**
+   * Run an exact {@code count(*)} on every request.
+   */
+  EXACT,
+  /**
+   * Run an exact count, then serve it from memory for {@link WithService#countTtlSeconds()} or until an entity is
+   * created or deleted through the service.
+   */
+  CACHED,
+  /**
+   * Read the row estimate from the database statistics ({@code pg_class.reltuples} on PostgreSQL) of the entity's
+   * mapped table, falling back to an exact count where there is none. Not available to entities in inheritance
+   * hierarchies.
+   */
+  APPROXIMATE
+}
@@ -0,0 +1,52 @@
+package com.kivojenko.spring.forge.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stores the annotated entity in the Hibernate second-level cache. Meant for reference data that is read far more
+ * often than it changes.
+ * <p>
+ * The processor generates a Hibernate properties customizer that registers the entity's cache region, so the entity
+ * needs no Hibernate annotations. Lookups by ID, including those of generated association endpoints, are then served
+ * from the cache. With {@link #queries()}, the generated {@code findBy*} repository methods and filtered list
+ * queries also go through the query cache.
+ * <p>
+ * The application still has to enable the second-level cache and choose a region factory, e.g. JCache with
+ * {@code hibernate.cache.region.factory_class=jcache}, and enable {@code hibernate.cache.use_query_cache} for cached
+ * queries.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.SOURCE)
+public @interface ForgeCacheable {
+    /**
+     * The concurrency strategy of the cached entity and its cached collections.
+     *
+     * @return the concurrency strategy
+     */
+    CacheConcurrency concurrency() default CacheConcurrency.READ_WRITE;
+
+    /**
+     * The cache region. If empty, Hibernate's default region for the entity is used, named after the entity class.
+     *
+     * @return the region name
+     */
+    String region() default "";
+
+    /**
+     * Collection fields of the entity whose contents are cached as well. Only the IDs of the elements are cached, so
+     * the target entity should be cacheable too.
+     *
+     * @return the names of the cached collection fields
+     */
+    String[] collections() default {};
+
+    /**
+     * Whether generated repository queries and filtered list queries are marked cacheable for the query cache.
+     *
+     * @return true to cache query results, false otherwise
+     */
+    boolean queries() default true;
+}
@@ -33,4 +33,46 @@ public @interface GetOrCreate {
      * Ignored for non-String fields. Default: true.
      */
     boolean ignoreCase() default true;
+
+    /**
+     * How a missing entity is inserted. The default runs the full persist lifecycle; {@link GetOrCreateMode#UPSERT}
+     * tolerates concurrent calls for the same key, at the cost of bypassing it.
+     *
+     * @return the insert mode
+     */
+    GetOrCreateMode mode() default GetOrCreateMode.SAVE;
+
+    /**
+     * Whether the generated service keeps an in-process cache from lookup keys to entity IDs, consulted by
+     * {@code getOrCreate} and the generated {@code findBy<Field>} lookup, which then load the entity by the cached ID
+     * instead of looking it up by key. Keys are normalized like the lookup, keys without an entity are cached for
+     * {@link #lookupCacheNegativeTtlSeconds()}, and the service's writes invalidate the cache. Requires the entity to
+     * be {@code @ForgeCacheable}, so that loading by the cached ID is served by the second-level cache, and
+     * {@code com.github.ben-manes.caffeine:caffeine} at runtime.
+     *
+     * @return true to cache lookup keys, false otherwise
+     */
+    boolean lookupCache() default false;
+
+    /**
+     * The maximum number of keys kept by the {@link #lookupCache() lookup cache}.
+     *
+     * @return the maximum size of the lookup cache
+     */
+    long lookupCacheMaxSize() default 10_000;
+
+    /**
+     * How long a key is mapped to the ID of its entity by the {@link #lookupCache() lookup cache}, in seconds. Bounds
+     * the staleness of keys changed other than through the service.
+     *
+     * @return the time to live of a cached ID
+     */
+    long lookupCacheTtlSeconds() default 300;
+
+    /**
+     * How long the {@link #lookupCache() lookup cache} remembers that no entity has a key, in seconds.
+     *
+     * @return the time to live of a cached miss
+     */
+    long lookupCacheNegativeTtlSeconds() default 5;
 }
\ No newline at end of file
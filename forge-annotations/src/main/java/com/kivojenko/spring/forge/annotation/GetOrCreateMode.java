@@ -0,0 +1,21 @@
+package com.kivojenko.spring.forge.annotation;
+
+/**
+ * Controls how a generated {@code getOrCreate} inserts an entity that its lookup did not find.
+ */
+public enum GetOrCreateMode {
+  /**
+   * Insert the entity with one {@code INSERT ... ON CONFLICT (field) DO NOTHING} statement and look it up again, so
+   * that concurrent calls for the same key neither fail nor mark the transaction rollback-only. The field needs a
+   * unique constraint of its own; relation ID paths conflict on any unique constraint instead. Hibernate emulates the
+   * statement on databases without native support. Only the entity's non-null basic, embedded and to-one attributes
+   * are inserted; ID generators run as usual, but other value generators, lifecycle callbacks such as
+   * {@code @PrePersist}, entity listeners including auditing, and Bean Validation do not.
+   */
+  UPSERT,
+  /**
+   * Save the entity through the repository and look it up again if the insert violates a constraint. Runs the full
+   * persist lifecycle, but a lost race fails the statement, which aborts the surrounding transaction. The default.
+   */
+  SAVE
+}
@@ -0,0 +1,19 @@
+package com.kivojenko.spring.forge.annotation;
+
+/**
+ * Controls how a generated list endpoint handles a requested page size above its maximum.
+ */
+public enum OversizedPageMode {
+  /**
+   * Use the global {@code page.oversized} setting from {@code springforge.yml}, clamping when it is absent.
+   */
+  DEFAULT,
+  /**
+   * Serve the page with the maximum size instead.
+   */
+  CLAMP,
+  /**
+   * Reject the request with {@code 400 Bad Request}.
+   */
+  REJECT
+}
@@ -0,0 +1,19 @@
+package com.kivojenko.spring.forge.annotation;
+
+/**
+ * Controls whether a generated list endpoint counts the total number of matching entities.
+ */
+public enum PagingMode {
+  /**
+   * Use the global {@code page.count} setting from {@code springforge.yml}, counting when it is absent.
+   */
+  DEFAULT,
+  /**
+   * Return a {@code Page} with total count and total pages, at the cost of a {@code count} query.
+   */
+  PAGE,
+  /**
+   * Return a {@code Slice} that only knows whether a next page exists, read by fetching one extra row.
+   */
+  SLICE
+}
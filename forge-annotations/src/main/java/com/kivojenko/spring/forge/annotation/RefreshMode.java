@@ -0,0 +1,20 @@
+package com.kivojenko.spring.forge.annotation;
+
+/**
+ * Controls whether a generated service flushes and re-reads a newly created entity.
+ */
+public enum RefreshMode {
+  /**
+   * Refresh only if the processor detects database-generated values (column defaults, generated columns,
+   * formulas, database timestamps).
+   */
+  AUTO,
+  /**
+   * Always flush and refresh, e.g. for values populated by database triggers.
+   */
+  ALWAYS,
+  /**
+   * Never refresh; the entity is returned as saved.
+   */
+  NEVER
+}
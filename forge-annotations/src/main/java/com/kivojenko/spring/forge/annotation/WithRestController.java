@@ -34,4 +34,102 @@ public @interface WithRestController {
      * @return true if the controller should be abstract, false otherwise
      */
     boolean makeAbstract() default false;
-}
\ No newline at end of file
+
+    /**
+     * The maximum page size served by the generated list endpoint, also used as its default page size.
+     * If not positive, the global {@code page.max-size} from {@code springforge.yml} is used.
+     *
+     * @return the maximum page size
+     */
+    int maxPageSize() default -1;
+
+    /**
+     * How requests for pages larger than {@link #maxPageSize()} are handled.
+     *
+     * @return the oversized page mode
+     */
+    OversizedPageMode oversizedPage() default OversizedPageMode.DEFAULT;
+
+    /**
+     * Whether the generated list endpoint returns counted pages or count-free slices by default.
+     * Clients can override it per request with the {@code count} parameter.
+     *
+     * @return the paging mode
+     */
+    PagingMode paging() default PagingMode.DEFAULT;
+
+    /**
+     * The largest number of entities accepted by the generated {@code POST /batch} endpoint per request.
+     * If not positive, the global {@code batch.max-size} from {@code springforge.yml} is used.
+     *
+     * @return the maximum batch size
+     */
+    int maxBatchSize() default -1;
+
+    /**
+     * Whether to generate {@code PATCH /{path}}, which sets fields on every entity matching the generated filter
+     * parameters with a single {@code UPDATE} statement. Requires {@code @FilterField} fields, otherwise compilation
+     * fails. The statement bypasses entity callbacks and persistence hooks.
+     *
+     * @return true to generate the bulk update endpoint
+     */
+    boolean bulkUpdate() default false;
+
+    /**
+     * Whether to generate {@code DELETE /{path}}, which deletes the entities whose IDs are given as a JSON array, and,
+     * with {@code @FilterField} fields, the filtered variant deleting every matching entity. Without filter parameters,
+     * the latter requires {@code force=true}.
+     *
+     * @return true to generate the bulk delete endpoints
+     */
+    boolean bulkDelete() default false;
+
+    /**
+     * Whether the generated endpoints return an immutable DTO, a Lombok {@code @Value} class, instead of the entity.
+     * The DTO holds the basic and embedded fields, and the IDs of {@code @ManyToOne} and {@code @OneToOne} targets,
+     * so serializing it never touches a lazy association.
+     *
+     * @return true to generate and return a DTO, false to return the entity
+     */
+    boolean dto() default false;
+
+    /**
+     * Collection fields to include in the generated DTO, see {@link #dto()}. Entity collections are included as the
+     * list of their IDs, other collections as a copy of their values. Each listed collection is loaded when mapping.
+     *
+     * @return the names of the collection fields to include
+     */
+    String[] dtoCollections() default {};
+
+    /**
+     * Whether the generated {@code GET /{id}} endpoint caches the serialized response and its entity tag, serving
+     * repeated reads by writing the cached bytes without loading or serializing the entity. Cached responses are
+     * invalidated by the writes of the generated service; changes to associated entities embedded in the response
+     * only show once it expires. Requires {@code com.github.ben-manes.caffeine:caffeine} at runtime.
+     *
+     * @return true to cache serialized responses, false otherwise
+     */
+    boolean responseCache() default false;
+
+    /**
+     * The maximum total size of the response bodies kept by the {@link #responseCache() response cache}, in bytes.
+     *
+     * @return the maximum size of the response cache
+     */
+    long responseCacheMaxBytes() default 64L * 1024 * 1024;
+
+    /**
+     * How long a response is served from the {@link #responseCache() response cache} after it was cached, in seconds.
+     *
+     * @return the time to live of a cached response
+     */
+    long responseCacheTtlSeconds() default 60;
+
+    /**
+     * Whether the {@link #responseCache() response cache} keeps response bodies in direct memory, outside the
+     * garbage-collected heap. Direct memory is limited by {@code -XX:MaxDirectMemorySize}.
+     *
+     * @return true to keep cached responses off-heap
+     */
+    boolean responseCacheOffHeap() default false;
+}
@@ -26,4 +26,52 @@ public @interface WithService {
      * @return true if the service should be abstract, false otherwise
      */
     boolean makeAbstract() default false;
-}
\ No newline at end of file
+
+    /**
+     * Whether {@code create} should flush and refresh the saved entity to pick up database-generated values.
+     * By default, the processor refreshes only when the entity declares such values; use
+     * {@link RefreshMode#ALWAYS} for values the processor cannot see, such as those set by triggers.
+     *
+     * @return the refresh mode for created entities
+     */
+    RefreshMode refreshOnCreate() default RefreshMode.AUTO;
+
+    /**
+     * How the generated service counts entities for the {@code /count} endpoint.
+     *
+     * @return the count mode
+     */
+    CountMode count() default CountMode.EXACT;
+
+    /**
+     * How long a {@link CountMode#CACHED} count is served from memory, in seconds.
+     *
+     * @return the time to live of a cached count
+     */
+    long countTtlSeconds() default 60;
+
+    /**
+     * Whether the generated service keeps a read-through cache of entities by ID, consulted by {@code getById} and
+     * {@code exists}, and invalidated by the service's writes. Cached entities are detached, shared between requests
+     * and must not be modified. Only allowed on entities without associations and element collections. Requires
+     * {@code com.github.ben-manes.caffeine:caffeine} at runtime.
+     *
+     * @return true to cache entities read by ID, false otherwise
+     */
+    boolean readCache() default false;
+
+    /**
+     * The maximum number of entities kept by the {@link #readCache() read cache}.
+     *
+     * @return the maximum size of the read cache
+     */
+    long readCacheMaxSize() default 10_000;
+
+    /**
+     * How long an entity is served from the {@link #readCache() read cache} after it was loaded, in seconds. Bounds
+     * the staleness of entities changed other than through the service.
+     *
+     * @return the time to live of a cached entity
+     */
+    long readCacheTtlSeconds() default 60;
+}
@@ -84,4 +84,13 @@ public @interface FilterField {
    */
   boolean orNull() default false;
 
+  /**
+   * Indicates whether this field orders the generated keyset {@code /scroll} endpoint.
+   * Rows are sorted ascending by this field, with the ID as tie-breaker; without a sort key they are sorted by ID.
+   * Only the first such basic field of an entity is used.
+   *
+   * @return {@code true} if the field is the scroll sort key, {@code false} otherwise
+   */
+  boolean sortKey() default false;
+
 }
\ No newline at end of file
@@ -41,6 +41,33 @@ public final class SpringForgeConfig {
 
   public static int getAllPageSize = Integer.MAX_VALUE;
 
+  /**
+   * The largest page generated list endpoints serve; also caps their default page size.
+   */
+  public static int pageMaxSize = 1000;
+
+  /**
+   * Whether oversized page requests are rejected rather than clamped to {@link #pageMaxSize}.
+   */
+  public static boolean rejectOversizedPages = false;
+
+  /**
+   * Whether generated list endpoints count the total number of matching entities by default; if not, they return
+   * slices.
+   */
+  public static boolean pageCount = true;
+
+  /**
+   * Rows fetched per round trip by the streaming endpoints, also the interval at which the persistence
+   * context is cleared while streaming.
+   */
+  public static int streamFetchSize = 500;
+
+  /**
+   * The largest number of entities generated bulk create endpoints accept per request.
+   */
+  public static int batchMaxSize = 1000;
+
   private static Map<String, Object> yaml = null;
 
   /**
@@ -73,6 +100,26 @@ public final class SpringForgeConfig {
     if (newGetAllPageSize != null) {
       getAllPageSize = Integer.parseInt(newGetAllPageSize);
     }
+    var newPageMaxSize = stringFromYaml("page.max-size");
+    if (newPageMaxSize != null) {
+      pageMaxSize = Integer.parseInt(newPageMaxSize);
+    }
+    var oversized = stringFromYaml("page.oversized");
+    if (oversized != null) {
+      rejectOversizedPages = oversized.equalsIgnoreCase("reject");
+    }
+    var newPageCount = stringFromYaml("page.count");
+    if (newPageCount != null) {
+      pageCount = Boolean.parseBoolean(newPageCount);
+    }
+    var newStreamFetchSize = stringFromYaml("stream.fetch-size");
+    if (newStreamFetchSize != null) {
+      streamFetchSize = Integer.parseInt(newStreamFetchSize);
+    }
+    var newBatchMaxSize = stringFromYaml("batch.max-size");
+    if (newBatchMaxSize != null) {
+      batchMaxSize = Integer.parseInt(newBatchMaxSize);
+    }
   }
 
   /**
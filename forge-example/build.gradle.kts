@@ -1,6 +1,7 @@
 plugins {
     `java-library`
     id("org.springframework.boot") version "4.0.6"
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 
@@ -22,6 +23,9 @@ dependencies {
 
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     runtimeOnly("org.postgresql:postgresql")
+    runtimeOnly("org.hibernate.orm:hibernate-jcache")
+    runtimeOnly("com.github.ben-manes.caffeine:jcache")
+    runtimeOnly("com.github.ben-manes.caffeine:caffeine")
 
     compileOnly("jakarta.validation:jakarta.validation-api")
     compileOnly("jakarta.persistence:jakarta.persistence-api")
@@ -42,6 +46,9 @@ dependencies {
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:postgresql")
     testImplementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.18.3")
+
+    // --- Benchmarks ---
+    jmhImplementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310:2.18.3")
 }
 
 
@@ -49,3 +56,7 @@ tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    resultsFile.set(layout.buildDirectory.file("reports/jmh/results.txt"))
+}
+
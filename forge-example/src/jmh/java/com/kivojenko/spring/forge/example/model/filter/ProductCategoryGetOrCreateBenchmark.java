@@ -0,0 +1,112 @@
+package com.kivojenko.spring.forge.example.model.filter;
+
+import com.kivojenko.spring.forge.example.ForgeExampleApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Releases 64 threads at once on {@code getOrCreate} of the same new {@link ProductCategory} name, comparing the
+ * generated upsert of {@link ProductCategoryForgeService} against the save-and-catch approach of the default mode.
+ * Every invocation uses a fresh name, so all threads contend on its insert; the {@code failures} counter reports calls
+ * that threw and {@code duplicates} rows stored beyond the first.
+ * <p>
+ * Needs the PostgreSQL database of the example application, see {@code SPRING_DATASOURCE_URL}. Run with
+ * {@code ./gradlew :forge-example:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductCategoryGetOrCreateBenchmark {
+  private static final int THREADS = 64;
+  private static final String PREFIX = "benchmark-";
+
+  private final AtomicLong keys = new AtomicLong();
+  private ConfigurableApplicationContext context;
+  private ProductCategoryForgeService service;
+  private ProductCategoryForgeRepository repository;
+  private TransactionTemplate transaction;
+  private ExecutorService executor;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Outcome {
+    public long failures;
+    public long duplicates;
+  }
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(ForgeExampleApplication.class)
+        .web(WebApplicationType.NONE)
+        .run("--spring.datasource.hikari.maximum-pool-size=" + THREADS);
+    service = context.getBean(ProductCategoryForgeService.class);
+    repository = context.getBean(ProductCategoryForgeRepository.class);
+    transaction = context.getBean(TransactionTemplate.class);
+    executor = Executors.newFixedThreadPool(THREADS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+    repository.deleteAllInBatch(repository.findAllByNameContaining(PREFIX));
+    context.close();
+  }
+
+  @Benchmark
+  public int upsert(Outcome outcome) throws InterruptedException {
+    return race(outcome, service::getOrCreate);
+  }
+
+  @Benchmark
+  public int saveAndCatch(Outcome outcome) throws InterruptedException {
+    return race(outcome, name -> transaction.execute(status -> repository.findByNameIgnoreCase(name).orElseGet(() -> {
+      try {
+        return repository.save(ProductCategory.builder().name(name).build());
+      } catch (DataIntegrityViolationException e) {
+        return repository.findByNameIgnoreCase(name).orElseThrow();
+      }
+    })));
+  }
+
+  private int race(Outcome outcome, Function<String, ProductCategory> getOrCreate) throws InterruptedException {
+    var name = PREFIX + keys.incrementAndGet();
+    var start = new CountDownLatch(1);
+    var calls = new ArrayList<Future<ProductCategory>>(THREADS);
+    for (int i = 0; i < THREADS; i++) {
+      calls.add(executor.submit(() -> {
+        start.await();
+        return getOrCreate.apply(name);
+      }));
+    }
+    start.countDown();
+
+    var ids = new HashSet<Long>();
+    for (var call : calls) {
+      try {
+        ids.add(call.get().getId());
+      } catch (ExecutionException e) {
+        outcome.failures++;
+      }
+    }
+    outcome.duplicates += Math.max(0, ids.size() - 1);
+    return ids.size();
+  }
+}
@@ -0,0 +1,95 @@
+package com.kivojenko.spring.forge.example.model.patch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the generated PATCH applier of {@link ListingForgeService} against the reflective
+ * fallback it replaces, and the map-bound request body against the streamed one.
+ * <p>
+ * Run with {@code ./gradlew :forge-example:jmh}; add the {@code gc} profiler to compare allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListingPatchBenchmark {
+  private static final String BODY = """
+      {
+        "title": "Trail runner",
+        "subtitle": "Lightweight",
+        "description": "Breathable mesh upper",
+        "sku": "TR-001",
+        "brand": "Forge",
+        "color": "red",
+        "material": "mesh",
+        "countryOfOrigin": "PT",
+        "status": "PUBLISHED",
+        "price": 129.90,
+        "discountPrice": 99.90,
+        "stock": 42,
+        "views": 1000,
+        "rating": 4.7,
+        "featured": true,
+        "giftWrap": false,
+        "weightGrams": 280,
+        "availableFrom": "2025-03-01",
+        "publishedAt": "2025-03-01T10:15:30",
+        "cover": {"url": "https://cdn.example.com/cover.jpg", "width": 1200, "height": 800},
+        "keywords": ["running", "trail", "shoes"],
+        "images": [
+          {"url": "https://cdn.example.com/1.jpg", "width": 800, "height": 600},
+          {"url": "https://cdn.example.com/2.jpg", "width": 800, "height": 600}
+        ]
+      }
+      """;
+
+  private static final byte[] BODY_BYTES = BODY.getBytes(StandardCharsets.UTF_8);
+
+  private final ListingForgeService service = new ListingForgeService();
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private Map<String, Object> fields;
+  private Listing listing;
+
+  @Setup
+  public void setUp() throws Exception {
+    fields = objectMapper.readValue(BODY, new TypeReference<>() {});
+    listing = new Listing();
+  }
+
+  @Benchmark
+  public Listing generated() {
+    service.applyPatch(listing, fields);
+    return listing;
+  }
+
+  @Benchmark
+  public Listing reflective() {
+    for (var entry : fields.entrySet()) {
+      service.applyPatchFieldReflectively(listing, entry.getKey(), entry.getValue());
+    }
+    return listing;
+  }
+
+  @Benchmark
+  public Listing mapBody() throws IOException {
+    service.applyPatch(listing, objectMapper.readValue(BODY_BYTES, new TypeReference<Map<String, Object>>() {}));
+    return listing;
+  }
+
+  @Benchmark
+  public Listing streamingBody() throws IOException {
+    try (var parser = objectMapper.createParser(BODY_BYTES)) {
+      service.applyPatch(listing, parser);
+    }
+    return listing;
+  }
+}
@@ -1,7 +1,13 @@
 package com.kivojenko.spring.forge.example;
 
+import com.kivojenko.spring.forge.jpa.contract.ForgeEntityCacheMetrics;
+import com.kivojenko.spring.forge.jpa.contract.ForgeEtagFilter;
+import com.kivojenko.spring.forge.jpa.contract.ForgeService;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Bean;
+
+import java.util.List;
 
 @SpringBootApplication
 public class ForgeExampleApplication {
@@ -9,4 +15,14 @@ public class ForgeExampleApplication {
     public static void main(String[] args) {
         SpringApplication.run(ForgeExampleApplication.class, args);
     }
+
+    @Bean
+    ForgeEntityCacheMetrics forgeEntityCacheMetrics(List<ForgeService<?, ?, ?>> services) {
+        return new ForgeEntityCacheMetrics(services);
+    }
+
+    @Bean
+    ForgeEtagFilter forgeEtagFilter() {
+        return new ForgeEtagFilter();
+    }
 }
@@ -0,0 +1,52 @@
+package com.kivojenko.spring.forge.example.model.dto;
+
+import com.kivojenko.spring.forge.annotation.WithRestController;
+import com.kivojenko.spring.forge.example.model.general.Book;
+import com.kivojenko.spring.forge.example.model.general.Category;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Entity served through a generated DTO: {@code book} is returned as {@code bookId}, {@code keywords} is included on
+ * request and {@code categories} is left out. Serialized {@code GET /chapters/{id}} responses are cached.
+ */
+@Getter
+@Setter
+@RequiredArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "chapters")
+@WithRestController(dto = true, dtoCollections = "keywords", responseCache = true)
+public class Chapter {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  private String title;
+
+  private int number;
+
+  @ManyToOne(fetch = FetchType.LAZY)
+  @JoinColumn(name = "book_id")
+  private Book book;
+
+  @Builder.Default
+  @ElementCollection
+  @CollectionTable(name = "chapter_keywords", joinColumns = @JoinColumn(name = "chapter_id"))
+  private Set<String> keywords = new HashSet<>();
+
+  @Builder.Default
+  @ManyToMany(fetch = FetchType.LAZY)
+  @JoinTable(
+      name = "chapter_categories",
+      joinColumns = @JoinColumn(name = "chapter_id"),
+      inverseJoinColumns = @JoinColumn(name = "category_id")
+  )
+  private List<Category> categories = new ArrayList<>();
+}
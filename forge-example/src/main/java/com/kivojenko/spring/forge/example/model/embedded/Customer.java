@@ -1,6 +1,7 @@
 package com.kivojenko.spring.forge.example.model.embedded;
 
 import com.kivojenko.spring.forge.annotation.WithRestController;
+import com.kivojenko.spring.forge.annotation.WithService;
 import com.kivojenko.spring.forge.annotation.endpoint.WithEndpoints;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
@@ -22,6 +23,7 @@ import lombok.Setter;
 @Entity
 @Table(name = "customers")
 @WithRestController
+@WithService(readCache = true, readCacheMaxSize = 1000)
 public class Customer {
 
   @Id
@@ -1,5 +1,6 @@
 package com.kivojenko.spring.forge.example.model.filter;
 
+import com.kivojenko.spring.forge.annotation.ForgeCacheable;
 import com.kivojenko.spring.forge.annotation.WithRestController;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -18,6 +19,7 @@ import lombok.Setter;
 @Entity
 @Table(name = "countries")
 @WithRestController
+@ForgeCacheable
 public class Country {
 
     @Id
@@ -32,7 +32,7 @@ import java.util.Set;
 @Builder
 @Entity
 @Table(name = "products")
-@WithRestController
+@WithRestController(bulkUpdate = true, bulkDelete = true)
 @GetOrCreate(field = "sku")
 public class Product {
 
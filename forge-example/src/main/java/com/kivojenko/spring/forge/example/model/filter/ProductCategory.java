@@ -1,6 +1,7 @@
 package com.kivojenko.spring.forge.example.model.filter;
 
 import com.kivojenko.spring.forge.annotation.GetOrCreate;
+import com.kivojenko.spring.forge.annotation.GetOrCreateMode;
 import com.kivojenko.spring.forge.annotation.WithRestController;
 import com.kivojenko.spring.forge.jpa.contract.HasName;
 import jakarta.persistence.*;
@@ -15,7 +16,7 @@ import lombok.*;
 @Entity
 @Table(name = "product_categories")
 @WithRestController
-@GetOrCreate
+@GetOrCreate(mode = GetOrCreateMode.UPSERT)
 public class ProductCategory implements HasName {
 
     @Id
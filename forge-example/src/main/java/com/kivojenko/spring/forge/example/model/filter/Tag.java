@@ -1,5 +1,6 @@
 package com.kivojenko.spring.forge.example.model.filter;
 
+import com.kivojenko.spring.forge.annotation.ForgeCacheable;
 import com.kivojenko.spring.forge.annotation.WithRestController;
 import com.kivojenko.spring.forge.annotation.filter.FilterField;
 import com.kivojenko.spring.forge.jpa.contract.HasName;
@@ -25,6 +26,7 @@ import lombok.ToString;
 @Entity
 @Table(name = "tags")
 @WithRestController
+@ForgeCacheable
 public class Tag implements HasName {
 
     @Id
@@ -1,6 +1,7 @@
 package com.kivojenko.spring.forge.example.model.general;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.kivojenko.spring.forge.annotation.ForgeCacheable;
 import com.kivojenko.spring.forge.annotation.GetOrCreate;
 import com.kivojenko.spring.forge.annotation.WithRestController;
 import com.kivojenko.spring.forge.annotation.endpoint.WithEndpoints;
@@ -20,7 +21,8 @@ import java.util.List;
 @Entity
 @Table(name = "categories")
 @WithRestController
-@GetOrCreate
+@GetOrCreate(lookupCache = true)
+@ForgeCacheable
 public class Category implements HasName {
 
     @Id
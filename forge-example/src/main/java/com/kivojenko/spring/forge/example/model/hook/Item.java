@@ -35,7 +35,7 @@ import java.util.List;
 @Builder
 @Entity
 @Table(name = "items")
-@WithRestController
+@WithRestController(maxBatchSize = 100)
 public class Item {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -0,0 +1,38 @@
+package com.kivojenko.spring.forge.example.model.paging;
+
+import com.kivojenko.spring.forge.annotation.CountMode;
+import com.kivojenko.spring.forge.annotation.WithRestController;
+import com.kivojenko.spring.forge.annotation.WithService;
+import com.kivojenko.spring.forge.annotation.filter.FilterField;
+import com.kivojenko.spring.forge.annotation.filter.StringMatchMode;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * High-volume entity: its list endpoint serves at most 10 entries per page, {@code /scroll} reads it in
+ * {@code loggedAt} order, and {@code /count} is estimated from the table statistics.
+ */
+@Getter
+@Setter
+@RequiredArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "log_entries")
+@WithRestController(maxPageSize = 10, bulkDelete = true)
+@WithService(count = CountMode.APPROXIMATE)
+public class LogEntry {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @FilterField(stringMatchMode = StringMatchMode.EQUALS)
+  private String level;
+
+  private String message;
+
+  @FilterField(sortKey = true)
+  private LocalDateTime loggedAt;
+}
@@ -0,0 +1,68 @@
+package com.kivojenko.spring.forge.example.model.patch;
+
+import com.kivojenko.spring.forge.annotation.WithRestController;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wide entity used to exercise generated PATCH appliers: scalars, primitives, an enum,
+ * temporal values, an embedded value and element collections.
+ */
+@Getter
+@Setter
+@RequiredArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "listings")
+@WithRestController
+public class Listing {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  private String title;
+  private String subtitle;
+  private String description;
+  private String sku;
+  private String brand;
+  private String color;
+  private String material;
+  private String countryOfOrigin;
+
+  @Enumerated(EnumType.STRING)
+  private ListingStatus status;
+
+  private BigDecimal price;
+  private BigDecimal discountPrice;
+  private Integer stock;
+  private int views;
+  private double rating;
+  private boolean featured;
+  private Boolean giftWrap;
+  private Long weightGrams;
+
+  private LocalDate availableFrom;
+  private LocalDateTime publishedAt;
+
+  @Embedded
+  private ListingImage cover;
+
+  @Builder.Default
+  @ElementCollection
+  @CollectionTable(name = "listing_keywords", joinColumns = @JoinColumn(name = "listing_id"))
+  private Set<String> keywords = new HashSet<>();
+
+  @Builder.Default
+  @ElementCollection
+  @CollectionTable(name = "listing_images", joinColumns = @JoinColumn(name = "listing_id"))
+  private List<ListingImage> images = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.kivojenko.spring.forge.example.model.patch;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@RequiredArgsConstructor
+@AllArgsConstructor
+@Builder
+@Embeddable
+public class ListingImage {
+  private String url;
+  private Integer width;
+  private Integer height;
+}
@@ -0,0 +1,7 @@
+package com.kivojenko.spring.forge.example.model.patch;
+
+public enum ListingStatus {
+  DRAFT,
+  PUBLISHED,
+  ARCHIVED
+}
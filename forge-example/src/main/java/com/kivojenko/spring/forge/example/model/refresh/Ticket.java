@@ -0,0 +1,29 @@
+package com.kivojenko.spring.forge.example.model.refresh;
+
+import com.kivojenko.spring.forge.annotation.WithRestController;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Entity with a column filled by a database default: its generated service flushes and refreshes created tickets, so
+ * that {@code status} is returned by {@code POST}.
+ */
+@Getter
+@Setter
+@RequiredArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "tickets")
+@WithRestController
+public class Ticket {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, unique = true)
+  private String code;
+
+  @Column(insertable = false, updatable = false, columnDefinition = "varchar(16) default 'OPEN'")
+  private String status;
+}
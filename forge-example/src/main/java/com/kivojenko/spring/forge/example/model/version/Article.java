@@ -0,0 +1,38 @@
+package com.kivojenko.spring.forge.example.model.version;
+
+import com.kivojenko.spring.forge.annotation.CountMode;
+import com.kivojenko.spring.forge.annotation.WithRestController;
+import com.kivojenko.spring.forge.annotation.WithService;
+import com.kivojenko.spring.forge.example.model.general.Author;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Versioned entity: PUT requests are executed as a single conditional update and honor {@code If-Match}.
+ * Its count is cached until articles are created or deleted through the service.
+ */
+@Getter
+@Setter
+@RequiredArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "articles")
+@WithRestController
+@WithService(count = CountMode.CACHED, countTtlSeconds = 3600)
+public class Article {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private String title;
+
+  private String body;
+
+  @ManyToOne
+  private Author author;
+
+  @Version
+  private Long version;
+}
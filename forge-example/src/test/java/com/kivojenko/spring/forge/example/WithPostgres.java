@@ -3,6 +3,9 @@ package com.kivojenko.spring.forge.example;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,8 +32,34 @@ public abstract class WithPostgres {
   @Autowired
   protected JdbcTemplate jdbcTemplate;
 
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
   protected final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
 
+  /**
+   * Runs the action with freshly cleared Hibernate statistics and returns them, so that a test can assert how many
+   * statements or cache hits the action caused. Statistics are disabled again afterwards.
+   *
+   * @param action the measured action
+   * @return the statistics recorded while the action ran
+   */
+  protected Statistics statistics(StatisticsAction action) throws Exception {
+    var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    try {
+      action.run();
+    } finally {
+      statistics.setStatisticsEnabled(false);
+    }
+    return statistics;
+  }
+
+  @FunctionalInterface
+  protected interface StatisticsAction {
+    void run() throws Exception;
+  }
 
   @AfterEach
   public void cleanUp() throws Exception {
@@ -0,0 +1,133 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.general.Author;
+import com.kivojenko.spring.forge.example.model.general.AuthorForgeRepository;
+import com.kivojenko.spring.forge.example.model.version.Article;
+import com.kivojenko.spring.forge.example.model.version.ArticleForgeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class ArticleConditionalUpdateTest extends WithPostgres {
+
+  @Autowired
+  private ArticleForgeRepository articleRepository;
+
+  @Autowired
+  private AuthorForgeRepository authorRepository;
+
+  @AfterEach
+  void tearDown() {
+    articleRepository.deleteAll();
+  }
+
+  @Test
+  void testPutWithMatchingIfMatchUpdatesAndReturnsNewEtag() throws Exception {
+    var author = authorRepository.save(Author.builder().name("Article Author").build());
+    var article = articleRepository.save(Article.builder().title("Draft").body("v0").build());
+
+    mockMvc.perform(put("/articles/{id}", article.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\": \"Final\", \"body\": \"v1\", \"author\": {\"id\": " + author.getId() + "}}"))
+        .andExpect(status().isCreated())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+        .andExpect(jsonPath("$.version", is(1)))
+        .andExpect(jsonPath("$.title", is("Final")))
+        .andExpect(jsonPath("$.author.name", is("Article Author")));
+
+    var updated = articleRepository.findById(article.getId()).orElseThrow();
+    assertEquals("Final", updated.getTitle());
+    assertEquals("v1", updated.getBody());
+    assertEquals(1L, updated.getVersion());
+    assertEquals(author.getId(), jdbcTemplate.queryForObject(
+        "SELECT author_id FROM articles WHERE id = ?", Long.class, article.getId()));
+  }
+
+  @Test
+  void testPutWithStaleIfMatchIsRejected() throws Exception {
+    var article = articleRepository.save(Article.builder().title("Draft").build());
+
+    mockMvc.perform(put("/articles/{id}", article.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\": \"First\"}"))
+        .andExpect(status().isCreated());
+
+    mockMvc.perform(put("/articles/{id}", article.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\": \"Second\"}"))
+        .andExpect(status().isPreconditionFailed());
+
+    assertEquals("First", articleRepository.findById(article.getId()).orElseThrow().getTitle());
+  }
+
+  @Test
+  void testPutWithStaleBodyVersionIsRejected() throws Exception {
+    var article = articleRepository.save(Article.builder().title("Draft").build());
+
+    mockMvc.perform(put("/articles/{id}", article.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\": \"Stale\", \"version\": 5}"))
+        .andExpect(status().isPreconditionFailed());
+  }
+
+  @Test
+  void testPutOnMissingEntityIsNotFound() throws Exception {
+    mockMvc.perform(put("/articles/{id}", Long.MAX_VALUE)
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\": \"Ghost\"}"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testIfMatchOnUnversionedEntityIsRejected() throws Exception {
+    var author = authorRepository.save(Author.builder().name("Unversioned").build());
+
+    mockMvc.perform(put("/authors/{id}", author.getId())
+            .header(HttpHeaders.IF_MATCH, "\"0\"")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\": \"Renamed\"}"))
+        .andExpect(status().isPreconditionFailed());
+
+    assertEquals("Unversioned", authorRepository.findById(author.getId()).orElseThrow().getName());
+  }
+
+  @Test
+  void testPutWithoutVersionIsUnconditional() throws Exception {
+    var article = articleRepository.save(Article.builder().title("Draft").build());
+
+    mockMvc.perform(put("/articles/{id}", article.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\": \"Unconditional\"}"))
+        .andExpect(status().isCreated());
+
+    assertEquals("Unconditional", articleRepository.findById(article.getId()).orElseThrow().getTitle());
+  }
+
+  @Test
+  void testPutWithUnsavedAuthorIsRejected() throws Exception {
+    var article = articleRepository.save(Article.builder().title("Draft").build());
+
+    mockMvc.perform(put("/articles/{id}", article.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"title\": \"Orphan\", \"author\": {\"name\": \"Unsaved\"}}"))
+        .andExpect(status().isBadRequest());
+
+    assertEquals("Draft", articleRepository.findById(article.getId()).orElseThrow().getTitle());
+  }
+}
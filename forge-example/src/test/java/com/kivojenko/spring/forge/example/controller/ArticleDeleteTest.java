@@ -0,0 +1,74 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.version.Article;
+import com.kivojenko.spring.forge.example.model.version.ArticleForgeRepository;
+import com.kivojenko.spring.forge.example.model.version.ArticleForgeService;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class ArticleDeleteTest extends WithPostgres {
+
+  @Autowired
+  private ArticleForgeRepository articleRepository;
+
+  @Autowired
+  private ArticleForgeService articleService;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @AfterEach
+  void tearDown() {
+    articleRepository.deleteAll();
+  }
+
+  @Test
+  void testDeleteRemovesRow() throws Exception {
+    var article = articleRepository.save(Article.builder().title("To delete").build());
+
+    var statistics = statistics(() -> articleService.deleteById(article.getId()));
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertFalse(articleRepository.existsById(article.getId()));
+  }
+
+  @Test
+  void testDeleteEndpointRemovesRow() throws Exception {
+    var article = articleRepository.save(Article.builder().title("To delete").build());
+
+    mockMvc.perform(delete("/articles/{id}", article.getId())).andExpect(status().isNoContent());
+
+    assertFalse(articleRepository.existsById(article.getId()));
+  }
+
+  @Test
+  void testDeleteDetachesManagedInstance() {
+    var id = articleRepository.save(Article.builder().title("Managed").build()).getId();
+
+    transactionTemplate.executeWithoutResult(tx -> {
+      var managed = articleService.getById(id);
+      managed.setTitle("Dirty");
+      articleService.deleteById(id);
+
+      assertThat(articleRepository.findById(id)).isEmpty();
+    });
+    assertFalse(articleRepository.existsById(id));
+  }
+
+  @Test
+  void testDeleteMissingThrowsNotFound() {
+    assertThrows(EntityNotFoundException.class, () -> articleService.deleteById(Long.MAX_VALUE));
+  }
+}
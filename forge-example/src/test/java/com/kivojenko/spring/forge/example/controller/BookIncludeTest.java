@@ -0,0 +1,71 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.general.Author;
+import com.kivojenko.spring.forge.example.model.general.AuthorForgeRepository;
+import com.kivojenko.spring.forge.example.model.general.Book;
+import com.kivojenko.spring.forge.example.model.general.BookForgeRepository;
+import com.kivojenko.spring.forge.example.model.general.Category;
+import com.kivojenko.spring.forge.example.model.general.CategoryForgeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class BookIncludeTest extends WithPostgres {
+
+  @Autowired
+  private AuthorForgeRepository authorRepository;
+
+  @Autowired
+  private BookForgeRepository bookRepository;
+
+  @Autowired
+  private CategoryForgeRepository categoryRepository;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 5; i++) {
+      var author = authorRepository.save(Author.builder().name("Include Author " + i).build());
+      var category = categoryRepository.save(Category.builder().name("Include Category " + i).build());
+      bookRepository.save(Book.builder().title("Include Book " + i).author(author).categories(List.of(category)).build());
+    }
+  }
+
+  private long statementsFor(MockHttpServletRequestBuilder request) throws Exception {
+    return statistics(() -> mockMvc.perform(request)
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(5)))
+        .andExpect(jsonPath("$.content[*].author.name", everyItem(startsWith("Include Author"))))
+        .andExpect(jsonPath("$.content[*].categories[0].name", everyItem(startsWith("Include Category")))))
+        .getPrepareStatementCount();
+  }
+
+  @Test
+  void testIncludeLoadsAssociationsWithTheirOwnQueries() throws Exception {
+    var lazy = statementsFor(get("/books"));
+    var included = statementsFor(get("/books").param("include", "author,categories"));
+
+    // page, count and one IN query for the categories, regardless of the page size
+    assertThat(included).isLessThanOrEqualTo(3);
+    assertThat(lazy).isGreaterThan(included);
+  }
+
+  @Test
+  void testUnknownIncludeIsRejected() throws Exception {
+    mockMvc.perform(get("/books").param("include", "author,publisher"))
+        .andExpect(status().isBadRequest());
+  }
+}
@@ -0,0 +1,105 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.general.CategoryForgeRepository;
+import com.kivojenko.spring.forge.example.model.general.CategoryForgeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class CategoryLookupCacheTest extends WithPostgres {
+
+  @Autowired
+  private CategoryForgeService categoryService;
+
+  @Autowired
+  private CategoryForgeRepository categoryRepository;
+
+  @Test
+  void testRepeatedLookupsSkipTheQuery() throws Exception {
+    var id = categoryService.getOrCreate("Lookup").getId();
+    assertThat(categoryService.getOrCreate("lookup").getId()).isEqualTo(id);
+
+    var hits = categoryService.keyCacheStats().hits();
+    var statistics = statistics(() -> {
+      assertThat(categoryService.getOrCreate("LOOKUP").getId()).isEqualTo(id);
+      assertThat(categoryService.findByNameIgnoreCase("Lookup")).hasValueSatisfying(category -> assertThat(category.getId()).isEqualTo(id));
+    });
+
+    // Hits load the entity by ID from the second-level cache
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(categoryService.keyCacheStats().hits()).isEqualTo(hits + 2);
+  }
+
+  @Test
+  void testCachedLookupsServeLoadedEntities() throws Exception {
+    var id = categoryService.getOrCreate("Serialized").getId();
+    assertThat(categoryService.getOrCreate("serialized").getId()).isEqualTo(id);
+
+    var hits = categoryService.keyCacheStats().hits();
+    for (int i = 0; i < 2; i++) {
+      mockMvc.perform(post("/categories/get-or-create").param("name", "SERIALIZED"))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.id", is(id.intValue())))
+          .andExpect(jsonPath("$.name", is("Serialized")))
+          .andExpect(jsonPath("$.hibernateLazyInitializer").doesNotExist());
+    }
+    assertThat(categoryService.keyCacheStats().hits()).isEqualTo(hits + 2);
+  }
+
+  @Test
+  void testEntitiesDeletedElsewhereAreLookedUpAgain() {
+    var id = categoryService.getOrCreate("Deleted").getId();
+    assertThat(categoryService.getOrCreate("deleted").getId()).isEqualTo(id);
+    categoryRepository.deleteById(id);
+
+    var recreated = categoryService.getOrCreate("DELETED");
+    assertThat(recreated.getId()).isNotEqualTo(id);
+    assertThat(recreated.getName()).isEqualTo("DELETED");
+  }
+
+  @Test
+  void testWritesKeepUnrelatedMisses() throws Exception {
+    var id = categoryService.getOrCreate("Unrelated").getId();
+    assertThat(categoryService.findByNameIgnoreCase("Missing")).isEmpty();
+
+    mockMvc.perform(patch("/categories/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Renamed\"}"))
+        .andExpect(status().isOk());
+    var statistics = statistics(() -> assertThat(categoryService.findByNameIgnoreCase("missing")).isEmpty());
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+  }
+
+  @Test
+  void testMissesAreCachedUntilCreation() throws Exception {
+    assertThat(categoryService.findByNameIgnoreCase("Absent")).isEmpty();
+    var statistics = statistics(() -> assertThat(categoryService.findByNameIgnoreCase("absent")).isEmpty());
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    var id = categoryService.getOrCreate("Absent").getId();
+    assertThat(categoryService.findByNameIgnoreCase("absent")).hasValueSatisfying(category -> assertThat(category.getId()).isEqualTo(id));
+  }
+
+  @Test
+  void testWritesInvalidateKeys() throws Exception {
+    var id = categoryService.getOrCreate("Before").getId();
+    assertThat(categoryService.findByNameIgnoreCase("After")).isEmpty();
+
+    mockMvc.perform(patch("/categories/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"After\"}"))
+        .andExpect(status().isOk());
+    assertThat(categoryService.findByNameIgnoreCase("Before")).isEmpty();
+    assertThat(categoryService.findByNameIgnoreCase("After")).hasValueSatisfying(category -> assertThat(category.getId()).isEqualTo(id));
+
+    mockMvc.perform(delete("/categories/{id}", id)).andExpect(status().isNoContent());
+    assertThat(categoryService.findByNameIgnoreCase("After")).isEmpty();
+  }
+}
@@ -0,0 +1,86 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.dto.ChapterForgeRepository;
+import com.kivojenko.spring.forge.example.model.general.Book;
+import com.kivojenko.spring.forge.example.model.general.BookForgeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class ChapterDtoTest extends WithPostgres {
+
+  @Autowired
+  private BookForgeRepository bookRepository;
+
+  @Autowired
+  private ChapterForgeRepository chapterRepository;
+
+  @AfterEach
+  void tearDown() {
+    chapterRepository.deleteAll();
+  }
+
+  private Long createChapter(Long bookId, String title, int number) throws Exception {
+    String body = "{" +
+        "\"title\":\"" + title + "\"," +
+        "\"number\":" + number + "," +
+        "\"keywords\":[\"intro\",\"basics\"]," +
+        "\"book\":{\"id\":" + bookId + "}" +
+        "}";
+
+    String response = mockMvc.perform(post("/chapters").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.bookId").value(bookId))
+        .andExpect(jsonPath("$.book").doesNotExist())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+    return objectMapper.readTree(response).get("id").asLong();
+  }
+
+  @Test
+  void testGetByIdReturnsDto() throws Exception {
+    var book = bookRepository.save(Book.builder().title("Forge in Action").build());
+    var id = createChapter(book.getId(), "Getting Started", 1);
+
+    mockMvc.perform(get("/chapters/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(id))
+        .andExpect(jsonPath("$.title").value("Getting Started"))
+        .andExpect(jsonPath("$.number").value(1))
+        .andExpect(jsonPath("$.bookId").value(book.getId()))
+        .andExpect(jsonPath("$.keywords", containsInAnyOrder("intro", "basics")))
+        .andExpect(jsonPath("$.book").doesNotExist())
+        .andExpect(jsonPath("$.categories").doesNotExist());
+  }
+
+  @Test
+  void testListAndPatchReturnDtos() throws Exception {
+    var book = bookRepository.save(Book.builder().title("Forge Patterns").build());
+    var id = createChapter(book.getId(), "Draft", 2);
+    createChapter(book.getId(), "Appendix", 3);
+
+    mockMvc.perform(get("/chapters").param("sort", "number"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(2)))
+        .andExpect(jsonPath("$.content[0].bookId").value(book.getId()))
+        .andExpect(jsonPath("$.content[0].book").doesNotExist());
+
+    mockMvc.perform(patch("/chapters/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Final\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.title").value("Final"))
+        .andExpect(jsonPath("$.bookId").value(book.getId()));
+  }
+}
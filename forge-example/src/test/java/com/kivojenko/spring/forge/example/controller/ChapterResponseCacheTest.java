@@ -0,0 +1,77 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.dto.Chapter;
+import com.kivojenko.spring.forge.example.model.dto.ChapterForgeRepository;
+import com.kivojenko.spring.forge.example.model.dto.ChapterForgeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class ChapterResponseCacheTest extends WithPostgres {
+
+  @Autowired
+  private ChapterForgeRepository chapterRepository;
+
+  @Autowired
+  private ChapterForgeService chapterService;
+
+  @AfterEach
+  void tearDown() {
+    chapterRepository.deleteAll();
+  }
+
+  @Test
+  void testRepeatedReadsAreServedFromCache() throws Exception {
+    var id = chapterRepository.save(Chapter.builder().title("Cached").number(1).build()).getId();
+    var first = mockMvc.perform(get("/chapters/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.title", is("Cached")))
+        .andReturn()
+        .getResponse();
+    var etag = first.getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isNotNull();
+
+    var hits = chapterService.responseCacheStats().hits();
+    var statistics = statistics(() -> {
+      mockMvc.perform(get("/chapters/{id}", id))
+          .andExpect(status().isOk())
+          .andExpect(header().string(HttpHeaders.ETAG, etag))
+          .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+          .andExpect(content().string(first.getContentAsString()));
+      mockMvc.perform(get("/chapters/{id}", id).header(HttpHeaders.IF_NONE_MATCH, etag))
+          .andExpect(status().isNotModified())
+          .andExpect(header().string(HttpHeaders.ETAG, etag));
+    });
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(chapterService.responseCacheStats().hits()).isEqualTo(hits + 2);
+  }
+
+  @Test
+  void testWritesInvalidateCachedResponse() throws Exception {
+    var id = chapterRepository.save(Chapter.builder().title("Before").number(1).build()).getId();
+    mockMvc.perform(get("/chapters/{id}", id)).andExpect(jsonPath("$.title", is("Before")));
+
+    mockMvc.perform(patch("/chapters/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"After\"}"))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/chapters/{id}", id)).andExpect(jsonPath("$.title", is("After")));
+
+    mockMvc.perform(delete("/chapters/{id}", id)).andExpect(status().isNoContent());
+    mockMvc.perform(get("/chapters/{id}", id)).andExpect(status().isNotFound());
+  }
+}
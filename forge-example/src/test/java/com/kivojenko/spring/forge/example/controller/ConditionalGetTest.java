@@ -0,0 +1,108 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.general.Book;
+import com.kivojenko.spring.forge.example.model.general.BookForgeRepository;
+import com.kivojenko.spring.forge.example.model.general.Category;
+import com.kivojenko.spring.forge.example.model.general.CategoryForgeRepository;
+import com.kivojenko.spring.forge.example.model.version.Article;
+import com.kivojenko.spring.forge.example.model.version.ArticleForgeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class ConditionalGetTest extends WithPostgres {
+
+  @Autowired
+  private ArticleForgeRepository articleRepository;
+
+  @Autowired
+  private BookForgeRepository bookRepository;
+
+  @Autowired
+  private CategoryForgeRepository categoryRepository;
+
+  @AfterEach
+  void tearDown() {
+    articleRepository.deleteAll();
+  }
+
+  @Test
+  void testVersionedEntityIsNotLoadedWhenUnchanged() throws Exception {
+    var article = articleRepository.save(Article.builder().title("Draft").build());
+
+    mockMvc.perform(get("/articles/{id}", article.getId()))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+        .andExpect(jsonPath("$.title", is("Draft")));
+
+    var statistics = statistics(() -> mockMvc.perform(get("/articles/{id}", article.getId()).header(HttpHeaders.IF_NONE_MATCH, "W/\"0\""))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"0\""))
+        .andExpect(content().string("")));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    assertThat(statistics.getEntityLoadCount()).isZero();
+
+    mockMvc.perform(patch("/articles/{id}", article.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Final\"}"))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/articles/{id}", article.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"0\""))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+        .andExpect(jsonPath("$.title", is("Final")));
+  }
+
+  @Test
+  void testUnversionedEntityAndAssociationsUseContentHash() throws Exception {
+    var category = categoryRepository.save(Category.builder().name("Conditional Category").build());
+    var book = bookRepository.save(Book.builder().title("Conditional Book").categories(List.of(category)).build());
+
+    var response = mockMvc.perform(get("/books/{id}", book.getId()))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse();
+    var etag = response.getHeader(HttpHeaders.ETAG);
+    assertThat(etag).isEqualTo("\"" + DigestUtils.md5DigestAsHex(response.getContentAsByteArray()) + "\"");
+
+    mockMvc.perform(get("/books/{id}", book.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+
+    var categoriesEtag = mockMvc.perform(get("/books/{id}/categories", book.getId()))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name", is("Conditional Category")))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(get("/books/{id}/categories", book.getId()).header(HttpHeaders.IF_NONE_MATCH, categoriesEtag))
+        .andExpect(status().isNotModified());
+
+    mockMvc.perform(patch("/categories/{id}", category.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Renamed Category\"}"))
+        .andExpect(status().isOk());
+
+    mockMvc.perform(get("/books/{id}/categories", book.getId()).header(HttpHeaders.IF_NONE_MATCH, categoriesEtag))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].name", is("Renamed Category")));
+  }
+}
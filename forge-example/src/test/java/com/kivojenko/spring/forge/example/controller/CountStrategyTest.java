@@ -0,0 +1,75 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.paging.LogEntry;
+import com.kivojenko.spring.forge.example.model.paging.LogEntryForgeRepository;
+import com.kivojenko.spring.forge.example.model.version.Article;
+import com.kivojenko.spring.forge.example.model.version.ArticleForgeRepository;
+import com.kivojenko.spring.forge.jpa.contract.ForgeAbstractController;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class CountStrategyTest extends WithPostgres {
+
+  @Autowired
+  private ArticleForgeRepository articleRepository;
+
+  @Autowired
+  private LogEntryForgeRepository logEntryRepository;
+
+  @AfterEach
+  void tearDown() {
+    articleRepository.deleteAll();
+    logEntryRepository.deleteAll();
+  }
+
+  private void expectCount(String path, int count, boolean exact) throws Exception {
+    mockMvc.perform(get(path))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", is(count)))
+        .andExpect(header().string(ForgeAbstractController.COUNT_EXACT, String.valueOf(exact)));
+  }
+
+  @Test
+  void testCachedCountIsInvalidatedByServiceWrites() throws Exception {
+    articleRepository.save(Article.builder().title("First").build());
+    expectCount("/articles/count", 1, true);
+    expectCount("/articles/count", 1, false);
+
+    // Written around the service: the cached count is kept
+    var second = articleRepository.save(Article.builder().title("Second").build());
+    expectCount("/articles/count", 1, false);
+
+    mockMvc.perform(post("/articles").contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Third\"}"))
+        .andExpect(status().isCreated());
+    expectCount("/articles/count", 3, true);
+    expectCount("/articles/count", 3, false);
+
+    mockMvc.perform(delete("/articles/{id}", second.getId())).andExpect(status().isNoContent());
+    expectCount("/articles/count", 2, true);
+  }
+
+  @Test
+  void testApproximateCountReadsTableStatistics() throws Exception {
+    logEntryRepository.saveAll(IntStream.range(0, 25)
+                                   .mapToObj(i -> LogEntry.builder().level("INFO").message("entry " + i).build())
+                                   .toList());
+    jdbcTemplate.execute("ANALYZE log_entries");
+
+    expectCount("/logEntries/count", 25, false);
+  }
+}
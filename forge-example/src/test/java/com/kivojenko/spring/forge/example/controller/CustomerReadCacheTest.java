@@ -0,0 +1,83 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.embedded.Address;
+import com.kivojenko.spring.forge.example.model.embedded.Customer;
+import com.kivojenko.spring.forge.example.model.embedded.CustomerForgeRepository;
+import com.kivojenko.spring.forge.example.model.embedded.CustomerForgeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class CustomerReadCacheTest extends WithPostgres {
+
+  @Autowired
+  private CustomerForgeRepository customerRepository;
+
+  @Autowired
+  private CustomerForgeService customerService;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @AfterEach
+  void tearDown() {
+    customerRepository.deleteAll();
+  }
+
+  @Test
+  void testRepeatedReadsAreServedFromCache() throws Exception {
+    var address = Address.builder().street("Main St").city("Tallinn").build();
+    var id = customerRepository.save(Customer.builder().name("Cached").address(address).build()).getId();
+    mockMvc.perform(get("/customers/{id}", id)).andExpect(status().isOk());
+
+    var hits = customerService.entityCacheStats().hits();
+    var statistics = statistics(() -> {
+      mockMvc.perform(get("/customers/{id}", id))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.name", is("Cached")));
+      mockMvc.perform(head("/customers/{id}", id)).andExpect(status().isOk());
+      mockMvc.perform(get("/customers/{id}/address", id))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.city", is("Tallinn")));
+    });
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(customerService.entityCacheStats().hits()).isEqualTo(hits + 3);
+    assertThat(meterRegistry.get("forge.entity.cache.gets").tag("entity", "Customer").tag("result", "hit").functionCounter().count())
+        .isEqualTo(hits + 3);
+  }
+
+  @Test
+  void testWritesInvalidateCachedEntity() throws Exception {
+    var id = customerRepository.save(Customer.builder().name("Before").build()).getId();
+    mockMvc.perform(get("/customers/{id}", id)).andExpect(jsonPath("$.name", is("Before")));
+
+    mockMvc.perform(patch("/customers/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"After\"}"))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/customers/{id}", id)).andExpect(jsonPath("$.name", is("After")));
+
+    mockMvc.perform(post("/customers/{id}/address", id)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"street\":\"Main St\",\"city\":\"Tartu\"}"))
+        .andExpect(status().isCreated());
+    mockMvc.perform(get("/customers/{id}/address", id)).andExpect(jsonPath("$.city", is("Tartu")));
+
+    mockMvc.perform(delete("/customers/{id}", id)).andExpect(status().isNoContent());
+    mockMvc.perform(get("/customers/{id}", id)).andExpect(status().isNotFound());
+  }
+}
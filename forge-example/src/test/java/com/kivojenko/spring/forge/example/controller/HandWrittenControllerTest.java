@@ -0,0 +1,70 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.filter.Tag;
+import com.kivojenko.spring.forge.example.model.filter.TagForgeRepository;
+import com.kivojenko.spring.forge.example.model.filter.TagForgeService;
+import com.kivojenko.spring.forge.jpa.contract.ForgeController;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class HandWrittenControllerTest extends WithPostgres {
+
+  @Autowired
+  private TagForgeRepository tagRepository;
+
+  @Test
+  void testBaseControllerMapsEntityEndpoints() throws Exception {
+    mockMvc.perform(post("/manual-tags").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Manual\"}"))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.name").value("Manual"));
+    var id = tagRepository.findAll().stream().filter(tag -> tag.getName().equals("Manual")).findFirst().orElseThrow().getId();
+
+    mockMvc.perform(get("/manual-tags/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Manual"));
+
+    mockMvc.perform(put("/manual-tags/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Replaced\"}"))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.name").value("Replaced"));
+
+    mockMvc.perform(patch("/manual-tags/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Patched\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Patched"));
+
+    mockMvc.perform(patch("/manual-tags/{id}", id).contentType("application/merge-patch+json").content("{\"name\":\"Streamed\"}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name").value("Streamed"));
+
+    assertThat(tagRepository.findById(id)).get().extracting(Tag::getName).isEqualTo("Streamed");
+  }
+
+  @TestConfiguration
+  static class Config {
+
+    @Bean
+    ManualTagController manualTagController() {
+      return new ManualTagController();
+    }
+  }
+
+  @RestController
+  @RequestMapping("/manual-tags")
+  static class ManualTagController extends ForgeController<Tag, Long, TagForgeRepository, TagForgeService> {
+  }
+}
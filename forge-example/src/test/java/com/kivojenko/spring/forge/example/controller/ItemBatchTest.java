@@ -0,0 +1,115 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.hook.Item;
+import com.kivojenko.spring.forge.example.model.hook.ItemForgeRepository;
+import com.kivojenko.spring.forge.example.model.hook.ItemForgeService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class ItemBatchTest extends WithPostgres {
+
+  @Autowired
+  private ItemForgeRepository itemRepository;
+
+  @Autowired
+  private ItemForgeService itemService;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  private static String items(int count) {
+    return IntStream.range(0, count)
+        .mapToObj(i -> "{\"name\":\"Item " + i + "\",\"price\":" + (i + 1) + "}")
+        .collect(Collectors.joining(",", "[", "]"));
+  }
+
+  @Test
+  void testBatchReturnsIdsInRequestOrder() throws Exception {
+    String response = mockMvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_JSON).content(items(60)))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.ids", hasSize(60)))
+        .andExpect(jsonPath("$.failures", hasSize(0)))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    var ids = objectMapper.readTree(response).get("ids");
+    for (int i : new int[]{0, 49, 50, 59}) {
+      mockMvc.perform(get("/items/{id}", ids.get(i).asLong()))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.name").value("Item " + i));
+    }
+  }
+
+  @Test
+  void testHookFailuresAreReportedByIndex() throws Exception {
+    String body = "[{\"name\":\"Fine\",\"price\":1},{\"name\":\"Negative\",\"price\":-1},{\"name\":\"Also negative\",\"price\":-2}]";
+
+    mockMvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.ids", hasSize(0)))
+        .andExpect(jsonPath("$.failures", hasSize(2)))
+        .andExpect(jsonPath("$.failures[0].index").value(1))
+        .andExpect(jsonPath("$.failures[0].message").value("Item price cannot be negative"))
+        .andExpect(jsonPath("$.failures[1].index").value(2));
+
+    assertEquals(0, itemRepository.count());
+  }
+
+  @Test
+  void testDatabaseFailureRollsBackTheBatch() throws Exception {
+    String body = "[{\"name\":\"Fine\",\"price\":1},{\"price\":2}]";
+
+    mockMvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isConflict())
+        .andExpect(jsonPath("$.failures[0].index").value(0));
+
+    assertEquals(0, itemRepository.count());
+  }
+
+  @Test
+  void testBatchInOuterTransactionKeepsItsEntitiesManaged() {
+    var id = itemRepository.save(Item.builder().name("Outer").price(1.0).build()).getId();
+
+    transactionTemplate.executeWithoutResult(status -> {
+      var outer = itemRepository.findById(id).orElseThrow();
+      var created = List.of(Item.builder().name("Inner").price(2.0).build());
+      itemService.createAll(created);
+
+      assertTrue(entityManager.contains(outer));
+      assertFalse(entityManager.contains(created.getFirst()));
+    });
+    assertEquals(2, itemRepository.count());
+  }
+
+  @Test
+  void testOversizedBatchIsRejected() throws Exception {
+    mockMvc.perform(post("/items/batch").contentType(MediaType.APPLICATION_JSON).content(items(101)))
+        .andExpect(status().is(413));
+
+    assertEquals(0, itemRepository.count());
+  }
+}
@@ -0,0 +1,154 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.patch.Listing;
+import com.kivojenko.spring.forge.example.model.patch.ListingForgeRepository;
+import com.kivojenko.spring.forge.example.model.patch.ListingImage;
+import com.kivojenko.spring.forge.example.model.patch.ListingStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class ListingPatchTest extends WithPostgres {
+  private static final String BODY = """
+      {
+        "id": 999,
+        "title": "Trail runner",
+        "status": "PUBLISHED",
+        "price": 129.90,
+        "views": 10,
+        "rating": null,
+        "featured": true,
+        "availableFrom": "2025-03-01",
+        "cover": {"url": "cover.jpg", "width": 1200, "height": 800},
+        "keywords": ["running", "trail"],
+        "images": [{"url": "1.jpg", "width": 800, "height": 600}],
+        "unknown": {"nested": [1, 2, 3]}
+      }
+      """;
+
+  @Autowired
+  private ListingForgeRepository listingRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @AfterEach
+  void tearDown() {
+    listingRepository.deleteAll();
+  }
+
+  @Test
+  void testPatchJson() throws Exception {
+    var listing = createListing();
+
+    mockMvc
+        .perform(patch("/listings/{id}", listing.getId()).contentType(MediaType.APPLICATION_JSON).content(BODY))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(listing.getId()))
+        .andExpect(jsonPath("$.title").value("Trail runner"));
+
+    assertPatched(listing.getId());
+  }
+
+  @Test
+  void testPatchMergePatchJsonStreamsBody() throws Exception {
+    var listing = createListing();
+
+    mockMvc
+        .perform(patch("/listings/{id}", listing.getId()).contentType("application/merge-patch+json").content(BODY))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.id").value(listing.getId()))
+        .andExpect(jsonPath("$.title").value("Trail runner"));
+
+    assertPatched(listing.getId());
+  }
+
+  @Test
+  void testPatchMergePatchJsonMergesEmbeddedValue() throws Exception {
+    var listing = createListing();
+    listing.setCover(ListingImage.builder().url("cover.jpg").width(800).height(600).build());
+    listingRepository.save(listing);
+
+    mockMvc
+        .perform(patch("/listings/{id}", listing.getId()).contentType("application/merge-patch+json").content("{\"cover\": {\"width\": 1200}}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.cover.url").value("cover.jpg"))
+        .andExpect(jsonPath("$.cover.width").value(1200));
+
+    var cover = listingRepository.findById(listing.getId()).orElseThrow().getCover();
+    assertEquals("cover.jpg", cover.getUrl());
+    assertEquals(1200, cover.getWidth());
+    assertEquals(600, cover.getHeight());
+  }
+
+  @Test
+  void testPatchJsonMergesEmbeddedValueLikeMergePatch() throws Exception {
+    var listing = createListing();
+    listing.setCover(ListingImage.builder().url("cover.jpg").width(800).height(600).build());
+    listingRepository.save(listing);
+
+    mockMvc
+        .perform(patch("/listings/{id}", listing.getId()).contentType(MediaType.APPLICATION_JSON).content("{\"cover\": {\"width\": 1200}}"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.cover.url").value("cover.jpg"))
+        .andExpect(jsonPath("$.cover.width").value(1200));
+
+    var cover = listingRepository.findById(listing.getId()).orElseThrow().getCover();
+    assertEquals("cover.jpg", cover.getUrl());
+    assertEquals(1200, cover.getWidth());
+    assertEquals(600, cover.getHeight());
+  }
+
+  @Test
+  void testPatchMergePatchJsonRejectsNonObjectBody() throws Exception {
+    var listing = createListing();
+
+    mockMvc
+        .perform(patch("/listings/{id}", listing.getId()).contentType("application/merge-patch+json").content("[1, 2]"))
+        .andExpect(status().isBadRequest());
+
+    assertEquals("Draft", listingRepository.findById(listing.getId()).orElseThrow().getTitle());
+  }
+
+  private Listing createListing() {
+    return listingRepository.save(Listing.builder()
+        .title("Draft")
+        .subtitle("Kept")
+        .status(ListingStatus.DRAFT)
+        .rating(4.5)
+        .keywords(new HashSet<>(Set.of("old")))
+        .build());
+  }
+
+  private void assertPatched(Long id) {
+    transactionTemplate.executeWithoutResult(tx -> {
+      var patched = listingRepository.findById(id).orElseThrow();
+      assertEquals("Trail runner", patched.getTitle());
+      assertEquals("Kept", patched.getSubtitle());
+      assertEquals(ListingStatus.PUBLISHED, patched.getStatus());
+      assertEquals(0, new BigDecimal("129.90").compareTo(patched.getPrice()));
+      assertEquals(10, patched.getViews());
+      assertEquals(4.5, patched.getRating());
+      assertTrue(patched.isFeatured());
+      assertEquals("cover.jpg", patched.getCover().getUrl());
+      assertEquals(Set.of("running", "trail"), patched.getKeywords());
+      assertEquals(1, patched.getImages().size());
+      assertEquals(800, patched.getImages().getFirst().getWidth());
+    });
+  }
+}
@@ -0,0 +1,128 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.paging.LogEntry;
+import com.kivojenko.spring.forge.example.model.filter.Tag;
+import com.kivojenko.spring.forge.example.model.filter.TagForgeRepository;
+import com.kivojenko.spring.forge.example.model.paging.LogEntryForgeRepository;
+import com.kivojenko.spring.forge.example.model.paging.LogEntryForgeService;
+import com.kivojenko.spring.forge.example.model.paging.QLogEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class LogEntryBulkDeleteTest extends WithPostgres {
+
+  @Autowired
+  private LogEntryForgeRepository logEntryRepository;
+
+  @Autowired
+  private LogEntryForgeService logEntryService;
+
+  @Autowired
+  private TagForgeRepository tagRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private List<LogEntry> entries;
+
+  @BeforeEach
+  void setUp() {
+    entries = logEntryRepository.saveAll(IntStream.range(0, 15)
+                                             .mapToObj(i -> LogEntry.builder()
+                                                 .level(i % 3 == 0 ? "WARN" : "INFO")
+                                                 .message("entry " + i)
+                                                 .build())
+                                             .toList());
+  }
+
+  @AfterEach
+  void tearDown() {
+    logEntryRepository.deleteAll();
+  }
+
+  @Test
+  void testDeleteByFilter() throws Exception {
+    mockMvc.perform(delete("/logEntries").param("level", "WARN"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("5"));
+
+    assertEquals(10, logEntryRepository.count());
+    assertEquals(0, logEntryRepository.findAll().stream().filter(e -> e.getLevel().equals("WARN")).count());
+  }
+
+  @Test
+  void testDeleteByIdsIgnoresUnknownIds() throws Exception {
+    var body = "[" + entries.get(0).getId() + "," + entries.get(1).getId() + "," + entries.get(1).getId() + "," + Long.MAX_VALUE + "]";
+
+    mockMvc.perform(delete("/logEntries").contentType(MediaType.APPLICATION_JSON).content(body))
+        .andExpect(status().isOk())
+        .andExpect(content().string("2"));
+
+    assertEquals(13, logEntryRepository.count());
+  }
+
+  @Test
+  void testEmptyFilterRequiresForce() throws Exception {
+    mockMvc.perform(delete("/logEntries"))
+        .andExpect(status().isBadRequest());
+    assertEquals(15, logEntryRepository.count());
+
+    mockMvc.perform(delete("/logEntries").param("force", "true"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("15"));
+    assertEquals(0, logEntryRepository.count());
+  }
+
+  @Test
+  void testDeleteKeepsPendingChangesOfOtherEntities() {
+    var tagId = tagRepository.save(Tag.builder().name("Before").build()).getId();
+    var kept = entries.get(1).getId();
+    var removed = entries.get(0).getId();
+
+    transactionTemplate.executeWithoutResult(tx -> {
+      logEntryRepository.findById(kept).orElseThrow().setMessage("edited");
+      logEntryRepository.findById(removed).orElseThrow();
+      tagRepository.findById(tagId).orElseThrow().setName("After");
+
+      assertEquals(5, logEntryService.deleteAll(QLogEntry.logEntry.level.eq("WARN"), false));
+      assertTrue(logEntryRepository.findById(removed).isEmpty());
+    });
+
+    assertEquals("edited", logEntryRepository.findById(kept).orElseThrow().getMessage());
+    assertEquals("After", tagRepository.findById(tagId).orElseThrow().getName());
+  }
+
+  @Test
+  void testDeleteByIdsKeepsPendingChangesOfOtherEntities() {
+    var tagId = tagRepository.save(Tag.builder().name("Before").build()).getId();
+    var kept = entries.get(1).getId();
+    var removed = entries.get(0).getId();
+
+    transactionTemplate.executeWithoutResult(tx -> {
+      logEntryRepository.findById(kept).orElseThrow().setMessage("edited");
+      tagRepository.findById(tagId).orElseThrow().setName("After");
+
+      assertEquals(1, logEntryService.deleteAllById(List.of(removed)));
+      assertTrue(logEntryRepository.findById(removed).isEmpty());
+    });
+
+    assertEquals("edited", logEntryRepository.findById(kept).orElseThrow().getMessage());
+    assertEquals("After", tagRepository.findById(tagId).orElseThrow().getName());
+  }
+}
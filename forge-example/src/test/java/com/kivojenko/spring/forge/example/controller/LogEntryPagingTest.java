@@ -0,0 +1,81 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.paging.LogEntry;
+import com.kivojenko.spring.forge.example.model.paging.LogEntryForgeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class LogEntryPagingTest extends WithPostgres {
+
+  @Autowired
+  private LogEntryForgeRepository logEntryRepository;
+
+  @BeforeEach
+  void setUp() {
+    logEntryRepository.saveAll(IntStream.range(0, 25)
+                                   .mapToObj(i -> LogEntry.builder().level("INFO").message("entry " + i).build())
+                                   .toList());
+  }
+
+  @AfterEach
+  void tearDown() {
+    logEntryRepository.deleteAll();
+  }
+
+  @Test
+  void testDefaultPageSizeIsCappedAtMaximum() throws Exception {
+    mockMvc.perform(get("/logEntries"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(10)))
+        .andExpect(header().string(HttpHeaders.LINK, allOf(containsString("page=1"), containsString("size=10"),
+                                                           containsString("rel=\"next\""))));
+  }
+
+  @Test
+  void testOversizedPageIsClamped() throws Exception {
+    mockMvc.perform(get("/logEntries").param("size", "1000").param("level", "INFO"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(10)))
+        .andExpect(header().string(HttpHeaders.LINK, allOf(containsString("level=INFO"), containsString("size=10"))));
+  }
+
+  @Test
+  void testSliceSkipsTotalCount() throws Exception {
+    mockMvc.perform(get("/logEntries").param("count", "false").param("page", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(10)))
+        .andExpect(jsonPath("$.last").value(false))
+        .andExpect(jsonPath("$.totalElements").doesNotExist())
+        .andExpect(header().string(HttpHeaders.LINK, allOf(containsString("page=2"), containsString("count=false"))));
+
+    mockMvc.perform(get("/logEntries").param("count", "false").param("page", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(5)))
+        .andExpect(jsonPath("$.last").value(true))
+        .andExpect(header().doesNotExist(HttpHeaders.LINK));
+  }
+
+  @Test
+  void testLastPageHasNoNextLink() throws Exception {
+    mockMvc.perform(get("/logEntries").param("page", "2").param("size", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(5)))
+        .andExpect(header().doesNotExist(HttpHeaders.LINK));
+  }
+}
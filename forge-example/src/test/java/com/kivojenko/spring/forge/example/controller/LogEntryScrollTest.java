@@ -0,0 +1,109 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.paging.LogEntry;
+import com.kivojenko.spring.forge.example.model.paging.LogEntryForgeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class LogEntryScrollTest extends WithPostgres {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+  @Autowired
+  private LogEntryForgeRepository logEntryRepository;
+
+  private List<LogEntry> entries;
+
+  @BeforeEach
+  void setUp() {
+    // Every third entry shares its timestamp with the previous one, and the last two have none
+    entries = logEntryRepository.saveAll(IntStream.range(0, 23)
+                                             .mapToObj(i -> LogEntry.builder()
+                                                 .level(i % 2 == 0 ? "INFO" : "WARN")
+                                                 .message("entry " + i)
+                                                 .loggedAt(i >= 21 ? null : START.minusMinutes(i - i / 3))
+                                                 .build())
+                                             .toList());
+  }
+
+  @AfterEach
+  void tearDown() {
+    logEntryRepository.deleteAll();
+  }
+
+  private List<Long> scrollAll(String level) throws Exception {
+    var ids = new ArrayList<Long>();
+    String after = null;
+    do {
+      var request = get("/logEntries/scroll").param("size", "4");
+      if (after != null) request.param("after", after);
+      if (level != null) request.param("level", level);
+
+      String body = mockMvc.perform(request)
+          .andExpect(status().isOk())
+          .andReturn()
+          .getResponse()
+          .getContentAsString();
+      JsonNode window = objectMapper.readTree(body);
+      assertThat(window.get("content").size()).isLessThanOrEqualTo(4);
+      window.get("content").forEach(entry -> ids.add(entry.get("id").asLong()));
+      after = window.get("next").isNull() ? null : window.get("next").asText();
+    } while (after != null);
+    return ids;
+  }
+
+  @Test
+  void testScrollVisitsEveryEntryOnceInSortOrder() throws Exception {
+    var expected = entries.stream()
+        .sorted(Comparator.comparing(LogEntry::getLoggedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(LogEntry::getId))
+        .map(LogEntry::getId)
+        .toList();
+
+    assertThat(scrollAll(null)).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void testScrollComposesWithFilter() throws Exception {
+    var expected = entries.stream()
+        .filter(e -> e.getLevel().equals("WARN"))
+        .sorted(Comparator.comparing(LogEntry::getLoggedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(LogEntry::getId))
+        .map(LogEntry::getId)
+        .toList();
+
+    assertThat(scrollAll("WARN")).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void testOversizedWindowIsClamped() throws Exception {
+    mockMvc.perform(get("/logEntries/scroll").param("size", "100"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(10)))
+        .andExpect(jsonPath("$.next").isNotEmpty());
+  }
+
+  @Test
+  void testMalformedTokenIsRejected() throws Exception {
+    mockMvc.perform(get("/logEntries/scroll").param("after", "not-a-token"))
+        .andExpect(status().isBadRequest());
+  }
+}
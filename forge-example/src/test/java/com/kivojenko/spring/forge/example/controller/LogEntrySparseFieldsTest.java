@@ -0,0 +1,91 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.paging.LogEntry;
+import com.kivojenko.spring.forge.example.model.paging.LogEntryForgeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+
+import java.util.stream.IntStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class LogEntrySparseFieldsTest extends WithPostgres {
+
+  @Autowired
+  private LogEntryForgeRepository logEntryRepository;
+
+  @BeforeEach
+  void setUp() {
+    logEntryRepository.saveAll(IntStream.range(0, 15)
+                                   .mapToObj(i -> LogEntry.builder()
+                                       .level(i % 3 == 0 ? "WARN" : "INFO")
+                                       .message("entry " + i)
+                                       .build())
+                                   .toList());
+  }
+
+  @AfterEach
+  void tearDown() {
+    logEntryRepository.deleteAll();
+  }
+
+  @Test
+  void testListReturnsOnlyRequestedFields() throws Exception {
+    mockMvc.perform(get("/logEntries").param("fields", "id,message").param("sort", "id"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(10)))
+        .andExpect(jsonPath("$.content[0].id").isNumber())
+        .andExpect(jsonPath("$.content[0].message").value("entry 0"))
+        .andExpect(jsonPath("$.content[0].level").doesNotExist())
+        .andExpect(jsonPath("$.content[0].loggedAt").doesNotExist())
+        .andExpect(jsonPath("$.totalElements").value(15))
+        .andExpect(header().string(HttpHeaders.LINK, containsString("fields=id,message")));
+  }
+
+  @Test
+  void testFilterAndSliceApplyToFieldset() throws Exception {
+    mockMvc.perform(get("/logEntries").param("fields", "level").param("level", "WARN").param("count", "false"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(5)))
+        .andExpect(jsonPath("$.content[*].level", everyItem(is("WARN"))))
+        .andExpect(jsonPath("$.content[0].id").doesNotExist())
+        .andExpect(jsonPath("$.last").value(true))
+        .andExpect(jsonPath("$.totalElements").doesNotExist());
+  }
+
+  @Test
+  void testGetByIdReturnsOnlyRequestedFields() throws Exception {
+    var entry = logEntryRepository.save(LogEntry.builder().level("ERROR").message("boom").build());
+
+    mockMvc.perform(get("/logEntries/{id}", entry.getId()).param("fields", "level, message"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.level").value("ERROR"))
+        .andExpect(jsonPath("$.message").value("boom"))
+        .andExpect(jsonPath("$.id").doesNotExist());
+
+    mockMvc.perform(get("/logEntries/{id}", Long.MAX_VALUE).param("fields", "level"))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testUnknownFieldIsRejected() throws Exception {
+    mockMvc.perform(get("/logEntries").param("fields", "id,secret"))
+        .andExpect(status().isBadRequest());
+
+    mockMvc.perform(get("/logEntries").param("fields", " , "))
+        .andExpect(status().isBadRequest());
+  }
+}
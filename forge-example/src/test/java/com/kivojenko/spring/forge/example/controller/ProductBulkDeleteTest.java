@@ -0,0 +1,63 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.filter.Product;
+import com.kivojenko.spring.forge.example.model.filter.ProductForgeRepository;
+import com.kivojenko.spring.forge.example.model.filter.Tag;
+import com.kivojenko.spring.forge.example.model.filter.TagForgeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Products own their tag join table, so bulk deletes load and remove them instead of running a statement.
+ */
+@SpringBootTest
+public class ProductBulkDeleteTest extends WithPostgres {
+
+  @Autowired
+  private ProductForgeRepository productRepository;
+
+  @Autowired
+  private TagForgeRepository tagRepository;
+
+  @BeforeEach
+  void setUp() {
+    var tag = tagRepository.save(Tag.builder().name("Clearance").build());
+    for (int i = 0; i < 6; i++) {
+      productRepository.save(Product.builder()
+                                 .name("Product " + i)
+                                 .sku("DELETE-" + i)
+                                 .brand(i < 4 ? "Acme" : "Globex")
+                                 .tags(new HashSet<>(List.of(tag)))
+                                 .build());
+    }
+  }
+
+  @Test
+  void testDeleteByFilterRemovesJoinRows() throws Exception {
+    mockMvc.perform(delete("/products").param("manufacturer", "Acme"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("4"));
+
+    assertEquals(2, productRepository.count());
+    assertEquals(1, tagRepository.count());
+  }
+
+  @Test
+  void testBulkDeleteIsOptIn() throws Exception {
+    mockMvc.perform(delete("/tags").param("force", "true"))
+        .andExpect(status().isMethodNotAllowed());
+
+    assertEquals(1, tagRepository.count());
+  }
+}
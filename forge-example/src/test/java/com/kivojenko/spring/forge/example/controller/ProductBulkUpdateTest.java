@@ -0,0 +1,151 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.filter.Product;
+import com.kivojenko.spring.forge.example.model.filter.ProductCategory;
+import com.kivojenko.spring.forge.example.model.filter.ProductCategoryForgeRepository;
+import com.kivojenko.spring.forge.example.model.filter.ProductForgeRepository;
+import com.kivojenko.spring.forge.example.model.filter.ProductForgeService;
+import com.kivojenko.spring.forge.example.model.filter.QProduct;
+import com.kivojenko.spring.forge.example.model.filter.Tag;
+import com.kivojenko.spring.forge.example.model.filter.TagForgeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class ProductBulkUpdateTest extends WithPostgres {
+
+  @Autowired
+  private ProductForgeRepository productRepository;
+
+  @Autowired
+  private ProductForgeService productService;
+
+  @Autowired
+  private ProductCategoryForgeRepository categoryRepository;
+
+  @Autowired
+  private TagForgeRepository tagRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 6; i++) {
+      productRepository.save(Product.builder()
+                                 .name("Product " + i)
+                                 .sku("BULK-" + i)
+                                 .brand(i % 2 == 0 ? "Acme" : "Globex")
+                                 .price(new BigDecimal("10.00"))
+                                 .active(true)
+                                 .build());
+    }
+  }
+
+  private long countActive(String brand) {
+    return productRepository.findAll()
+        .stream()
+        .filter(p -> p.getBrand().equals(brand) && Boolean.TRUE.equals(p.getActive()))
+        .count();
+  }
+
+  @Test
+  void testUpdatesOnlyMatchingEntities() throws Exception {
+    mockMvc.perform(patch("/products")
+                        .param("manufacturer", "Acme")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"active\":false,\"price\":\"12.50\"}"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("3"));
+
+    assertEquals(0, countActive("Acme"));
+    assertEquals(3, countActive("Globex"));
+    productRepository.findAll()
+        .stream()
+        .filter(p -> p.getBrand().equals("Acme"))
+        .forEach(p -> assertEquals(0, new BigDecimal("12.50").compareTo(p.getPrice())));
+  }
+
+  @Test
+  void testEmptyFilterRequiresForce() throws Exception {
+    mockMvc.perform(patch("/products").contentType(MediaType.APPLICATION_JSON).content("{\"active\":false}"))
+        .andExpect(status().isBadRequest());
+    assertEquals(3, countActive("Acme"));
+
+    mockMvc.perform(patch("/products")
+                        .param("force", "true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"active\":false}"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("6"));
+    assertEquals(0, countActive("Acme") + countActive("Globex"));
+  }
+
+  @Test
+  void testUnknownOrIdFieldIsRejected() throws Exception {
+    mockMvc.perform(patch("/products")
+                        .param("manufacturer", "Acme")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":1}"))
+        .andExpect(status().isBadRequest());
+
+    mockMvc.perform(patch("/products")
+                        .param("manufacturer", "Acme")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"category\":null}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void testFilterOnAssociationUpdatesMatchingEntities() throws Exception {
+    var tools = categoryRepository.save(ProductCategory.builder().name("Tools").build());
+    productRepository.findAll()
+        .stream()
+        .filter(p -> p.getBrand().equals("Globex"))
+        .forEach(p -> {
+          p.setCategory(tools);
+          productRepository.save(p);
+        });
+
+    mockMvc.perform(patch("/products")
+                        .param("category", "tool")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"active\":false}"))
+        .andExpect(status().isOk())
+        .andExpect(content().string("3"));
+
+    assertEquals(3, countActive("Acme"));
+    assertEquals(0, countActive("Globex"));
+  }
+
+  @Test
+  void testUpdateKeepsOtherPendingChangesAndRefreshesUpdatedEntities() {
+    var tagId = tagRepository.save(Tag.builder().name("Before").build()).getId();
+    var productId = productRepository.findAll().stream().filter(p -> p.getBrand().equals("Acme")).findFirst().orElseThrow().getId();
+
+    transactionTemplate.executeWithoutResult(tx -> {
+      var product = productService.getById(productId);
+      tagRepository.findById(tagId).orElseThrow().setName("After");
+
+      assertEquals(3, productService.updateAll(QProduct.product.brand.eq("Acme"), Map.of("active", false), false));
+      assertEquals(false, productService.getById(productId).getActive());
+      assertEquals(true, product.getActive());
+    });
+
+    assertEquals("After", tagRepository.findById(tagId).orElseThrow().getName());
+    assertEquals(0, countActive("Acme"));
+  }
+}
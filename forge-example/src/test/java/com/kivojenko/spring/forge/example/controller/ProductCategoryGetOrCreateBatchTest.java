@@ -0,0 +1,80 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.filter.ProductCategoryForgeRepository;
+import com.kivojenko.spring.forge.example.model.filter.ProductCategoryForgeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class ProductCategoryGetOrCreateBatchTest extends WithPostgres {
+
+  @Autowired
+  private ProductCategoryForgeService productCategoryService;
+
+  @Autowired
+  private ProductCategoryForgeRepository productCategoryRepository;
+
+  @Test
+  void testBatchReturnsExistingAndCreatesMissing() throws Exception {
+    var existing = productCategoryService.getOrCreate("Shoes");
+
+    var statistics = statistics(() -> mockMvc.perform(post("/productCategories/get-or-create/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[\"shoes\", \"Hats\", \"hats\", \"Bags\"]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.shoes.id", is(existing.getId().intValue())))
+        .andExpect(jsonPath("$.shoes.name", is("Shoes")))
+        .andExpect(jsonPath("$.Hats.name", is("Hats")))
+        .andExpect(jsonPath("$.hats.name", is("Hats")))
+        .andExpect(jsonPath("$.Bags.name", is("Bags"))));
+
+    // One IN query for the existing names, one insert for the missing ones and one IN query reading them back
+    assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3);
+    assertThat(productCategoryRepository.count()).isEqualTo(3);
+  }
+
+  @Test
+  void testBatchOfExistingKeysCreatesNothing() {
+    var created = productCategoryService.getOrCreateAll(List.of("Toys", "Games"));
+    var again = productCategoryService.getOrCreateAll(List.of("games", "toys"));
+
+    assertThat(again.get("toys").getId()).isEqualTo(created.get("Toys").getId());
+    assertThat(again.get("games").getId()).isEqualTo(created.get("Games").getId());
+    assertThat(again.keySet()).containsExactly("games", "toys");
+    assertThat(productCategoryRepository.count()).isEqualTo(2);
+  }
+
+  @Test
+  void testBatchMatchesKeysCaseInsensitivelyInTheDatabase() {
+    // Java upper-cases ß to SS, which the database need not agree with
+    var existing = productCategoryService.getOrCreate("Straße");
+    var found = productCategoryService.getOrCreateAll(List.of("STRAßE", "straße"));
+
+    assertThat(found.get("STRAßE").getId()).isEqualTo(existing.getId());
+    assertThat(found.get("straße").getId()).isEqualTo(existing.getId());
+    assertThat(productCategoryRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  void testBatchLargerThanLimitIsRejected() throws Exception {
+    var names = new StringBuilder("[");
+    for (int i = 0; i <= 1000; i++) {
+      names.append(i == 0 ? "" : ",").append("\"category-").append(i).append('"');
+    }
+    mockMvc.perform(post("/productCategories/get-or-create/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(names.append(']').toString()))
+        .andExpect(status().is(413));
+  }
+}
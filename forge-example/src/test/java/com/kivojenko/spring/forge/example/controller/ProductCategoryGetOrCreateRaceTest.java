@@ -0,0 +1,48 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.filter.ProductCategory;
+import com.kivojenko.spring.forge.example.model.filter.ProductCategoryForgeRepository;
+import com.kivojenko.spring.forge.example.model.filter.ProductCategoryForgeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+public class ProductCategoryGetOrCreateRaceTest extends WithPostgres {
+  private static final int THREADS = 16;
+
+  @Autowired
+  private ProductCategoryForgeService productCategoryService;
+
+  @Autowired
+  private ProductCategoryForgeRepository productCategoryRepository;
+
+  @Test
+  void testConcurrentGetOrCreateStoresOneRow() throws Exception {
+    var start = new CountDownLatch(1);
+    var results = new ArrayList<Future<ProductCategory>>();
+    try (var executor = Executors.newFixedThreadPool(THREADS)) {
+      for (int i = 0; i < THREADS; i++) {
+        results.add(executor.submit(() -> {
+          start.await();
+          return productCategoryService.getOrCreate("Hot Key");
+        }));
+      }
+      start.countDown();
+
+      var id = results.getFirst().get().getId();
+      for (var result : results) {
+        assertThat(result.get().getId()).isEqualTo(id);
+      }
+    }
+    assertThat(productCategoryRepository.count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,100 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.kivojenko.spring.forge.example.WithPostgres;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+/**
+ * Integration tests for the generated NDJSON {@code /stream} endpoint.
+ */
+@SpringBootTest
+public class ProductStreamTest extends WithPostgres {
+
+  @BeforeEach
+  void setUp() throws Exception {
+    var category = createCategory("Stationery");
+    for (int i = 0; i < 12; i++) {
+      createProduct((i % 3 == 0 ? "Pen " : "Notebook ") + i, "STREAM-" + i, category);
+    }
+  }
+
+  private Long createCategory(String name) throws Exception {
+    String response = mockMvc.perform(post("/productCategories")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"name\":\"" + name + "\"}"))
+        .andExpect(status().isCreated())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+    return objectMapper.readTree(response).get("id").asLong();
+  }
+
+  private void createProduct(String name, String sku, Long categoryId) throws Exception {
+    String body = "{" +
+        "\"name\":\"" + name + "\"," +
+        "\"sku\":\"" + sku + "\"," +
+        "\"price\":1.50," +
+        "\"category\":{\"id\":" + categoryId + "}" +
+        "}";
+
+    mockMvc.perform(post("/products")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(body))
+        .andExpect(status().isCreated());
+  }
+
+  private List<JsonNode> stream(MockHttpServletRequestBuilder builder) throws Exception {
+    var started = mockMvc.perform(builder)
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    String body = mockMvc.perform(asyncDispatch(started))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+
+    var rows = new ArrayList<JsonNode>();
+    for (String line : body.split("\n")) {
+      if (!line.isBlank()) {
+        rows.add(objectMapper.readTree(line));
+      }
+    }
+    return rows;
+  }
+
+  @Test
+  void shouldStreamAllProductsOnePerLine() throws Exception {
+    var rows = stream(get("/products/stream"));
+
+    assertThat(rows).hasSize(12);
+    assertThat(rows).allSatisfy(row -> {
+      assertThat(row.get("sku").asText()).startsWith("STREAM-");
+      assertThat(row.get("category").get("name").asText()).isEqualTo("Stationery");
+    });
+    assertThat(rows.stream().map(row -> row.get("id").asLong()).distinct()).hasSize(12);
+  }
+
+  @Test
+  void shouldApplyFilterToStream() throws Exception {
+    var rows = stream(get("/products/stream").param("name", "Pen"));
+
+    assertThat(rows).hasSize(4);
+    assertThat(rows).allSatisfy(row -> assertThat(row.get("name").asText()).startsWith("Pen "));
+  }
+}
@@ -0,0 +1,72 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.general.Author;
+import com.kivojenko.spring.forge.example.model.general.AuthorForgeService;
+import com.kivojenko.spring.forge.example.model.refresh.Ticket;
+import com.kivojenko.spring.forge.example.model.refresh.TicketForgeRepository;
+import com.kivojenko.spring.forge.example.model.refresh.TicketForgeService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.MediaType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class RefreshAfterCreateTest extends WithPostgres {
+
+  @Autowired
+  private TicketForgeService ticketService;
+
+  @Autowired
+  private TicketForgeRepository ticketRepository;
+
+  @Autowired
+  private AuthorForgeService authorService;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  @AfterEach
+  void tearDown() {
+    ticketRepository.deleteAll();
+  }
+
+  @Test
+  void testCreateRefreshesDatabaseDefaults() throws Exception {
+    var statistics = statistics(() -> mockMvc.perform(post("/tickets").contentType(MediaType.APPLICATION_JSON).content("{\"code\":\"T-1\"}"))
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.status").value("OPEN")));
+
+    // INSERT, then the SELECT of the refresh
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+  }
+
+  @Test
+  void testCreateSkipsRefreshWithoutDatabaseGeneratedValues() throws Exception {
+    var statistics = statistics(() -> assertThat(authorService.create(Author.builder().name("Unrefreshed").build()).getId()).isNotNull());
+
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+
+  @Test
+  void testCreateReportsConstraintViolations() {
+    ticketService.create(Ticket.builder().code("T-2").build());
+    assertThatThrownBy(() -> ticketService.create(Ticket.builder().code("T-2").build()))
+        .isInstanceOf(DataIntegrityViolationException.class);
+
+    // Without the refresh's flush, the violation is reported by the enclosing transaction at the latest
+    authorService.create(Author.builder().name("Duplicate").build());
+    assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(
+        tx -> authorService.create(Author.builder().name("Duplicate").build())))
+        .isInstanceOf(DataIntegrityViolationException.class);
+  }
+}
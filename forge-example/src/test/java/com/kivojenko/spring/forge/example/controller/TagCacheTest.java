@@ -0,0 +1,56 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.filter.Tag;
+import com.kivojenko.spring.forge.example.model.filter.TagForgeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class TagCacheTest extends WithPostgres {
+
+  @Autowired
+  private TagForgeRepository tagRepository;
+
+  @Test
+  void testGetByIdIsServedFromSecondLevelCache() throws Exception {
+    var id = tagRepository.save(Tag.builder().name("Cached").build()).getId();
+    mockMvc.perform(get("/tags/{id}", id)).andExpect(status().isOk());
+
+    var statistics = statistics(() -> mockMvc.perform(get("/tags/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name", is("Cached"))));
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+
+    mockMvc.perform(patch("/tags/{id}", id).contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"Renamed\"}"))
+        .andExpect(status().isOk());
+    mockMvc.perform(get("/tags/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.name", is("Renamed")));
+  }
+
+  @Test
+  void testFilteredListUsesQueryCache() throws Exception {
+    tagRepository.save(Tag.builder().name("Query Cached").build());
+    mockMvc.perform(get("/tags").param("name", "Query Cached")).andExpect(status().isOk());
+
+    var statistics = statistics(() -> mockMvc.perform(get("/tags").param("name", "Query Cached"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].name", is("Query Cached"))));
+    assertThat(statistics.getQueryCacheHitCount()).isPositive();
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    tagRepository.save(Tag.builder().name("Query Cached Too").build());
+    assertThat(tagRepository.findByNameIgnoreCase("query cached too")).isPresent();
+  }
+}
@@ -0,0 +1,54 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.filter.Tag;
+import com.kivojenko.spring.forge.example.model.filter.TagForgeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class TagExistsTest extends WithPostgres {
+
+  @Autowired
+  private TagForgeRepository tagRepository;
+
+  @Test
+  void testHeadAnswersWithStatusOnly() throws Exception {
+    var id = tagRepository.save(Tag.builder().name("Present").build()).getId();
+
+    mockMvc.perform(head("/tags/{id}", id))
+        .andExpect(status().isOk())
+        .andExpect(content().string(""));
+
+    mockMvc.perform(head("/tags/{id}", id + 1000))
+        .andExpect(status().isNotFound())
+        .andExpect(content().string(""));
+  }
+
+  @Test
+  void testExistsReturnsExistingSubsetInRequestOrder() throws Exception {
+    var first = tagRepository.save(Tag.builder().name("First").build()).getId();
+    var second = tagRepository.save(Tag.builder().name("Second").build()).getId();
+    var unknown = second + 1000;
+
+    mockMvc.perform(post("/tags/exists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + second + "," + unknown + "," + first + "," + second + "]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", contains(second.intValue(), first.intValue())));
+
+    mockMvc.perform(post("/tags/exists").contentType(MediaType.APPLICATION_JSON).content("[]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", empty()));
+  }
+}
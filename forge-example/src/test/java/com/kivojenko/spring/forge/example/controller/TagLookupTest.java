@@ -0,0 +1,48 @@
+package com.kivojenko.spring.forge.example.controller;
+
+import com.kivojenko.spring.forge.example.WithPostgres;
+import com.kivojenko.spring.forge.example.model.filter.Tag;
+import com.kivojenko.spring.forge.example.model.filter.TagForgeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+public class TagLookupTest extends WithPostgres {
+
+  @Autowired
+  private TagForgeRepository tagRepository;
+
+  @Test
+  void testLookupKeepsRequestOrderAndReportsMissingIds() throws Exception {
+    var first = tagRepository.save(Tag.builder().name("First").build()).getId();
+    var second = tagRepository.save(Tag.builder().name("Second").build()).getId();
+    var third = tagRepository.save(Tag.builder().name("Third").build()).getId();
+    var unknown = third + 1000;
+
+    mockMvc.perform(get("/tags/by-ids").param("ids", third + "," + first + "," + unknown + "," + second + "," + first))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[*].name", contains("Third", "First", "Second")))
+        .andExpect(jsonPath("$.missing", contains(unknown.intValue())));
+
+    mockMvc.perform(post("/tags/by-ids")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + second + "," + unknown + "," + third + "]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[*].name", contains("Second", "Third")))
+        .andExpect(jsonPath("$.missing", contains(unknown.intValue())));
+  }
+
+  @Test
+  void testIdsAreRequired() throws Exception {
+    mockMvc.perform(get("/tags/by-ids"))
+        .andExpect(status().isBadRequest());
+  }
+}
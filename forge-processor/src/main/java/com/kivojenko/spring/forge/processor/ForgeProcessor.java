@@ -1,5 +1,7 @@
 package com.kivojenko.spring.forge.processor;
 
+import com.kivojenko.spring.forge.annotation.CountMode;
+import com.kivojenko.spring.forge.annotation.ForgeCacheable;
 import com.kivojenko.spring.forge.annotation.GetOrCreate;
 import com.kivojenko.spring.forge.annotation.WithJpaRepository;
 import com.kivojenko.spring.forge.annotation.WithRestController;
@@ -7,7 +9,9 @@ import com.kivojenko.spring.forge.annotation.WithService;
 import com.kivojenko.spring.forge.config.SpringForgeConfig;
 import com.kivojenko.spring.forge.jpa.factory.EndpointRelationResolver;
 import com.kivojenko.spring.forge.jpa.factory.JpaEntityModelFactory;
+import com.kivojenko.spring.forge.jpa.generator.CacheGenerator;
 import com.kivojenko.spring.forge.jpa.generator.ControllerGenerator;
+import com.kivojenko.spring.forge.jpa.generator.DtoGenerator;
 import com.kivojenko.spring.forge.jpa.generator.FilterGenerator;
 import com.kivojenko.spring.forge.jpa.generator.RepositoryGenerator;
 import com.kivojenko.spring.forge.jpa.generator.ServiceGenerator;
@@ -27,7 +31,8 @@ import java.util.Set;
 /**
  * Annotation processor for generating JPA repositories, services, and REST controllers.
  * It processes entities annotated with {@link WithJpaRepository}, {@link WithService},
- * {@link WithRestController}, or {@link GetOrCreate}.
+ * {@link WithRestController}, or {@link GetOrCreate}, and registers the second-level cache of entities annotated with
+ * {@link ForgeCacheable}.
  */
 @SupportedAnnotationTypes("com.kivojenko.spring.forge.annotation.*")
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
@@ -44,7 +49,8 @@ public final class ForgeProcessor extends AbstractProcessor {
         WithJpaRepository.class,
         WithService.class,
         GetOrCreate.class,
-        WithRestController.class
+        WithRestController.class,
+        ForgeCacheable.class
     );
     Set<TypeElement> rootEntities = new HashSet<>();
 
@@ -63,7 +69,9 @@ public final class ForgeProcessor extends AbstractProcessor {
     jpaEntities.forEach(this::addFilter);
     jpaEntities.forEach(this::addRepository);
     jpaEntities.forEach(this::addService);
+    jpaEntities.forEach(this::addDto);
     jpaEntities.forEach(this::addController);
+    jpaEntities.forEach(this::addCache);
 
     return true;
   }
@@ -115,6 +123,9 @@ public final class ForgeProcessor extends AbstractProcessor {
 
   private void addService(JpaEntityModel model) {
     if (!model.getRequirements().wantsService() || alreadyExists(model.getServiceFqn())) return;
+    checkReadCache(model);
+    checkLookupCache(model);
+    checkApproximateCount(model);
 
     try {
       var file = ServiceGenerator.generateFile(model);
@@ -128,8 +139,46 @@ public final class ForgeProcessor extends AbstractProcessor {
     }
   }
 
+  private void checkReadCache(JpaEntityModel model) {
+    if (!model.getRequirements().wantsReadCache()) return;
+
+    model.getEntityFields()
+        .stream()
+        .filter(f -> f.isToOne() || f.isPlural())
+        .forEach(f -> LoggingUtils.error(
+            processingEnv,
+            model.getElement(),
+            "@WithService(readCache = true) requires an entity without associations and element collections, "
+                + "but " + f.getName() + " would be cached stale or uninitialized"
+        ));
+  }
+
+  private void checkLookupCache(JpaEntityModel model) {
+    if (!model.getRequirements().wantsLookupCache() || model.getRequirements().wantsCache()) return;
+
+    LoggingUtils.error(
+        processingEnv,
+        model.getElement(),
+        "@GetOrCreate(lookupCache = true) requires @ForgeCacheable, "
+            + "otherwise every cache hit still loads the entity with a query"
+    );
+  }
+
+  private void checkApproximateCount(JpaEntityModel model) {
+    var annotation = model.getRequirements().serviceAnnotation();
+    if (annotation == null || annotation.count() != CountMode.APPROXIMATE || !model.isInInheritanceHierarchy()) return;
+
+    LoggingUtils.error(
+        processingEnv,
+        model.getElement(),
+        "@WithService(count = APPROXIMATE) requires an entity outside inheritance hierarchies, "
+            + "whose table statistics count only its own rows"
+    );
+  }
+
   private void addController(JpaEntityModel model) {
     if (!model.getRequirements().wantsController() || alreadyExists(model.getControllerFqn())) return;
+    checkBulkUpdate(model);
 
     try {
       var file = ControllerGenerator.generateFile(model);
@@ -143,6 +192,49 @@ public final class ForgeProcessor extends AbstractProcessor {
     }
   }
 
+  private void checkBulkUpdate(JpaEntityModel model) {
+    var annotation = model.getRequirements().controllerAnnotation();
+    if (annotation == null || !annotation.bulkUpdate() || model.wantsBulkUpdate()) return;
+
+    LoggingUtils.error(
+        processingEnv,
+        model.getElement(),
+        model.wantsFilter()
+            ? "@WithRestController(bulkUpdate = true) requires basic fields that can be updated"
+            : "@WithRestController(bulkUpdate = true) requires @FilterField fields to select the entities to update"
+    );
+  }
+
+  private void addDto(JpaEntityModel model) {
+    if (!model.wantsDto() || alreadyExists(model.getDtoFqn())) return;
+
+    try {
+      var file = DtoGenerator.generateFile(model);
+      tryWriteTo(file);
+    } catch (Exception e) {
+      LoggingUtils.error(
+          processingEnv,
+          model.getElement(),
+          "Failed to generate DTO: " + e.getMessage() + Arrays.toString(e.getStackTrace())
+      );
+    }
+  }
+
+  private void addCache(JpaEntityModel model) {
+    if (!model.getRequirements().wantsCache() || alreadyExists(model.getCacheFqn())) return;
+
+    try {
+      var file = CacheGenerator.generateFile(model);
+      tryWriteTo(file);
+    } catch (Exception e) {
+      LoggingUtils.error(
+          processingEnv,
+          model.getElement(),
+          "Failed to generate cache configuration: " + e.getMessage() + Arrays.toString(e.getStackTrace())
+      );
+    }
+  }
+
   private void addFilter(JpaEntityModel model) {
     if (!model.wantsFilter() || alreadyExists(model.getFilterFqn())) return;
 
@@ -81,12 +81,17 @@ dependencies {
     implementation("com.squareup:javapoet:1.13.0")
 
     compileOnly("org.springframework:spring-web")
+    compileOnly("org.springframework:spring-webmvc")
+    compileOnly("jakarta.servlet:jakarta.servlet-api")
     compileOnly("com.fasterxml.jackson.core:jackson-databind")
     compileOnly("org.springframework.data:spring-data-jpa")
+    compileOnly("com.github.ben-manes.caffeine:caffeine")
+    compileOnly("io.micrometer:micrometer-core")
     implementation("org.springframework.boot:spring-boot-starter-aspectj")
 
     compileOnly("jakarta.validation:jakarta.validation-api")
     compileOnly("jakarta.persistence:jakarta.persistence-api")
+    compileOnly("org.hibernate.orm:hibernate-core")
 
     implementation("io.github.openfeign.querydsl:querydsl-core:7.1")
     implementation("io.github.openfeign.querydsl:querydsl-jpa:7.1")
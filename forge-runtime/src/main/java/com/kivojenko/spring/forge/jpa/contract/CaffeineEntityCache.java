@@ -0,0 +1,71 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * {@link ForgeEntityCache} backed by a bounded Caffeine cache. Kept apart from the interface so that Caffeine is only
+ * needed by applications that use it.
+ */
+final class CaffeineEntityCache<ID, E> implements ForgeEntityCache<ID, E> {
+  private final Cache<ID, E> cache;
+  private final UnaryOperator<E> store;
+
+  private CaffeineEntityCache(Cache<ID, E> cache, UnaryOperator<E> store) {
+    this.cache = cache;
+    this.store = store;
+  }
+
+  static <ID, E> CaffeineEntityCache<ID, E> bySize(long maxSize, Duration ttl) {
+    return new CaffeineEntityCache<>(Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build(), UnaryOperator.identity());
+  }
+
+  /**
+   * Creates a cache bounded by the total weight of its values, converting every loaded value with {@code store}
+   * before it is cached.
+   */
+  static <ID, E> CaffeineEntityCache<ID, E> byWeight(long maxWeight, Duration ttl, ToIntFunction<? super E> weigher, UnaryOperator<E> store) {
+    var cache = Caffeine.newBuilder()
+        .maximumWeight(maxWeight)
+        .<ID, E>weigher((id, value) -> weigher.applyAsInt(value))
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .<ID, E>build();
+    return new CaffeineEntityCache<>(cache, store);
+  }
+
+  @Override
+  public E get(ID id, Function<? super ID, ? extends E> loader) {
+    return cache.get(id, key -> {
+      E value = loader.apply(key);
+      return value == null ? null : store.apply(value);
+    });
+  }
+
+  @Override
+  public E getIfPresent(ID id) {
+    return cache.getIfPresent(id);
+  }
+
+  @Override
+  public void invalidate(ID id) {
+    // Blocks while the key is being loaded, so a load racing with a write never outlives it
+    cache.invalidate(id);
+  }
+
+  @Override
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  @Override
+  public ForgeCacheStats stats() {
+    var stats = cache.stats();
+    return new ForgeCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount());
+  }
+}
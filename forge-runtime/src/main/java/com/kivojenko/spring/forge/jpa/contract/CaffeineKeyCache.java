@@ -0,0 +1,81 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * {@link ForgeKeyCache} backed by a bounded Caffeine cache, expiring misses sooner than IDs. Keeps the cached keys of
+ * every ID in a second map, so that {@link #invalidateId(Object)} drops them without scanning the cache. Kept apart
+ * from the interface so that Caffeine is only needed by applications that use it.
+ */
+final class CaffeineKeyCache<ID> implements ForgeKeyCache<ID> {
+  private final Map<ID, Set<Object>> keysById = new ConcurrentHashMap<>();
+  private final Cache<Object, Optional<ID>> cache;
+
+  CaffeineKeyCache(long maxSize, Duration ttl, Duration negativeTtl) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maxSize)
+        .expireAfter(Expiry.<Object, Optional<ID>>creating((key, id) -> id.isPresent() ? ttl : negativeTtl))
+        .evictionListener((Object key, Optional<ID> id, RemovalCause cause) -> {
+          if (key != null && id != null) id.ifPresent(value -> unmap(value, key));
+        })
+        .recordStats()
+        .build();
+  }
+
+  @Override
+  public Optional<ID> get(Object key, Function<Object, Optional<ID>> loader) {
+    return cache.get(key, normalized -> {
+      var id = loader.apply(normalized);
+      id.ifPresent(value -> keysById.compute(value, (ignored, keys) -> {
+        var mapped = keys == null ? ConcurrentHashMap.<Object>newKeySet() : keys;
+        mapped.add(normalized);
+        return mapped;
+      }));
+      return id;
+    });
+  }
+
+  @Override
+  public void invalidate(Object key) {
+    var id = cache.asMap().remove(key);
+    if (id != null) id.ifPresent(value -> unmap(value, key));
+  }
+
+  @Override
+  public void invalidateId(ID id) {
+    var keys = keysById.remove(id);
+    if (keys == null) return;
+
+    var cached = Optional.of(id);
+    keys.forEach(key -> cache.asMap().remove(key, cached));
+  }
+
+  @Override
+  public void invalidateAll() {
+    cache.invalidateAll();
+    keysById.clear();
+  }
+
+  @Override
+  public ForgeCacheStats stats() {
+    var stats = cache.stats();
+    return new ForgeCacheStats(stats.hitCount(), stats.missCount(), stats.evictionCount());
+  }
+
+  private void unmap(ID id, Object key) {
+    keysById.computeIfPresent(id, (ignored, keys) -> {
+      keys.remove(key);
+      return keys.isEmpty() ? null : keys;
+    });
+  }
+}
@@ -1,11 +1,14 @@
 package com.kivojenko.spring.forge.jpa.contract;
 
 import jakarta.validation.Valid;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * Abstract base implementation of controller without POST create endpoints that delegates to a {@link ForgeService}.
  * Used when the entity is abstract or creation via POST is not supported.
@@ -16,20 +19,8 @@ import org.springframework.web.bind.annotation.*;
  * @param <S>  the service type
  */
 @RestController
-public abstract class ForgeAbstractController<E, ID, R extends JpaRepository<E, ID>, S extends ForgeService<E, ID, R>> {
-
-  @Autowired
-  protected S service;
-
-  /**
-   * Delegates to {@link ForgeService#count()}.
-   *
-   * @return total number of entities
-   */
-  @GetMapping("/count")
-  public long count() {
-    return service.count();
-  }
+public abstract class ForgeAbstractController<E, ID, R extends JpaRepository<E, ID>, S extends ForgeService<E, ID, R>>
+    extends ForgeBaseController<E, ID, R, S> {
 
   /**
    * Delegates to {@link ForgeService#getById(Object)}.
@@ -37,33 +28,29 @@ public abstract class ForgeAbstractController<E, ID, R extends JpaRepository<E,
    * @param id the ID of the entity to retrieve
    * @return the found entity
    */
+  @Override
   @GetMapping("/{id}")
   public E getById(@PathVariable(name = "id") ID id) {
-    return service.getById(id);
-  }
-
-  /**
-   * Delegates to {@link ForgeService#exists(Object)}.
-   *
-   * @param id the ID of the entity to check
-   * @return true if the entity exists, false otherwise
-   */
-  @RequestMapping(method = RequestMethod.HEAD, path = "/{id}")
-  public boolean exists(@PathVariable(name = "id") ID id) {
-    return service.exists(id);
+    return super.getById(id);
   }
 
   /**
    * Delegates to {@link ForgeService#update(Object, Object)}.
+   * For versioned entities an {@code If-Match} entity tag makes the update conditional on that version, and the
+   * response carries the new entity tag.
    *
    * @param id the ID of the entity to update
+   * @param ifMatch the expected entity tag, optional
    * @param entity the entity with updated fields
-   * @return the updated entity
+   * @return the updated entity, with status 404 if it does not exist or 412 if its version does not match
    */
   @PutMapping("/{id}")
-  @ResponseStatus(code = HttpStatus.CREATED)
-  public E update(@PathVariable(name = "id") ID id, @Valid @RequestBody E entity) {
-    return service.update(id, entity);
+  public ResponseEntity<E> update(
+      @PathVariable(name = "id") ID id,
+      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+      @Valid @RequestBody E entity
+  ) {
+    return updateConditionally(id, ifMatch, entity);
   }
 
   /**
@@ -81,13 +68,17 @@ public abstract class ForgeAbstractController<E, ID, R extends JpaRepository<E,
   }
 
   /**
-   * Delegates to {@link ForgeService#deleteById(Object)}.
+   * Delegates to {@link ForgeService#patch(Object, InputStream)} for {@value #MERGE_PATCH_JSON} bodies.
+   * Same semantics as {@link #patch(Object, java.util.Map)}, but the body is streamed into the entity's field types
+   * instead of being bound to an intermediate map first.
    *
-   * @param id the ID of the entity to delete
+   * @param id the ID of the entity to update
+   * @param body the JSON object holding the fields to update
+   * @return the updated entity
+   * @throws IOException if the body cannot be read
    */
-  @DeleteMapping("/{id}")
-  @ResponseStatus(code = HttpStatus.NO_CONTENT)
-  public void delete(@PathVariable(name = "id") ID id) {
-    service.deleteById(id);
+  @PatchMapping(path = "/{id}", consumes = MERGE_PATCH_JSON)
+  public E patchStreaming(@PathVariable(name = "id") ID id, InputStream body) throws IOException {
+    return patchStreamed(id, body);
   }
 }
@@ -0,0 +1,663 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.querydsl.core.types.Predicate;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StreamUtils;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.support.ConfigurableWebBindingInitializer;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Base of the controllers that delegate to a {@link ForgeService}, mapping only the endpoints that do not return the
+ * entity itself. Generated controllers extend it directly and declare their entity endpoints themselves, returning the
+ * entity or its generated DTO; {@link ForgeAbstractController} and {@link ForgeController} map the entity endpoints for
+ * hand-written controllers.
+ *
+ * @param <E>  the entity type
+ * @param <ID> the ID type
+ * @param <R>  the repository type
+ * @param <S>  the service type
+ */
+@RestController
+public abstract class ForgeBaseController<E, ID, R extends JpaRepository<E, ID>, S extends ForgeService<E, ID, R>> {
+  /**
+   * Media type of JSON merge patch bodies (RFC 7396), selecting the streaming PATCH endpoint.
+   */
+  public static final String MERGE_PATCH_JSON = "application/merge-patch+json";
+
+  /**
+   * Response header of the {@code /count} endpoint telling whether the count is exact.
+   */
+  public static final String COUNT_EXACT = "X-Count-Exact";
+
+  @Autowired
+  protected S service;
+
+  @Autowired
+  private RequestMappingHandlerAdapter handlerAdapter;
+
+  private HttpMessageConverter<Object> jsonConverter;
+
+  /**
+   * Delegates to {@link ForgeService#countTotal()}. The {@value #COUNT_EXACT} header tells whether the count was just
+   * computed exactly, or estimated or served from a cache by the service's count strategy.
+   *
+   * @return total number of entities
+   */
+  @GetMapping("/count")
+  public ResponseEntity<Long> count() {
+    var count = service.countTotal();
+    return ResponseEntity.ok().header(COUNT_EXACT, String.valueOf(count.exact())).body(count.value());
+  }
+
+  /**
+   * Delegates to {@link ForgeService#getById(Object)}. Not mapped here: generated controllers map {@code GET /{id}}
+   * to a conditional read, and {@link ForgeAbstractController} maps this method.
+   *
+   * @param id the ID of the entity to retrieve
+   * @return the found entity
+   */
+  public E getById(ID id) {
+    return service.getById(id);
+  }
+
+  /**
+   * Retrieves an entity for a conditional {@code GET}. The response carries a strong entity tag derived from the
+   * entity's version, or from a hash of its serialized form if it is not versioned, and is answered with status 304
+   * when the tag matches {@code If-None-Match}. For entities with a numeric version the tag is checked with a query
+   * reading only the version, so an unchanged entity is not loaded at all. The hash is taken from the written body by
+   * {@link ForgeEtagFilter} when it is registered.
+   *
+   * @param id the ID of the entity to retrieve
+   * @param ifNoneMatch the {@code If-None-Match} header value, may be {@code null}
+   * @param view maps the entity to the returned representation, e.g. a generated DTO
+   * @param <T> the representation type
+   * @return the representation with its entity tag, or an empty response with status 304
+   */
+  protected <T> ResponseEntity<T> getConditionally(ID id, String ifNoneMatch, Function<? super E, T> view) {
+    if (ifNoneMatch != null) {
+      var current = service.currentEtag(id);
+      if (current != null && etagMatches(ifNoneMatch, current)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current).build();
+      }
+    }
+    var entity = service.getById(id);
+    var body = view.apply(entity);
+    var etag = service.etag(entity);
+    if (etag == null && ForgeEtagFilter.hashCurrentResponse()) {
+      return ResponseEntity.ok(body);
+    }
+    return conditionally(ifNoneMatch, etag != null ? etag : hashEtag(body), body);
+  }
+
+  /**
+   * Serves {@code GET /{id}} from the service's {@link ForgeService#responseCache() response cache}. On a hit the cached
+   * JSON bytes and entity tag are written straight to the response, without loading or serializing the entity; on a
+   * miss the entity is loaded, mapped and serialized once, and the bytes are cached with the tag
+   * {@link #getConditionally} would send. {@code If-None-Match} is answered with status 304 as there.
+   *
+   * @param id          the ID of the entity to retrieve
+   * @param ifNoneMatch the {@code If-None-Match} header value, may be {@code null}
+   * @param view        maps the entity to the returned representation, e.g. a generated DTO
+   * @param response    the response to write to
+   * @throws IOException if the response cannot be written
+   */
+  protected void getCached(ID id, String ifNoneMatch, Function<? super E, ?> view, HttpServletResponse response) throws IOException {
+    var cache = service.responseCache();
+    if (ifNoneMatch != null && cache.getIfPresent(id) == null) {
+      var current = service.currentEtag(id);
+      if (current != null && etagMatches(ifNoneMatch, current)) {
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        response.setHeader(HttpHeaders.ETAG, current);
+        return;
+      }
+    }
+
+    var cached = cache.get(id, key -> {
+      var entity = service.getById(key);
+      var bytes = serialize(view.apply(entity));
+      var etag = service.etag(entity);
+      return new ForgeCachedResponse(ByteBuffer.wrap(bytes), etag != null ? etag : md5Etag(bytes));
+    });
+    response.setHeader(HttpHeaders.ETAG, cached.etag());
+    if (ifNoneMatch != null && etagMatches(ifNoneMatch, cached.etag())) {
+      response.setStatus(HttpStatus.NOT_MODIFIED.value());
+      return;
+    }
+    response.setStatus(HttpStatus.OK.value());
+    response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+    response.setContentLength(cached.size());
+    cached.writeTo(response.getOutputStream());
+  }
+
+  /**
+   * Wraps a read representation in a conditional response whose strong entity tag is a hash of its serialized form,
+   * answered with status 304 when it matches {@code If-None-Match}. Used by generated association read endpoints,
+   * whose content can change without the version of the owning entity. The hash is taken from the written body by
+   * {@link ForgeEtagFilter} when it is registered.
+   *
+   * @param ifNoneMatch the {@code If-None-Match} header value, may be {@code null}
+   * @param body the representation
+   * @param <T> the representation type
+   * @return the representation with its entity tag, or an empty response with status 304
+   */
+  protected <T> ResponseEntity<T> readConditionally(String ifNoneMatch, T body) {
+    if (ForgeEtagFilter.hashCurrentResponse()) {
+      return ResponseEntity.ok(body);
+    }
+    return conditionally(ifNoneMatch, hashEtag(body), body);
+  }
+
+  private static <T> ResponseEntity<T> conditionally(String ifNoneMatch, String etag, T body) {
+    if (ifNoneMatch != null && etagMatches(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    return ResponseEntity.ok().eTag(etag).body(body);
+  }
+
+  /**
+   * Applies the weak comparison {@code If-None-Match} calls for (RFC 9110, section 13.1.2): any listed tag matching
+   * the entity tag with its {@code W/} prefix ignored, or {@code *}.
+   */
+  static boolean etagMatches(String ifNoneMatch, String etag) {
+    for (var tag : ifNoneMatch.split(",")) {
+      tag = tag.trim();
+      if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(etag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Serializes a representation with the JSON converter used for responses and returns a strong entity tag holding
+   * the MD5 hash of the bytes.
+   */
+  private String hashEtag(Object body) {
+    return md5Etag(serialize(body));
+  }
+
+  static String md5Etag(byte[] bytes) {
+    return "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+  }
+
+  private byte[] serialize(Object body) {
+    var bytes = new ByteArrayOutputStream();
+    try {
+      jsonConverter().write(body, MediaType.APPLICATION_JSON, new StreamMessage(bytes));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Rejects bulk requests with more elements than the generated controller accepts.
+   *
+   * @param size         the number of elements in the request
+   * @param maxBatchSize the largest number of elements accepted
+   * @throws ResponseStatusException with status 413 if the request has too many elements
+   */
+  protected static void limitBatchSize(int size, int maxBatchSize) {
+    if (size > maxBatchSize) {
+      throw new ResponseStatusException(HttpStatus.CONTENT_TOO_LARGE, "Batches are limited to " + maxBatchSize + " elements");
+    }
+  }
+
+  /**
+   * Maps the values of an entity map to the returned representation, keeping the order of its keys. Used by generated
+   * endpoints that return DTOs.
+   *
+   * @param entities the entities by key
+   * @param view     maps an entity to its representation
+   * @param <K>      the key type
+   * @param <E>      the entity type
+   * @param <T>      the representation type
+   * @return the representations by key
+   */
+  protected static <K, E, T> Map<K, T> mapValues(Map<K, E> entities, Function<? super E, ? extends T> view) {
+    var mapped = new LinkedHashMap<K, T>(entities.size());
+    entities.forEach((key, entity) -> mapped.put(key, view.apply(entity)));
+    return mapped;
+  }
+
+  /**
+   * Retrieves the entities with the given IDs, see {@link ForgeService#getAllById(java.util.Collection)}. Mapped to
+   * {@code GET /by-ids} and {@code POST /by-ids} by the generated controller, which passes its maximum batch size.
+   *
+   * @param ids          the IDs of the entities to retrieve
+   * @param maxBatchSize the largest number of IDs accepted
+   * @return the found entities in request order, and the IDs that were not found
+   * @throws ResponseStatusException with status 413 if there are more than {@code maxBatchSize} IDs
+   */
+  protected ForgeLookup<E, ID> getAllById(List<ID> ids, int maxBatchSize) {
+    limitBatchSize(ids.size(), maxBatchSize);
+    return service.getAllById(ids);
+  }
+
+  /**
+   * Delegates to {@link ForgeService#exists(Object)}.
+   *
+   * @param id the ID of the entity to check
+   * @return an empty response with status 200 if the entity exists, 404 otherwise
+   */
+  @RequestMapping(method = RequestMethod.HEAD, path = "/{id}")
+  public ResponseEntity<Void> exists(@PathVariable(name = "id") ID id) {
+    return service.exists(id) ? ResponseEntity.ok().build() : ResponseEntity.notFound().build();
+  }
+
+  /**
+   * Returns which of the given IDs exist, see {@link ForgeService#existingIds(java.util.Collection)}. Mapped to
+   * {@code POST /exists} by the generated controller, which passes its maximum batch size.
+   *
+   * @param ids          the IDs to check
+   * @param maxBatchSize the largest number of IDs accepted
+   * @return the existing IDs in request order
+   * @throws ResponseStatusException with status 413 if there are more than {@code maxBatchSize} IDs
+   */
+  protected List<ID> existingIds(List<ID> ids, int maxBatchSize) {
+    limitBatchSize(ids.size(), maxBatchSize);
+    return service.existingIds(ids);
+  }
+
+  /**
+   * Performs a PUT update honoring an {@code If-Match} precondition, mapping a missing entity to 404, a version
+   * mismatch to 412 and a to-one reference without an ID, which a single-statement update cannot store, to 400. Entities without a numeric version answer any tag other than {@code *} with 412, since their
+   * version cannot be checked by the update.
+   *
+   * @param id the ID of the entity to update
+   * @param ifMatch the expected entity tag, may be {@code null}
+   * @param entity the entity with updated fields
+   * @return the created response holding the updated entity as stored and its entity tag
+   */
+  protected ResponseEntity<E> updateConditionally(ID id, String ifMatch, E entity) {
+    try {
+      service.applyIfMatch(entity, ifMatch);
+      var updated = service.update(id, entity);
+
+      var response = ResponseEntity.status(HttpStatus.CREATED);
+      var etag = service.etag(updated);
+      if (etag != null) {
+        response.eTag(etag);
+      }
+      return response.body(updated);
+    } catch (EntityNotFoundException e) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, null, e);
+    } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+      throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, null, e);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Delegates to {@link ForgeService#patch(Object, InputStream)} for {@value #MERGE_PATCH_JSON} bodies, answering a
+   * malformed body with status 400.
+   *
+   * @param id the ID of the entity to update
+   * @param body the JSON object holding the fields to update
+   * @return the updated entity
+   * @throws IOException if the body cannot be read
+   */
+  protected E patchStreamed(ID id, InputStream body) throws IOException {
+    try {
+      return service.patch(id, body);
+    } catch (JsonProcessingException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getOriginalMessage(), e);
+    }
+  }
+
+  /**
+   * Enforces the maximum page size of a generated list endpoint.
+   *
+   * @param pageable the requested page
+   * @param maxSize the largest page size served
+   * @param reject whether an oversized request is rejected rather than clamped
+   * @return the page to serve
+   * @throws ResponseStatusException with status 400 if the page is oversized and {@code reject} is set
+   */
+  protected Pageable limitPageSize(Pageable pageable, int maxSize, boolean reject) {
+    if (pageable.isUnpaged()) {
+      return PageRequest.of(0, maxSize, pageable.getSort());
+    }
+    var size = limitPageSize(pageable.getPageSize(), maxSize, reject);
+    return size == pageable.getPageSize() ? pageable : PageRequest.of(pageable.getPageNumber(), size, pageable.getSort());
+  }
+
+  /**
+   * Enforces the maximum size of a window or page of a generated list endpoint.
+   *
+   * @param size the requested size
+   * @param maxSize the largest size served
+   * @param reject whether an oversized request is rejected rather than clamped
+   * @return the size to serve
+   * @throws ResponseStatusException with status 400 if the size is not positive, or oversized and {@code reject} is set
+   */
+  protected int limitPageSize(int size, int maxSize, boolean reject) {
+    if (size < 1) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size must be positive");
+    }
+    if (size <= maxSize) {
+      return size;
+    }
+    if (reject) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Page size " + size + " exceeds the maximum of " + maxSize);
+    }
+    return maxSize;
+  }
+
+  /**
+   * Maps the body of an entity response, keeping its status and headers.
+   *
+   * @param response the entity response
+   * @param view maps the entity to the returned representation, e.g. a generated DTO
+   * @param <T> the representation type
+   * @return the response holding the representation
+   */
+  protected <T> ResponseEntity<T> view(ResponseEntity<E> response, Function<? super E, T> view) {
+    var body = response.getBody();
+    return ResponseEntity.status(response.getStatusCode()).headers(response.getHeaders()).body(body == null ? null : view.apply(body));
+  }
+
+  /**
+   * Parses the {@code fields} parameter of a generated endpoint, see {@link ForgeService#sparseFieldNames(String)}.
+   *
+   * @param fields the comma-separated field names
+   * @return the field names to select
+   * @throws ResponseStatusException with status 400 if no field or a field that cannot be selected is requested
+   */
+  protected List<String> sparseFieldNames(String fields) {
+    try {
+      return service.sparseFieldNames(fields);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Sets fields on all entities matching the predicate, see {@link ForgeService#updateAll(Predicate, Map, boolean)}.
+   * Mapped to {@code PATCH} by generated controllers of entities with {@code @WithRestController(bulkUpdate = true)}.
+   *
+   * @param predicate the filter predicate
+   * @param fields    the values to set by field name
+   * @param force     whether to update all entities when the predicate is empty
+   * @return the number of updated entities
+   * @throws ResponseStatusException with status 400 for unknown fields or values, or an empty predicate without
+   *                                 {@code force}
+   */
+  protected long updateAll(Predicate predicate, Map<String, Object> fields, boolean force) {
+    try {
+      return service.updateAll(predicate, fields, force);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Deletes the entities with the given IDs, see {@link ForgeService#deleteAllById(java.util.Collection)}. Mapped to
+   * {@code DELETE} with a JSON array body by the generated controller, which passes its maximum batch size.
+   *
+   * @param ids          the IDs of the entities to delete
+   * @param maxBatchSize the largest number of IDs accepted
+   * @return the number of deleted entities
+   * @throws ResponseStatusException with status 413 if there are more than {@code maxBatchSize} IDs
+   */
+  protected long deleteAllById(List<ID> ids, int maxBatchSize) {
+    limitBatchSize(ids.size(), maxBatchSize);
+    return service.deleteAllById(ids);
+  }
+
+  /**
+   * Deletes all entities matching the predicate, see {@link ForgeService#deleteAll(Predicate, boolean)}. Mapped to
+   * {@code DELETE} by generated controllers of entities with filter fields.
+   *
+   * @param predicate the filter predicate
+   * @param force     whether to delete all entities when the predicate is empty
+   * @return the number of deleted entities
+   * @throws ResponseStatusException with status 400 for an empty predicate without {@code force}
+   */
+  protected long deleteAll(Predicate predicate, boolean force) {
+    try {
+      return service.deleteAll(predicate, force);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Parses the {@code include} parameter of a generated list endpoint, see {@link ForgeService#includeNames(String)}.
+   *
+   * @param include the comma-separated association names
+   * @return the associations to load
+   * @throws ResponseStatusException with status 400 if an association that cannot be included is requested
+   */
+  protected List<String> includeNames(String include) {
+    try {
+      return service.includeNames(include);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Reads the given fields of an entity, see {@link ForgeService#getFieldsById(Object, List)}.
+   *
+   * @param id the ID of the entity
+   * @param fields the comma-separated field names
+   * @return the fields by name
+   * @throws ResponseStatusException with status 400 for an invalid fieldset, or 404 if the entity does not exist
+   */
+  protected Map<String, Object> getFieldsById(ID id, String fields) {
+    var names = sparseFieldNames(fields);
+    try {
+      return service.getFieldsById(id, names);
+    } catch (EntityNotFoundException e) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, null, e);
+    }
+  }
+
+  /**
+   * Wraps a page of a generated list endpoint in a response, adding a {@code Link} header with {@code rel="next"}
+   * pointing at the following page when there is one.
+   *
+   * @param page the page
+   * @param <P> the page type
+   * @return the OK response holding the page
+   */
+  protected <P extends Slice<?>> ResponseEntity<P> page(P page) {
+    var response = ResponseEntity.ok();
+    if (page.hasNext()) {
+      var next = page.nextPageable();
+      var uri = ServletUriComponentsBuilder
+          .fromCurrentRequest()
+          .replaceQueryParam("page", next.getPageNumber())
+          .replaceQueryParam("size", next.getPageSize())
+          .toUriString();
+      response.header(HttpHeaders.LINK, "<" + uri + ">; rel=\"next\"");
+    }
+    return response.body(page);
+  }
+
+  /**
+   * Writes the entities produced by {@code source} as newline-delimited JSON, one entity per line, while they are
+   * being read. Each entity is serialized with the application's JSON message converter as soon as it is handed
+   * over, so nothing is buffered beyond the current row. The source runs on the response-writing thread and must
+   * open its own transaction, e.g. {@link ForgeService#stream(Consumer)}.
+   *
+   * @param source pushes each entity to the given row consumer
+   * @return the streaming {@code application/x-ndjson} response
+   */
+  protected ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<? super E>> source) {
+    return ndjson(source, Function.identity());
+  }
+
+  /**
+   * Same as {@link #ndjson(Consumer)}, but writes each entity in the representation returned by {@code view}, which is
+   * applied while the source's transaction is still open.
+   *
+   * @param source pushes each entity to the given row consumer
+   * @param view maps each entity to the written representation, e.g. a generated DTO
+   * @return the streaming {@code application/x-ndjson} response
+   */
+  protected ResponseEntity<StreamingResponseBody> ndjson(Consumer<Consumer<? super E>> source, Function<? super E, ?> view) {
+    var converter = jsonConverter();
+    StreamingResponseBody body = out -> {
+      var row = new StreamMessage(StreamUtils.nonClosing(out));
+      try {
+        source.accept(entity -> {
+          try {
+            converter.write(view.apply(entity), MediaType.APPLICATION_JSON, row);
+            out.write('\n');
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  /**
+   * Creates all given entities in one transaction, see {@link ForgeService#createAll(List)}. Mapped to
+   * {@code POST /batch} by the generated controller of a concrete entity, which passes its maximum batch size. The
+   * batch is created entirely or not at all.
+   *
+   * @param entities     the entities to create
+   * @param maxBatchSize the largest number of entities accepted
+   * @return the IDs of the created entities in request order with status 201; otherwise the rejected elements with
+   * status 400, or 409 if the database rejected them
+   * @throws ResponseStatusException with status 413 if there are more than {@code maxBatchSize} entities
+   */
+  protected ResponseEntity<ForgeBatchResult<ID>> createBatch(List<E> entities, int maxBatchSize) {
+    limitBatchSize(entities.size(), maxBatchSize);
+    var failures = validateEach(entities);
+    if (!failures.isEmpty()) {
+      return ResponseEntity.badRequest().body(ForgeBatchResult.failed(failures));
+    }
+    try {
+      return ResponseEntity.status(HttpStatus.CREATED).body(ForgeBatchResult.created(service.createAll(entities)));
+    } catch (ForgeBatchException e) {
+      var status = e.getCause() instanceof DataIntegrityViolationException ? HttpStatus.CONFLICT : HttpStatus.BAD_REQUEST;
+      return ResponseEntity.status(status).body(ForgeBatchResult.failed(e.getFailures()));
+    }
+  }
+
+  /**
+   * Validates each element of a bulk request with the validator Spring MVC applies to {@code @Valid} request bodies,
+   * which does not descend into the elements of a list body by itself.
+   *
+   * @param elements the elements of the request body
+   * @return the invalid elements by position, empty if all are valid or no validator is configured
+   */
+  protected List<ForgeBatchResult.Failure> validateEach(List<?> elements) {
+    var failures = new ArrayList<ForgeBatchResult.Failure>();
+    var validator = handlerAdapter.getWebBindingInitializer() instanceof ConfigurableWebBindingInitializer initializer
+        ? initializer.getValidator()
+        : null;
+    for (int i = 0; i < elements.size(); i++) {
+      var element = elements.get(i);
+      if (element == null) {
+        failures.add(new ForgeBatchResult.Failure(i, "must not be null"));
+        continue;
+      }
+      if (validator == null || !validator.supports(element.getClass())) {
+        continue;
+      }
+      var errors = new BeanPropertyBindingResult(element, "element");
+      validator.validate(element, errors);
+      if (errors.hasErrors()) {
+        var message = new StringJoiner("; ");
+        errors.getAllErrors().forEach(error -> message.add(
+            error instanceof FieldError field ? field.getField() + " " + field.getDefaultMessage() : error.getDefaultMessage()));
+        failures.add(new ForgeBatchResult.Failure(i, message.toString()));
+      }
+    }
+    return failures;
+  }
+
+  @SuppressWarnings("unchecked")
+  private HttpMessageConverter<Object> jsonConverter() {
+    if (jsonConverter == null) {
+      var entityClass = service.getEntityClass();
+      jsonConverter = (HttpMessageConverter<Object>) handlerAdapter
+          .getMessageConverters()
+          .stream()
+          .filter(c -> c.canWrite(entityClass, MediaType.APPLICATION_JSON))
+          .findFirst()
+          .orElseThrow(() -> new IllegalStateException("No JSON message converter for " + entityClass.getName()));
+    }
+    return jsonConverter;
+  }
+
+  /**
+   * Output message writing to a given stream, handing every NDJSON row the same response stream; headers written by the
+   * converter are discarded.
+   */
+  private static final class StreamMessage implements HttpOutputMessage {
+    private final OutputStream body;
+    private final HttpHeaders headers = new HttpHeaders();
+
+    StreamMessage(OutputStream body) {
+      this.body = body;
+    }
+
+    @Override
+    public OutputStream getBody() {
+      return body;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+      return headers;
+    }
+  }
+
+  /**
+   * Delegates to {@link ForgeService#deleteById(Object)}.
+   *
+   * @param id the ID of the entity to delete
+   */
+  @DeleteMapping("/{id}")
+  @ResponseStatus(code = HttpStatus.NO_CONTENT)
+  public void delete(@PathVariable(name = "id") ID id) {
+    service.deleteById(id);
+  }
+}
@@ -0,0 +1,40 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import org.springframework.dao.DataAccessException;
+
+import java.util.List;
+
+/**
+ * Thrown when elements of a bulk create are rejected, rolling back the whole batch.
+ */
+public class ForgeBatchException extends RuntimeException {
+  private final List<ForgeBatchResult.Failure> failures;
+
+  /**
+   * @param failures the rejected elements
+   */
+  public ForgeBatchException(List<ForgeBatchResult.Failure> failures) {
+    super(failures.size() + " elements of the batch were rejected");
+    this.failures = List.copyOf(failures);
+  }
+
+  /**
+   * Reports a chunk of the batch that the database rejected when it was flushed. The failing element cannot be told
+   * apart from the rest of its chunk, so the failure is reported at the chunk's first element.
+   *
+   * @param from  the position of the first element of the chunk
+   * @param to    the position after the last element of the chunk
+   * @param cause the database error
+   */
+  public ForgeBatchException(int from, int to, DataAccessException cause) {
+    super("Elements " + from + " to " + (to - 1) + " of the batch were rejected by the database", cause);
+    this.failures = List.of(new ForgeBatchResult.Failure(from, getMessage()));
+  }
+
+  /**
+   * @return the rejected elements, by their position in the batch
+   */
+  public List<ForgeBatchResult.Failure> getFailures() {
+    return failures;
+  }
+}
@@ -0,0 +1,41 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import java.util.List;
+
+/**
+ * The outcome of a bulk create: either the IDs of all created entities, or the elements that prevented the batch
+ * from being created.
+ *
+ * @param ids      the IDs of the created entities, in the order of the request; empty if the batch failed
+ * @param failures the failed elements; empty if the batch was created
+ * @param <ID>     the ID type
+ */
+public record ForgeBatchResult<ID>(List<ID> ids, List<Failure> failures) {
+
+  /**
+   * An element of the batch that could not be created.
+   *
+   * @param index   the position of the element in the request
+   * @param message why the element was rejected
+   */
+  public record Failure(int index, String message) {
+  }
+
+  /**
+   * @param ids the IDs of the created entities, in the order of the request
+   * @param <ID> the ID type
+   * @return the result of a created batch
+   */
+  public static <ID> ForgeBatchResult<ID> created(List<ID> ids) {
+    return new ForgeBatchResult<>(ids, List.of());
+  }
+
+  /**
+   * @param failures the failed elements
+   * @param <ID>     the ID type
+   * @return the result of a batch that was rolled back
+   */
+  public static <ID> ForgeBatchResult<ID> failed(List<Failure> failures) {
+    return new ForgeBatchResult<>(List.of(), failures);
+  }
+}
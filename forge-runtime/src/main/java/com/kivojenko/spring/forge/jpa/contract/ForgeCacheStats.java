@@ -0,0 +1,11 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+/**
+ * Statistics of a {@link ForgeEntityCache}, counted since the cache was created.
+ *
+ * @param hits      lookups served from the cache
+ * @param misses    lookups that loaded the entity
+ * @param evictions entities evicted for size or expiry, not counting invalidations
+ */
+public record ForgeCacheStats(long hits, long misses, long evictions) {
+}
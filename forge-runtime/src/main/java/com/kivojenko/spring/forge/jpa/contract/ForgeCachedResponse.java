@@ -0,0 +1,56 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+
+/**
+ * A serialized {@code GET /{id}} response kept by the response cache of a {@link ForgeService}: the JSON body and its
+ * strong entity tag. The body is held in a heap or a direct buffer and never modified.
+ *
+ * @param body the JSON body, from position zero to its limit
+ * @param etag the quoted entity tag
+ */
+public record ForgeCachedResponse(ByteBuffer body, String etag) {
+
+  /**
+   * Returns a copy of this response with the body in direct memory, outside the garbage-collected heap.
+   *
+   * @return the off-heap copy
+   */
+  public ForgeCachedResponse offHeap() {
+    if (body.isDirect()) {
+      return this;
+    }
+    return new ForgeCachedResponse(ByteBuffer.allocateDirect(size()).put(body.duplicate()).flip(), etag);
+  }
+
+  /**
+   * Returns the size of the body in bytes.
+   *
+   * @return the body size
+   */
+  public int size() {
+    return body.limit();
+  }
+
+  /**
+   * Writes the body to the given stream. Heap bodies are written in one call, direct bodies through a channel that
+   * copies them in chunks. Safe to call concurrently.
+   *
+   * @param out the stream
+   * @throws IOException if the body cannot be written
+   */
+  public void writeTo(OutputStream out) throws IOException {
+    if (body.hasArray()) {
+      out.write(body.array(), body.arrayOffset(), body.limit());
+      return;
+    }
+    var source = body.duplicate();
+    var channel = Channels.newChannel(out);
+    while (source.hasRemaining()) {
+      channel.write(source);
+    }
+  }
+}
@@ -0,0 +1,10 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+/**
+ * The number of entities, as reported by a {@link ForgeCountStrategy}.
+ *
+ * @param value the count
+ * @param exact whether the count was just computed exactly, rather than estimated or served from a cache
+ */
+public record ForgeCount(long value, boolean exact) {
+}
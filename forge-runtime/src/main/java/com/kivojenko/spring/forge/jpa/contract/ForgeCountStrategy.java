@@ -0,0 +1,96 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Determines how {@link ForgeService#countTotal()} counts entities.
+ * Generated services pick one through {@code @WithService(count = ...)}; custom services may override
+ * {@link ForgeService#countStrategy()} with their own implementation.
+ */
+public interface ForgeCountStrategy {
+  /**
+   * Counts the entities of the given service.
+   *
+   * @param service the service
+   * @return the count
+   */
+  ForgeCount count(ForgeService<?, ?, ?> service);
+
+  /**
+   * Discards any count remembered by this strategy. Called after entities are created or deleted through the service.
+   */
+  default void invalidate() {
+  }
+
+  /**
+   * Runs an exact {@code count(*)} on every call.
+   *
+   * @return the strategy
+   */
+  static ForgeCountStrategy exact() {
+    return service -> new ForgeCount(service.count(), true);
+  }
+
+  /**
+   * Runs an exact count and serves it from memory until the time to live elapses or the service invalidates it.
+   * Counts served from memory are reported as inexact.
+   *
+   * @param ttl how long a count is served from memory
+   * @return the strategy
+   */
+  static ForgeCountStrategy cached(Duration ttl) {
+    return new Cached(ttl.toNanos());
+  }
+
+  /**
+   * Reads the row estimate kept by the database statistics, see {@link ForgeService#approximateCount()}, falling back
+   * to an exact count where no estimate is available.
+   *
+   * @return the strategy
+   */
+  static ForgeCountStrategy approximate() {
+    return service -> {
+      var estimate = service.approximateCount();
+      return estimate.isPresent() ? new ForgeCount(estimate.getAsLong(), false) : new ForgeCount(service.count(), true);
+    };
+  }
+
+  /**
+   * Count cache shared by all threads; a count is computed at most once per expiry, by whichever thread observes it.
+   */
+  final class Cached implements ForgeCountStrategy {
+    private record Snapshot(long value, long expiresAt, long generation) {
+    }
+
+    private final long ttlNanos;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+
+    private Cached(long ttlNanos) {
+      this.ttlNanos = ttlNanos;
+    }
+
+    @Override
+    public ForgeCount count(ForgeService<?, ?, ?> service) {
+      var current = snapshot.get();
+      var expected = generation.get();
+      if (current != null && current.generation() == expected && System.nanoTime() - current.expiresAt() < 0) {
+        return new ForgeCount(current.value(), false);
+      }
+      var value = service.count();
+      // A count started before an invalidation may miss the change that caused it, so it is not remembered
+      if (generation.get() == expected) {
+        snapshot.compareAndSet(current, new Snapshot(value, System.nanoTime() + ttlNanos, expected));
+      }
+      return new ForgeCount(value, true);
+    }
+
+    @Override
+    public void invalidate() {
+      generation.incrementAndGet();
+      snapshot.set(null);
+    }
+  }
+}
@@ -0,0 +1,79 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import java.time.Duration;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-through cache of entities, or of values derived from them, by entity ID. Entities are cached for
+ * {@link ForgeService#getById(Object)} and {@link ForgeService#exists(Object)}, serialized responses for the generated
+ * {@code GET /{id}} endpoint. Generated services pick the Caffeine implementations through
+ * {@code @WithService(readCache = true)} and {@code @WithRestController(responseCache = true)}; custom services may
+ * override {@link ForgeService#entityCache()} and {@link ForgeService#responseCache()} with their own implementations.
+ *
+ * @param <ID> the ID type
+ * @param <E>  the cached value type
+ */
+public interface ForgeEntityCache<ID, E> {
+  /**
+   * Returns the cached entity with the given ID, loading and caching it on a miss. Implementations must load a key at
+   * most once at a time, and an {@link #invalidate(Object)} of a key being loaded must discard the loaded entity.
+   *
+   * @param id     the ID
+   * @param loader loads the entity, returning {@code null} if it does not exist; {@code null} is never cached
+   * @return the entity, or {@code null} if it does not exist
+   */
+  E get(ID id, Function<? super ID, ? extends E> loader);
+
+  /**
+   * Returns the cached entity with the given ID, without loading it.
+   *
+   * @param id the ID
+   * @return the entity, or {@code null} if it is not cached
+   */
+  E getIfPresent(ID id);
+
+  /**
+   * Discards the cached entity with the given ID.
+   *
+   * @param id the ID
+   */
+  void invalidate(ID id);
+
+  /**
+   * Discards all cached entities.
+   */
+  void invalidateAll();
+
+  /**
+   * Returns the hit, miss and eviction counts of this cache.
+   *
+   * @return the statistics
+   */
+  ForgeCacheStats stats();
+
+  /**
+   * Caches up to {@code maxSize} entities in a Caffeine cache, each until the time to live elapses after it was
+   * loaded. Requires {@code com.github.ben-manes.caffeine:caffeine} at runtime.
+   *
+   * @param maxSize the maximum number of cached entities
+   * @param ttl     how long an entity is served from the cache
+   * @return the cache
+   */
+  static <ID, E> ForgeEntityCache<ID, E> caffeine(long maxSize, Duration ttl) {
+    return CaffeineEntityCache.bySize(maxSize, ttl);
+  }
+
+  /**
+   * Caches serialized responses in a Caffeine cache bounded by their total size in bytes, each until the time to live
+   * elapses after it was cached. Requires {@code com.github.ben-manes.caffeine:caffeine} at runtime.
+   *
+   * @param maxBytes the maximum total size of the cached response bodies
+   * @param ttl      how long a response is served from the cache
+   * @param offHeap  whether response bodies are copied to direct memory, outside the garbage-collected heap
+   * @return the cache
+   */
+  static <ID> ForgeEntityCache<ID, ForgeCachedResponse> responses(long maxBytes, Duration ttl, boolean offHeap) {
+    return CaffeineEntityCache.byWeight(maxBytes, ttl, ForgeCachedResponse::size, offHeap ? ForgeCachedResponse::offHeap : UnaryOperator.identity());
+  }
+}
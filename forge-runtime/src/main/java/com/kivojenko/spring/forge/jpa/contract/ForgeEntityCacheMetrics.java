@@ -0,0 +1,66 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Publishes the statistics of every service's {@link ForgeEntityCache} instances to Micrometer, tagged with the entity
+ * name: {@code forge.entity.cache.gets} with {@code result=hit|miss} and {@code forge.entity.cache.evictions} for the
+ * entity cache, {@code forge.response.cache.gets} and {@code forge.response.cache.evictions} for the response cache,
+ * {@code forge.key.cache.gets} and {@code forge.key.cache.evictions} for the {@link ForgeKeyCache}.
+ * Register it as a bean to expose the metrics, e.g. through the Actuator {@code metrics} endpoint.
+ */
+public class ForgeEntityCacheMetrics implements MeterBinder {
+  private final List<? extends ForgeService<?, ?, ?>> services;
+
+  /**
+   * Creates the binder for the given services; services without caches are skipped.
+   *
+   * @param services the services
+   */
+  public ForgeEntityCacheMetrics(List<? extends ForgeService<?, ?, ?>> services) {
+    this.services = services;
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    for (var service : services) {
+      if (service.entityCacheStats() != null) {
+        bind(registry, "forge.entity.cache", service, ForgeService::entityCacheStats);
+      }
+      if (service.responseCacheStats() != null) {
+        bind(registry, "forge.response.cache", service, ForgeService::responseCacheStats);
+      }
+      if (service.keyCacheStats() != null) {
+        bind(registry, "forge.key.cache", service, ForgeService::keyCacheStats);
+      }
+    }
+  }
+
+  private static void bind(
+      MeterRegistry registry,
+      String prefix,
+      ForgeService<?, ?, ?> service,
+      Function<ForgeService<?, ?, ?>, ForgeCacheStats> stats
+  ) {
+    var entity = service.getEntityClass().getSimpleName();
+    counter(prefix + ".gets", service, entity, stats, ForgeCacheStats::hits).tag("result", "hit").register(registry);
+    counter(prefix + ".gets", service, entity, stats, ForgeCacheStats::misses).tag("result", "miss").register(registry);
+    counter(prefix + ".evictions", service, entity, stats, ForgeCacheStats::evictions).register(registry);
+  }
+
+  private static FunctionCounter.Builder<ForgeService<?, ?, ?>> counter(
+      String name,
+      ForgeService<?, ?, ?> service,
+      String entity,
+      Function<ForgeService<?, ?, ?>, ForgeCacheStats> stats,
+      ToLongFunction<ForgeCacheStats> count
+  ) {
+    return FunctionCounter.builder(name, service, s -> count.applyAsLong(stats.apply(s))).tag("entity", entity);
+  }
+}
@@ -0,0 +1,104 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Tags the responses of generated read endpoints whose entity tag is a hash of the body, such as unversioned entities
+ * and association reads, from the bytes that are written, so that the body is serialized only once. Works like
+ * Spring's {@link org.springframework.web.filter.ShallowEtagHeaderFilter}, but only caches the responses the controller
+ * marks; other responses pass through unbuffered, including streamed ones. Register it as a bean to enable it; without
+ * it, those endpoints serialize the body a second time to hash it.
+ */
+public class ForgeEtagFilter extends OncePerRequestFilter {
+  private static final String RESPONSE_ATTRIBUTE = ForgeEtagFilter.class.getName() + ".RESPONSE";
+
+  /**
+   * Asks the filter to tag the body of the current response with a hash of its bytes and to answer a matching
+   * {@code If-None-Match} with status 304.
+   *
+   * @return true if the filter takes over tagging the current response, false if it is not registered
+   */
+  static boolean hashCurrentResponse() {
+    if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) return false;
+    if (!(attributes.getRequest().getAttribute(RESPONSE_ATTRIBUTE) instanceof HashingResponse response)) return false;
+    response.caching = true;
+    return true;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+      throws ServletException, IOException {
+    var hashing = new HashingResponse(response);
+    request.setAttribute(RESPONSE_ATTRIBUTE, hashing);
+    try {
+      chain.doFilter(request, hashing);
+    } finally {
+      request.removeAttribute(RESPONSE_ATTRIBUTE);
+    }
+    if (!hashing.caching) return;
+
+    if (hashing.getStatus() == HttpStatus.OK.value()) {
+      var etag = ForgeBaseController.md5Etag(hashing.getContentAsByteArray());
+      response.setHeader(HttpHeaders.ETAG, etag);
+      var ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+      if (ifNoneMatch != null && ForgeBaseController.etagMatches(ifNoneMatch, etag)) {
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        return;
+      }
+    }
+    hashing.copyBodyToResponse();
+  }
+
+  /**
+   * Writes through to the response until {@link #hashCurrentResponse()} switches it to caching, which has to happen
+   * before the body is written.
+   */
+  private static final class HashingResponse extends ContentCachingResponseWrapper {
+    private boolean caching;
+
+    HashingResponse(HttpServletResponse response) {
+      super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      return caching ? super.getOutputStream() : getResponse().getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+      return caching ? super.getWriter() : getResponse().getWriter();
+    }
+
+    @Override
+    public void setContentLength(int len) {
+      if (caching) super.setContentLength(len);
+      else getResponse().setContentLength(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+      if (caching) super.setContentLengthLong(len);
+      else getResponse().setContentLengthLong(len);
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+      if (caching) super.flushBuffer();
+      else getResponse().flushBuffer();
+    }
+  }
+}
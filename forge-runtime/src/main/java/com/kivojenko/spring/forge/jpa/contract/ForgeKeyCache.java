@@ -0,0 +1,64 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read-through cache from lookup keys, such as names or SKUs, to the IDs of the entities that have them, including
+ * keys that no entity has. Used by the generated {@code getOrCreate} and {@code findBy<Field>} lookups of entities
+ * with {@code @GetOrCreate(lookupCache = true)}; custom services may override {@link ForgeService#keyCache()}.
+ *
+ * @param <ID> the ID type
+ */
+public interface ForgeKeyCache<ID> {
+  /**
+   * Returns the cached ID for the given key, loading and caching it on a miss. Implementations must load a key at
+   * most once at a time, and an {@link #invalidate(Object)} of a key being loaded must discard the loaded ID.
+   *
+   * @param key    the normalized key
+   * @param loader loads the ID of the entity with the key, empty if there is none
+   * @return the ID, or empty if no entity has the key
+   */
+  Optional<ID> get(Object key, Function<Object, Optional<ID>> loader);
+
+  /**
+   * Discards the cached ID or miss of the given key.
+   *
+   * @param key the normalized key
+   */
+  void invalidate(Object key);
+
+  /**
+   * Discards every key mapped to the given ID. Cached misses are kept: the service discards the new key of a changed
+   * entity through {@link #invalidate(Object)}.
+   *
+   * @param id the ID of the changed entity
+   */
+  void invalidateId(ID id);
+
+  /**
+   * Discards all cached keys.
+   */
+  void invalidateAll();
+
+  /**
+   * Returns the hit, miss and eviction counts of this cache.
+   *
+   * @return the statistics
+   */
+  ForgeCacheStats stats();
+
+  /**
+   * Caches up to {@code maxSize} keys in a Caffeine cache, each until its time to live elapses after it was loaded.
+   * Requires {@code com.github.ben-manes.caffeine:caffeine} at runtime.
+   *
+   * @param maxSize     the maximum number of cached keys
+   * @param ttl         how long a key is mapped to the ID of its entity
+   * @param negativeTtl how long a key without an entity is remembered
+   * @return the cache
+   */
+  static <ID> ForgeKeyCache<ID> caffeine(long maxSize, Duration ttl, Duration negativeTtl) {
+    return new CaffeineKeyCache<>(maxSize, ttl, negativeTtl);
+  }
+}
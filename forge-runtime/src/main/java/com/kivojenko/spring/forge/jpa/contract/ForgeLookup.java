@@ -0,0 +1,26 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Entities looked up by their IDs.
+ *
+ * @param content the found entities, in the order their IDs were requested
+ * @param missing the requested IDs for which no entity exists, in request order
+ * @param <E>     the entity type
+ * @param <ID>    the ID type
+ */
+public record ForgeLookup<E, ID>(List<E> content, List<ID> missing) {
+
+  /**
+   * Maps the found entities, keeping the missing IDs.
+   *
+   * @param mapper the mapping applied to each entity
+   * @param <T>    the mapped type
+   * @return the mapped lookup
+   */
+  public <T> ForgeLookup<T, ID> map(Function<? super E, ? extends T> mapper) {
+    return new ForgeLookup<>(content.stream().<T>map(mapper).toList(), missing);
+  }
+}
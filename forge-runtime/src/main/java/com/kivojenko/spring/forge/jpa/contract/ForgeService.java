@@ -1,21 +1,82 @@
 package com.kivojenko.spring.forge.jpa.contract;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.kivojenko.spring.forge.jpa.contract.persistence.ForgePersistenceAspect;
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.EntityPath;
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Path;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.NumberPath;
+import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.core.types.dsl.SimpleExpression;
+import com.querydsl.core.types.dsl.Wildcard;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPADeleteClause;
+import com.querydsl.jpa.impl.JPAQuery;
+import com.querydsl.jpa.impl.JPAUpdateClause;
+import jakarta.persistence.Embeddable;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.metamodel.Attribute;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.jpa.repository.support.Querydsl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import org.springframework.util.ReflectionUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Abstract base class for generated services.
@@ -26,9 +87,27 @@ import java.util.Map;
  * @param <R>  the repository type
  */
 public abstract class ForgeService<E, ID, R extends JpaRepository<E, ID>> {
+  // Never produced by Base64, which encodes at least two characters per key
+  private static final String NULL_SCROLL_KEY = "-";
+
+  private static final ForgeCountStrategy EXACT_COUNT = ForgeCountStrategy.exact();
+
+  /**
+   * Hibernate query hint caching a query's results in the query cache.
+   */
+  public static final String CACHEABLE_HINT = "org.hibernate.cacheable";
+
   @Autowired
   protected R repository;
 
+  @Autowired(required = false)
+  private DataSource dataSource;
+
+  @Autowired(required = false)
+  private List<ForgePersistenceAspect<?>> persistenceAspects;
+
+  private volatile Boolean postgreSql;
+
   // Optional: use the application's configured ObjectMapper when present, otherwise a
   // self-constructed default. PATCH map->entity conversion needs no app-specific config.
   @Autowired(required = false)
@@ -74,12 +153,253 @@ public abstract class ForgeService<E, ID, R extends JpaRepository<E, ID>> {
   /**
    * Retrieves an entity by its ID.
    *
+   * <p>With an {@link #entityCache()}, calls in a read-only transaction are served from the cache; generated services
+   * of cached entities override this method to start one. The cached instance is detached and shared, so callers must
+   * not modify it. Calls outside a read-only transaction, such as those of generated relation methods, bypass the cache
+   * and get the managed entity they are about to modify.
+   *
    * @param id the ID of the entity to retrieve
    * @return the found entity
    * @throws EntityNotFoundException if no entity with the given ID exists
    */
   public E getById(ID id) {
-    return repository.findById(id).orElseThrow(EntityNotFoundException::new);
+    var cache = entityCache();
+    if (cache == null || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      return repository.findById(id).orElseThrow(EntityNotFoundException::new);
+    }
+    var entity = cache.get(id, this::loadForCache);
+    if (entity == null) {
+      throw new EntityNotFoundException();
+    }
+    return entity;
+  }
+
+  /**
+   * Loads an entity for the {@link #entityCache()} and detaches it, so that it can be shared after the loading
+   * persistence context is gone. Generated caches are limited to entities without associations and element
+   * collections, whose state is fully loaded by the query; a custom cache of other entities has to initialize what its
+   * readers need here, and serves related entities as they were when loaded.
+   *
+   * @param id the ID of the entity
+   * @return the detached entity, or {@code null} if it does not exist
+   */
+  protected E loadForCache(ID id) {
+    var entity = repository.findById(id).orElse(null);
+    if (entity != null) {
+      entityManager.detach(entity);
+    }
+    return entity;
+  }
+
+  /**
+   * Returns the read-through cache of entities by ID. Generated services override this with a Caffeine cache for
+   * entities with {@code @WithService(readCache = true)}.
+   *
+   * @return the cache, or {@code null} if entities are not cached
+   */
+  protected ForgeEntityCache<ID, E> entityCache() {
+    return null;
+  }
+
+  /**
+   * Returns the statistics of the {@link #entityCache()}.
+   *
+   * @return the statistics, or {@code null} if entities are not cached
+   */
+  public ForgeCacheStats entityCacheStats() {
+    var cache = entityCache();
+    return cache == null ? null : cache.stats();
+  }
+
+  /**
+   * Returns the cache of serialized {@code GET /{id}} responses, filled and served by the generated controller.
+   * Generated services override this for entities with {@code @WithRestController(responseCache = true)}.
+   *
+   * @return the cache, or {@code null} if responses are not cached
+   */
+  protected ForgeEntityCache<ID, ForgeCachedResponse> responseCache() {
+    return null;
+  }
+
+  /**
+   * Returns the statistics of the {@link #responseCache()}.
+   *
+   * @return the statistics, or {@code null} if responses are not cached
+   */
+  public ForgeCacheStats responseCacheStats() {
+    var cache = responseCache();
+    return cache == null ? null : cache.stats();
+  }
+
+  /**
+   * Returns the cache from lookup keys to entity IDs. Generated services override this with a Caffeine cache for
+   * entities with {@code @GetOrCreate(lookupCache = true)}.
+   *
+   * @return the cache, or {@code null} if lookup keys are not cached
+   */
+  protected ForgeKeyCache<ID> keyCache() {
+    return null;
+  }
+
+  /**
+   * Returns the statistics of the {@link #keyCache()}.
+   *
+   * @return the statistics, or {@code null} if lookup keys are not cached
+   */
+  public ForgeCacheStats keyCacheStats() {
+    var cache = keyCache();
+    return cache == null ? null : cache.stats();
+  }
+
+  /**
+   * Returns the normalized lookup key of the given entity, see {@link #normalizedKey(Object, boolean)}. Overridden by
+   * generated services with a {@link #keyCache()}.
+   *
+   * @param entity the entity
+   * @return the key, or {@code null} if the entity has none
+   */
+  protected Object lookupKey(E entity) {
+    return null;
+  }
+
+  /**
+   * Finds the entity with the given lookup key through the {@link #keyCache()}. On a cache miss the entity is found
+   * by {@code find}; on a hit it is loaded by the cached ID instead, which the persistence context or the second-level
+   * cache serves without a query, since generated key caches are limited to {@code @ForgeCacheable} entities. A cached ID whose entity is gone or no longer has the key, because it was
+   * changed other than through the service, is discarded and the entity found by {@code find}. Without a cache this
+   * just calls {@code find}.
+   *
+   * @param key        the key
+   * @param ignoreCase whether {@code find} matches {@code String} keys case-insensitively
+   * @param find       finds the entity with the key
+   * @param <K>        the key type
+   * @return the entity, or empty if no entity has the key
+   */
+  @SuppressWarnings("unchecked")
+  protected <K> Optional<E> findByKey(K key, boolean ignoreCase, Function<? super K, Optional<E>> find) {
+    var cache = keyCache();
+    if (cache == null || key == null) {
+      return find.apply(key);
+    }
+
+    var normalized = normalizedKey(key, ignoreCase);
+    var loaded = new ArrayList<E>(1);
+    var id = cache.get(normalized, ignored -> find.apply(key).map(entity -> {
+      loaded.add(entity);
+      return (ID) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+    }));
+    if (!loaded.isEmpty() || id.isEmpty()) {
+      return loaded.stream().findFirst();
+    }
+
+    var entity = repository.findById(id.get()).filter(found -> normalized.equals(lookupKey(found)));
+    if (entity.isPresent()) {
+      return entity;
+    }
+    cache.invalidate(normalized);
+    return find.apply(key);
+  }
+
+  /**
+   * Normalizes a lookup key: case-insensitive {@code String} keys are upper-cased, like the {@code upper(...)} of
+   * case-insensitive queries.
+   *
+   * @param key        the key
+   * @param ignoreCase whether the key is matched case-insensitively
+   * @return the normalized key
+   */
+  protected static Object normalizedKey(Object key, boolean ignoreCase) {
+    return ignoreCase && key instanceof String string ? string.toUpperCase(Locale.ROOT) : key;
+  }
+
+  /**
+   * Discards the cached entity and response with the given ID and the lookup keys mapped to it, once now and again
+   * when the current transaction completes, so that nothing loaded in between outlives the change.
+   *
+   * @param id the ID of the changed entity
+   */
+  protected void invalidateEntity(ID id) {
+    for (var cache : caches()) {
+      cache.invalidate(id);
+      afterCompletion(() -> cache.invalidate(id));
+    }
+    var keyCache = keyCache();
+    if (keyCache != null) {
+      keyCache.invalidateId(id);
+      afterCompletion(() -> keyCache.invalidateId(id));
+    }
+  }
+
+  /**
+   * Discards the cached lookup key of the given created or changed entity, which may be cached as missing, now and
+   * when the current transaction completes.
+   *
+   * @param entity the created or changed entity
+   */
+  protected void invalidateKey(E entity) {
+    var keyCache = keyCache();
+    if (keyCache == null) return;
+
+    var key = lookupKey(entity);
+    if (key != null) {
+      keyCache.invalidate(key);
+      afterCompletion(() -> keyCache.invalidate(key));
+    }
+  }
+
+  /**
+   * Discards all cached entities, responses and lookup keys, now and when the current transaction completes. Used by
+   * statements that change entities without telling which.
+   */
+  protected void invalidateEntities() {
+    for (var cache : caches()) {
+      cache.invalidateAll();
+      afterCompletion(cache::invalidateAll);
+    }
+    var keyCache = keyCache();
+    if (keyCache != null) {
+      keyCache.invalidateAll();
+      afterCompletion(keyCache::invalidateAll);
+    }
+  }
+
+  private List<ForgeEntityCache<ID, ?>> caches() {
+    var caches = new ArrayList<ForgeEntityCache<ID, ?>>(2);
+    if (entityCache() != null) caches.add(entityCache());
+    if (responseCache() != null) caches.add(responseCache());
+    return caches;
+  }
+
+  /**
+   * Retrieves the entities with the given IDs, with one {@code IN} query per {@link #streamFetchSize()} IDs.
+   * Duplicate IDs are looked up once.
+   *
+   * @param ids the IDs of the entities to retrieve
+   * @return the found entities in the order of their IDs, and the IDs that were not found
+   */
+  @Transactional(readOnly = true)
+  @SuppressWarnings("unchecked")
+  public ForgeLookup<E, ID> getAllById(Collection<ID> ids) {
+    var requested = List.copyOf(new LinkedHashSet<>(ids));
+    var persistenceUnit = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+    var found = new HashMap<ID, E>();
+    var chunkSize = streamFetchSize();
+    for (int from = 0; from < requested.size(); from += chunkSize) {
+      var chunk = requested.subList(from, Math.min(from + chunkSize, requested.size()));
+      repository.findAllById(chunk).forEach(entity -> found.put((ID) persistenceUnit.getIdentifier(entity), entity));
+    }
+
+    var content = new ArrayList<E>(found.size());
+    var missing = new ArrayList<ID>();
+    for (var id : requested) {
+      var entity = found.get(id);
+      if (entity != null) {
+        content.add(entity);
+      } else {
+        missing.add(id);
+      }
+    }
+    return new ForgeLookup<>(content, missing);
   }
 
   /**
@@ -89,9 +409,29 @@ public abstract class ForgeService<E, ID, R extends JpaRepository<E, ID>> {
    * @return true if it exists, false otherwise
    */
   public boolean exists(ID id) {
+    var cache = entityCache();
+    if (cache != null && cache.getIfPresent(id) != null) {
+      return true;
+    }
     return repository.existsById(id);
   }
 
+  /**
+   * Returns which of the given IDs belong to existing entities, with a single {@code SELECT id ... WHERE id IN (...)}
+   * query that hydrates no entity. Callers are expected to bound the number of IDs.
+   *
+   * @param ids the IDs to check
+   * @return the existing IDs, without duplicates and in the order they were given
+   */
+  @Transactional(readOnly = true)
+  public List<ID> existingIds(Collection<ID> ids) {
+    var requested = new LinkedHashSet<>(ids);
+    if (requested.isEmpty()) return List.of();
+
+    var existing = new HashSet<>(new JPAQuery<ID>(entityManager).select(idPath()).from(entityPath()).where(idPath().in(requested)).fetch());
+    return requested.stream().filter(existing::contains).toList();
+  }
+
   /**
    * Creates a new entity.
    *
@@ -101,157 +441,1579 @@ public abstract class ForgeService<E, ID, R extends JpaRepository<E, ID>> {
   @Transactional
   public E create(E entity) {
     entity = fixParameters(entity);
+    invalidateCount();
+
+    if (!refreshAfterCreate()) {
+      return invalidated(repository.save(entity));
+    }
 
     // Ensure DB-generated values (e.g., defaults, triggers) are materialized
     entity = repository.saveAndFlush(entity);
     entityManager.refresh(entity);
-    return entity;
+    return invalidated(entity);
   }
 
   /**
-   * Updates an existing entity.
-   *
-   * @param id     the ID of the entity to update
-   * @param entity the entity with updated data
-   * @return the saved entity
-   * @throws EntityNotFoundException if the entity with the given ID does not exist
+   * Invalidates the cached entity and response with the ID of the given saved entity, which replaces a cached one
+   * when an existing ID was given for creation, and its lookup key, which may be cached as missing.
    */
-  @Transactional
-  public E update(ID id, E entity) {
-    if (!repository.existsById(id)) {
-      throw new EntityNotFoundException();
+  @SuppressWarnings("unchecked")
+  private E invalidated(E entity) {
+    if (entityCache() != null || responseCache() != null) {
+      invalidateEntity((ID) entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity));
     }
-    setId(entity, id);
-    entity = fixParameters(entity);
-
-    return repository.save(entity);
+    invalidateKey(entity);
+    return entity;
   }
 
   /**
-   * Applies a partial update to an existing (managed) entity. Fields present in the
-   * {@code fields} map are applied to the persisted entity by name; the {@code id} field
-   * (if present) is ignored, and fields absent from the map keep their current values.
+   * Whether {@link #create(Object)} flushes and refreshes the saved entity so that database-generated values
+   * are materialized. Generated services override this with the outcome of compile-time detection; defaults
+   * to {@code true}. Without the flush, an entity whose ID is not an identity column is inserted when the
+   * transaction commits, so that a constraint violation is only reported then, by the outermost transaction.
    *
-   * <p>Each incoming value is deserialized into the target field's <em>generic</em> type via
-   * Jackson, so scalars, enums, nested objects and typed collections (e.g. {@code Set<ProductImage>})
-   * become real instances rather than raw maps. Collection-typed fields are merged in place
-   * (clear + add) so that {@code orphanRemoval}/all-delete-orphan mappings keep working and the
-   * managed collection wrapper is preserved.
+   * @return true to flush and refresh after insert
+   */
+  protected boolean refreshAfterCreate() {
+    return true;
+  }
+
+  /**
+   * Inserts the given new entity unless that violates a unique constraint, then returns the stored entity found by
+   * {@code lookup}: the inserted one, or the one a concurrent transaction stored first. The row is inserted by
+   * {@link #insertIfAbsent(Object, String)}, so a lost race neither throws nor marks the transaction rollback-only.
+   * Used by generated {@code getOrCreate} methods with {@code @GetOrCreate(mode = UPSERT)}.
    *
-   * <p>Entity-specific wiring (bidirectional back-references, shared-value resolution) should be
-   * performed by overriding {@link #fixPatch(Object)}.
+   * @param entity    the entity to insert, which is not persisted itself
+   * @param attribute the unique attribute the insert may conflict on, or {@code null} for any unique constraint
+   * @param lookup    finds the stored entity by the unique key of {@code entity}
+   * @return the stored entity
+   * @throws DataIntegrityViolationException if the entity conflicts with a row that {@code lookup} does not find
+   */
+  protected E createIfAbsent(E entity, String attribute, Supplier<Optional<E>> lookup) {
+    if (insertIfAbsent(entity, attribute)) {
+      invalidateCount();
+      invalidateKey(entity);
+    }
+    return lookup.get().orElseThrow(() -> new DataIntegrityViolationException(
+        getEntityClass().getSimpleName() + " conflicts with an existing row that does not match its key"
+    ));
+  }
+
+  /**
+   * Returns the entities whose {@code attribute} has one of the given keys, creating the missing ones. Used by
+   * generated {@code getOrCreateAll} methods. Per {@link #streamFetchSize()} distinct keys, existing entities are found
+   * with one {@code IN} query, the missing ones are built by {@code create} and inserted with one statement, and read
+   * back with a second {@code IN} query. With {@code upsert} they are inserted like
+   * {@link #insertAllIfAbsent(List, String)}, conflicting on {@code attribute} unless it is a path, so that keys created
+   * concurrently resolve to the row stored first; otherwise they are saved and flushed, which fails the transaction
+   * when it loses a race.
    *
-   * @param id the ID of the entity to patch
-   * @param fields map of field names to desired values
-   * @return the updated entity
+   * @param keys       the keys; {@code null} keys are ignored
+   * @param attribute  the path of the key attribute, e.g. {@code name} or {@code country.code}
+   * @param ignoreCase whether {@code String} keys match case-insensitively, keys differing in case sharing an entity
+   * @param upsert     whether missing entities are inserted with {@code ON CONFLICT DO NOTHING}
+   * @param create     builds a new entity with the given key
+   * @param <K>        the key type
+   * @return the entity of every distinct key, in the order the keys were given
+   * @throws DataIntegrityViolationException if a created entity conflicts with a row that has none of the keys
    */
-  @Transactional
-  public E patch(ID id, Map<String, Object> fields) {
-    var entity = repository.findById(id).orElseThrow(EntityNotFoundException::new);
+  protected <K> Map<K, E> getOrCreateAllBy(
+      Collection<K> keys,
+      String attribute,
+      boolean ignoreCase,
+      boolean upsert,
+      Function<? super K, ? extends E> create
+  ) {
+    var requested = new LinkedHashSet<>(keys);
+    requested.remove(null);
+    var keysByNormalized = new LinkedHashMap<Object, K>();
+    for (var key : requested) {
+      keysByNormalized.putIfAbsent(normalizedKey(key, ignoreCase), key);
+    }
 
-    if (fields == null || fields.isEmpty()) {
-      return entity;
+    var distinct = List.copyOf(keysByNormalized.values());
+    var found = new HashMap<K, E>();
+    var chunkSize = streamFetchSize();
+    for (int from = 0; from < distinct.size(); from += chunkSize) {
+      var chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+      found.putAll(findAllByKey(chunk, attribute, ignoreCase));
+      var missing = chunk.stream().filter(key -> !found.containsKey(key)).toList();
+      if (missing.isEmpty()) continue;
+
+      var created = missing.stream().<E>map(create::apply).toList();
+      if (upsert) {
+        if (insertAllIfAbsent(created, attribute.contains(".") ? null : attribute) > 0) invalidateCount();
+      } else {
+        repository.saveAll(created);
+        repository.flush();
+        invalidateCount();
+      }
+      created.forEach(this::invalidateKey);
+      found.putAll(findAllByKey(missing, attribute, ignoreCase));
     }
 
-    Class<?> clazz = entity.getClass();
-    for (var entry : fields.entrySet()) {
-      String name = entry.getKey();
-      if (name == null || name.isBlank() || name.equalsIgnoreCase("id")) {
-        continue;
+    var entities = new LinkedHashMap<K, E>();
+    for (var key : requested) {
+      var entity = found.get(keysByNormalized.get(normalizedKey(key, ignoreCase)));
+      if (entity == null) {
+        throw new DataIntegrityViolationException(
+            getEntityClass().getSimpleName() + " with " + attribute + " " + key + " conflicts with an existing row"
+        );
       }
+      entities.put(key, entity);
+    }
+    return entities;
+  }
 
-      Field field = ReflectionUtils.findField(clazz, name);
-      if (field == null) {
-        continue; // unknown field - skip
-      }
-      field.setAccessible(true);
-
-      // Deserialize into the field's generic type so collection elements and nested
-      // objects become real entities (Set<ProductImage>), not raw LinkedHashMaps.
-      JavaType javaType = objectMapper().getTypeFactory().constructType(field.getGenericType());
-      Object value = objectMapper().convertValue(entry.getValue(), javaType);
-
-      Object current = ReflectionUtils.getField(field, entity);
-      if (current instanceof Collection<?> && value instanceof Collection<?>) {
-        // Mutate the managed collection in place (never replace the instance, which would
-        // break all-delete-orphan mappings and detach Hibernate's collection wrapper).
-        //
-        // This replaces children via orphan-removal delete + re-insert within one flush, where
-        // Hibernate orders INSERTs before DELETEs. If the entity has a unique constraint on
-        // (child, parent) and the replacement reuses an existing key, perform it as TWO PATCH
-        // calls: first set the collection to [] (delete-only), then PATCH the new elements
-        // (insert-only). That avoids the transient collision without an intra-call flush.
-        @SuppressWarnings("unchecked")
-        Collection<Object> target = (Collection<Object>) current;
-        target.clear();
-        target.addAll((Collection<?>) value);
-      } else {
-        if (value == null && field.getType().isPrimitive()) {
-          continue; // cannot assign null to a primitive field
-        }
-        ReflectionUtils.setField(field, entity, value);
+  /**
+   * Finds the entities whose {@code attribute} has one of the given keys, by key. With {@code ignoreCase} both sides
+   * are upper-cased by the database, which also tells which key each entity matched, since its case mapping can
+   * differ from Java's for characters such as {@code ß}.
+   */
+  @SuppressWarnings("unchecked")
+  private <K> Map<K, E> findAllByKey(List<K> keys, String attribute, boolean ignoreCase) {
+    var entityName = entityManager.getMetamodel().entity(getEntityClass()).getName();
+    var found = new HashMap<K, E>(keys.size());
+    if (!ignoreCase) {
+      var rows = entityManager
+          .createQuery("select e." + attribute + ", e from " + entityName + " e where e." + attribute + " in :keys", Object[].class)
+          .setParameter("keys", keys)
+          .getResultList();
+      for (var row : rows) {
+        found.put((K) row[0], (E) row[1]);
       }
+      return found;
     }
 
-    var fixed = fixPatch(entity);
-    return repository.save(fixed);
+    var key = "upper(e." + attribute + ")";
+    var match = new StringBuilder("case");
+    var values = new StringJoiner(", ", "(", ")");
+    for (int i = 1; i <= keys.size(); i++) {
+      match.append(" when ").append(key).append(" = upper(?").append(i).append(") then ").append(i - 1);
+      values.add("upper(?" + i + ")");
+    }
+    var query = entityManager.createQuery(
+        "select " + match.append(" end") + ", e from " + entityName + " e where " + key + " in " + values,
+        Object[].class
+    );
+    for (int i = 0; i < keys.size(); i++) {
+      query.setParameter(i + 1, keys.get(i));
+    }
+    for (var row : query.getResultList()) {
+      found.put(keys.get(((Number) row[0]).intValue()), (E) row[1]);
+    }
+    return found;
   }
 
   /**
-   * Sets the ID on the given entity.
-   * Must be implemented by generated services to handle different ID types and field names.
+   * Inserts the given new entity with one {@code INSERT ... ON CONFLICT DO NOTHING} statement, which Hibernate
+   * renders natively on PostgreSQL and emulates on databases without it. With an {@code attribute}, only a conflict
+   * on it is ignored, which on PostgreSQL requires a unique constraint or index on exactly its column; other
+   * violations fail the statement. Only non-null singular attributes are inserted, so columns left {@code null} take
+   * their database defaults; the version is seeded by Hibernate. The entity itself is not persisted and stays without
+   * an ID, and no lifecycle callbacks, listeners or Bean Validation run for it.
    *
-   * @param entity the entity to set the ID on
-   * @param id     the ID value
+   * @param entity    the entity to insert
+   * @param attribute the unique attribute to conflict on, or {@code null} for any unique constraint
+   * @return whether a row was inserted, {@code false} if it conflicted with an existing one
    */
-  protected abstract void setId(E entity, ID id);
+  protected boolean insertIfAbsent(E entity, String attribute) {
+    return insertAllIfAbsent(List.of(entity), attribute) > 0;
+  }
 
   /**
-   * Returns the class of the entity handled by this service.
+   * Inserts the given new entities like {@link #insertIfAbsent(Object, String)}, with one multi-row statement per set
+   * of non-null attributes; entities built the same way share a statement.
    *
-   * @return the entity class
+   * @param entities  the entities to insert
+   * @param attribute the unique attribute to conflict on, or {@code null} for any unique constraint
+   * @return the number of inserted rows, excluding the conflicting ones
    */
-  public abstract Class<E> getEntityClass();
+  protected int insertAllIfAbsent(List<E> entities, String attribute) {
+    var type = entityManager.getMetamodel().entity(getEntityClass());
+    var attributes = type.getSingularAttributes().stream().filter(attribute -> !attribute.isVersion()).toList();
+    var rowsByNames = new LinkedHashMap<List<String>, List<List<Object>>>();
+    for (var entity : entities) {
+      var names = new ArrayList<String>();
+      var row = new ArrayList<>();
+      for (var attribute : attributes) {
+        var value = attributeValue(entity, attribute);
+        if (value == null) continue;
+
+        names.add(attribute.getName());
+        row.add(value);
+      }
+      rowsByNames.computeIfAbsent(names, key -> new ArrayList<>()).add(row);
+    }
+
+    var conflict = attribute == null ? " on conflict do nothing" : " on conflict (" + attribute + ") do nothing";
+    var inserted = 0;
+    for (var group : rowsByNames.entrySet()) {
+      var parameters = new ArrayList<>();
+      var rows = new StringJoiner(", ");
+      for (var row : group.getValue()) {
+        var values = new StringJoiner(", ", "(", ")");
+        for (var value : row) {
+          parameters.add(value);
+          values.add("?" + parameters.size());
+        }
+        rows.add(values.toString());
+      }
+      var insert = entityManager.createQuery(
+          "insert into " + type.getName() + " (" + String.join(", ", group.getKey()) + ") values " + rows + conflict
+      );
+      for (int i = 0; i < parameters.size(); i++) {
+        insert.setParameter(i + 1, parameters.get(i));
+      }
+      inserted += insert.executeUpdate();
+    }
+    return inserted;
+  }
 
+  private static Object attributeValue(Object entity, Attribute<?, ?> attribute) {
+    return switch (attribute.getJavaMember()) {
+      case Field field -> {
+        ReflectionUtils.makeAccessible(field);
+        yield ReflectionUtils.getField(field, entity);
+      }
+      case Method getter -> {
+        ReflectionUtils.makeAccessible(getter);
+        yield ReflectionUtils.invokeMethod(getter, entity);
+      }
+      case null, default -> null;
+    };
+  }
 
   /**
-   * Counts the total number of entities.
+   * Creates all given entities in one transaction. They are saved in chunks of {@link #batchFlushSize()}, flushing
+   * after each chunk and detaching its saved entities so that Hibernate can send every chunk as one JDBC batch and
+   * memory stays bounded. Other entities of the persistence context, such as those of an enclosing transaction, stay
+   * managed. Unlike {@link #create(Object)}, saved entities are not refreshed.
    *
-   * @return the total count
+   * @param entities the entities to create
+   * @return the IDs of the created entities, in the given order
+   * @throws ForgeBatchException if the database rejects a chunk; nothing is created
    */
-  public long count() {
-    return repository.count();
+  @Transactional
+  @SuppressWarnings("unchecked")
+  public List<ID> createAll(List<E> entities) {
+    var ids = new ArrayList<ID>(entities.size());
+    var persistenceUnit = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+    var chunkSize = batchFlushSize();
+    for (int from = 0; from < entities.size(); from += chunkSize) {
+      var to = Math.min(from + chunkSize, entities.size());
+      try {
+        var saved = repository.saveAll(entities.subList(from, to).stream().map(this::fixParameters).toList());
+        repository.flush();
+        saved.forEach(entity -> ids.add((ID) persistenceUnit.getIdentifier(entity)));
+        saved.forEach(this::invalidated);
+        saved.forEach(entityManager::detach);
+      } catch (DataAccessException e) {
+        throw new ForgeBatchException(from, to, e);
+      }
+    }
+    invalidateCount();
+    return ids;
   }
 
   /**
-   * Finds a page of entities.
+   * Number of entities {@link #createAll(List)} saves between flushes: the configured
+   * {@code hibernate.jdbc.batch_size}, or {@link #streamFetchSize()} if JDBC batching is not configured.
    *
-   * @param pageable pagination information
-   * @return a page of entities
+   * @return the chunk size
    */
-  public Page<E> findAll(Pageable pageable) {
-    return repository.findAll(pageable);
+  protected int batchFlushSize() {
+    var batchSize = entityManager.getEntityManagerFactory().getProperties().get("hibernate.jdbc.batch_size");
+    if (batchSize != null) {
+      try {
+        var size = Integer.parseInt(batchSize.toString().trim());
+        if (size > 0) return size;
+      } catch (NumberFormatException ignored) {
+        // fall through to the default
+      }
+    }
+    return streamFetchSize();
   }
 
   /**
-   * Finds all entities.
+   * Updates an existing entity.
    *
-   * @return a list of all entities
+   * @param id     the ID of the entity to update
+   * @param entity the entity with updated data
+   * @return the saved entity
+   * @throws EntityNotFoundException if the entity with the given ID does not exist
    */
-  public List<E> findAll() {
-    return repository.findAll();
+  @Transactional
+  public E update(ID id, E entity) {
+    if (!repository.existsById(id)) {
+      throw new EntityNotFoundException();
+    }
+    setId(entity, id);
+    entity = fixParameters(entity);
+    invalidateEntity(id);
+
+    entity = repository.save(entity);
+    invalidateKey(entity);
+    return entity;
   }
 
   /**
-   * Deletes an entity by its ID.
+   * Detaches the instance of the entity with the given ID that the persistence context holds, if any, after a
+   * statement deleted its row, so that later reads in the transaction do not return it and flushes do not update it.
+   * Runs no query: without a managed instance, the reference obtained to detach is an uninitialized proxy.
    *
-   * @param id the ID of the entity to delete
-   * @throws EntityNotFoundException if the entity with the given ID does not exist
+   * @param id the ID of the deleted entity
    */
-  @Transactional
-  public void deleteById(ID id) {
-    var entity = repository.findById(id).orElseThrow(EntityNotFoundException::new);
+  protected void detach(ID id) {
+    entityManager.detach(entityManager.getReference(getEntityClass(), id));
+  }
 
-    repository.delete(entity);
+  /**
+   * Detaches every instance of the entity type that the persistence context holds, after a statement updated or
+   * deleted rows that may be among them. Entities of other types stay managed, with their pending changes.
+   */
+  protected void detachAll() {
+    var context = entityManager.unwrap(SharedSessionContractImplementor.class).getPersistenceContextInternal();
+    var entities = new ArrayList<>();
+    for (var entry : context.reentrantSafeEntityEntries()) {
+      if (getEntityClass().isInstance(entry.getKey())) {
+        entities.add(entry.getKey());
+      }
+    }
+    entities.forEach(entityManager::detach);
+  }
+
+  /**
+   * Returns a reference to the stored entity with the given ID, for a to-one field written by a statement.
+   *
+   * @param type  the referenced entity type
+   * @param id    the ID of the referenced entity
+   * @param field the name of the to-one field, for the error message
+   * @param <T>   the referenced entity type
+   * @return the reference
+   * @throws IllegalArgumentException if the ID is {@code null}, since a statement cannot persist the referenced entity
+   */
+  protected <T> T reference(Class<T> type, Object id, String field) {
+    if (id == null) {
+      throw new IllegalArgumentException(field + " must reference a stored " + type.getSimpleName() + " by its ID");
+    }
+    return entityManager.getReference(type, id);
+  }
+
+  /**
+   * Reads the entity with the given ID after a statement updated its row, so that callers get the stored state,
+   * including columns the statement did not set. An instance the persistence context held from before the statement
+   * is refreshed when its version is not the expected new one, or always when that version is unknown.
+   *
+   * @param id      the ID of the updated entity
+   * @param version the version the statement set, or {@code null} if unknown
+   * @return the updated entity
+   * @throws EntityNotFoundException if the entity no longer exists
+   */
+  protected E reload(ID id, Object version) {
+    var entity = entityManager.find(getEntityClass(), id);
+    if (entity == null) {
+      throw new EntityNotFoundException();
+    }
+    if (version == null || !version.equals(getVersion(entity))) {
+      entityManager.refresh(entity);
+    }
+    return entity;
+  }
+
+  /**
+   * Builds the exception for a conditional update that affected no rows: {@link EntityNotFoundException} if the
+   * entity does not exist, otherwise an {@link OptimisticLockingFailureException} for the stale version.
+   * Only probes the database on this failure path.
+   *
+   * @param id the ID of the entity that was to be updated
+   * @return the exception to throw
+   */
+  protected RuntimeException conditionalUpdateFailure(ID id) {
+    if (!repository.existsById(id)) {
+      return new EntityNotFoundException();
+    }
+    return new OptimisticLockingFailureException("Entity " + id + " was modified concurrently");
+  }
+
+  /**
+   * Returns the optimistic-lock version of the given entity. Overridden by generated services of entities
+   * declaring a {@link jakarta.persistence.Version} field.
+   *
+   * @param entity the entity
+   * @return the version, or {@code null} if the entity is not versioned
+   */
+  public Object getVersion(E entity) {
+    return null;
+  }
+
+  /**
+   * Sets the optimistic-lock version of the given entity from its string form. Overridden by generated services
+   * of entities with a numeric {@link jakarta.persistence.Version} field; the default ignores the value.
+   *
+   * @param entity  the entity
+   * @param version the version, as carried by an entity tag
+   * @throws NumberFormatException if the value is not a valid version
+   */
+  protected void setVersion(E entity, String version) {
+  }
+
+  /**
+   * Returns the strong entity tag of the given entity, derived from its version.
+   *
+   * @param entity the entity
+   * @return the quoted entity tag, or {@code null} if the entity is not versioned
+   */
+  public String etag(E entity) {
+    var version = getVersion(entity);
+    return version == null ? null : "\"" + version + "\"";
+  }
+
+  /**
+   * Returns the strong entity tag of the entity with the given ID, reading only its version with a
+   * {@code SELECT version ... WHERE id = ?} query, so that an unchanged entity is never loaded.
+   *
+   * @param id the ID of the entity
+   * @return the quoted entity tag, or {@code null} if the entity has no numeric version or does not exist
+   */
+  @Transactional(readOnly = true)
+  public String currentEtag(ID id) {
+    var versionPath = versionPath();
+    if (versionPath == null) return null;
+
+    var version = new JPAQuery<>(entityManager).select(versionPath).from(entityPath()).where(idPath().eq(id)).fetchFirst();
+    return version == null ? null : "\"" + version + "\"";
+  }
+
+  /**
+   * Applies an {@code If-Match} precondition by setting the expected version on the incoming entity, so that the
+   * update only succeeds against that version. {@code *} and absent headers impose no version. Entities without a
+   * numeric version cannot be updated conditionally, so any other tag fails for them instead of being ignored.
+   *
+   * @param entity  the incoming entity
+   * @param ifMatch the {@code If-Match} header value, may be {@code null}
+   * @throws OptimisticLockingFailureException if the header cannot match any version of the entity
+   */
+  public void applyIfMatch(E entity, String ifMatch) {
+    if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+      return;
+    }
+    if (versionPath() == null) {
+      throw new OptimisticLockingFailureException(getEntityClass().getSimpleName() + " has no version to match If-Match " + ifMatch);
+    }
+    var tag = ifMatch.trim();
+    // If-Match uses strong comparison: weak tags and tag lists naming several versions never match a single write
+    if (tag.startsWith("W/") || tag.indexOf(',') >= 0 || tag.length() < 2 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+      throw new OptimisticLockingFailureException("Unsupported If-Match precondition: " + ifMatch);
+    }
+    try {
+      setVersion(entity, tag.substring(1, tag.length() - 1));
+    } catch (NumberFormatException e) {
+      throw new OptimisticLockingFailureException("If-Match " + ifMatch + " does not name a version", e);
+    }
+  }
+
+  /**
+   * Applies a partial update to an existing (managed) entity. Fields present in the
+   * {@code fields} map are applied to the persisted entity by name; the {@code id} field
+   * (if present) is ignored, and fields absent from the map keep their current values.
+   *
+   * <p>Each incoming value is deserialized into the target field's <em>generic</em> type via
+   * Jackson, so scalars, enums, nested objects and typed collections (e.g. {@code Set<ProductImage>})
+   * become real instances rather than raw maps. Collection-typed fields are merged in place
+   * (clear + add) so that {@code orphanRemoval}/all-delete-orphan mappings keep working and the
+   * managed collection wrapper is preserved. An object sent for an embedded value that is already set
+   * is merged into it recursively, as RFC 7396 describes, instead of replacing it.
+   *
+   * <p>Entity-specific wiring (bidirectional back-references, shared-value resolution) should be
+   * performed by overriding {@link #fixPatch(Object)}.
+   *
+   * @param id the ID of the entity to patch
+   * @param fields map of field names to desired values
+   * @return the updated entity
+   */
+  @Transactional
+  public E patch(ID id, Map<String, Object> fields) {
+    var entity = repository.findById(id).orElseThrow(EntityNotFoundException::new);
+
+    if (fields == null || fields.isEmpty()) {
+      return entity;
+    }
+
+    applyPatch(entity, fields);
+    invalidateEntity(id);
+
+    var fixed = repository.save(fixPatch(entity));
+    invalidateKey(fixed);
+    return fixed;
+  }
+
+  /**
+   * Applies a JSON merge patch (RFC 7396) read directly from a request body.
+   *
+   * <p>Same semantics as {@link #patch(Object, Map)}, but the body is consumed token by token: each property,
+   * including those of embedded values, is deserialized straight into the target field's type, without first
+   * materializing the body as a {@code Map<String, Object>} or a tree and converting it a second time. Malformed
+   * input rolls the transaction back, so no partially applied body is ever flushed.
+   *
+   * @param id   the ID of the entity to patch
+   * @param body the JSON object holding the fields to update
+   * @return the updated entity
+   * @throws IOException if the body cannot be read or is not a JSON object
+   */
+  @Transactional(rollbackFor = IOException.class)
+  public E patch(ID id, InputStream body) throws IOException {
+    var entity = repository.findById(id).orElseThrow(EntityNotFoundException::new);
+
+    try (var parser = objectMapper().createParser(body)) {
+      if (!applyPatch(entity, parser)) {
+        return entity;
+      }
+    }
+    invalidateEntity(id);
+
+    var fixed = repository.save(fixPatch(entity));
+    invalidateKey(fixed);
+    return fixed;
+  }
+
+  /**
+   * Applies the PATCH fields of the JSON object read from {@code parser} to a managed entity in place.
+   *
+   * <p>Fields known to {@link #patchFieldType(String)} are read into their pre-resolved type and applied via
+   * {@link #applyPatchField(Object, String, Object)}; other fields are resolved reflectively. Unknown fields
+   * and the {@code id} field are skipped without being deserialized.
+   *
+   * @param entity the managed entity to patch
+   * @param parser parser positioned before the body's root object
+   * @return true if the body held at least one field, like a non-empty map passed to {@link #patch(Object, Map)}
+   * @throws IOException if the body cannot be read or is not a JSON object
+   */
+  protected boolean applyPatch(E entity, JsonParser parser) throws IOException {
+    var root = parser.nextToken();
+    if (root == null) {
+      return false; // empty body
+    }
+    if (root != JsonToken.START_OBJECT) {
+      throw MismatchedInputException.from(parser, Map.class, "PATCH body must be a JSON object");
+    }
+
+    boolean present = false;
+    String name;
+    while ((name = parser.nextFieldName()) != null) {
+      present = true;
+      parser.nextToken();
+      if (name.isBlank() || name.equalsIgnoreCase("id")) {
+        parser.skipChildren();
+        continue;
+      }
+
+      var embedded = parser.currentToken() == JsonToken.START_OBJECT ? embeddedValue(entity, name) : null;
+      if (embedded != null) {
+        mergePatch(embedded, parser);
+        continue;
+      }
+
+      var type = patchFieldType(name);
+      if (type != null) {
+        var value = readPatchValue(parser, type);
+        if (!applyPatchField(entity, name, value)) {
+          applyPatchFieldReflectively(entity, name, value);
+        }
+        continue;
+      }
+
+      Field field = ReflectionUtils.findField(entity.getClass(), name);
+      if (field == null) {
+        parser.skipChildren(); // unknown field - skip
+        continue;
+      }
+      var value = readPatchValue(parser, objectMapper().getTypeFactory().constructType(field.getGenericType()));
+      setPatchFieldReflectively(entity, field, value);
+    }
+    return present;
+  }
+
+  /**
+   * Returns the current value of the named field if it is a non-null {@link Embeddable} value, which a merge patch
+   * updates in place.
+   */
+  private static Object embeddedValue(Object target, String name) {
+    var field = ReflectionUtils.findField(target.getClass(), name);
+    if (field == null || !field.getType().isAnnotationPresent(Embeddable.class)) {
+      return null;
+    }
+    ReflectionUtils.makeAccessible(field);
+    return ReflectionUtils.getField(field, target);
+  }
+
+  /**
+   * Merges the JSON object at the parser's current token into an embedded value as RFC 7396 describes: members
+   * holding objects for nested embedded values are merged recursively, the others are read into their field's type
+   * and set, and fields absent from the object keep their values. Unknown members are skipped.
+   */
+  private void mergePatch(Object target, JsonParser parser) throws IOException {
+    String name;
+    while ((name = parser.nextFieldName()) != null) {
+      parser.nextToken();
+      var nested = parser.currentToken() == JsonToken.START_OBJECT ? embeddedValue(target, name) : null;
+      if (nested != null) {
+        mergePatch(nested, parser);
+        continue;
+      }
+
+      var field = ReflectionUtils.findField(target.getClass(), name);
+      if (field == null) {
+        parser.skipChildren();
+        continue;
+      }
+      setEmbeddedField(target, field, readPatchValue(parser, objectMapper().getTypeFactory().constructType(field.getGenericType())));
+    }
+  }
+
+  /**
+   * Merges a bound JSON object into an embedded value, like {@link #mergePatch(Object, JsonParser)}.
+   */
+  private void mergePatch(Object target, Map<?, ?> patch) {
+    for (var member : patch.entrySet()) {
+      var name = String.valueOf(member.getKey());
+      var nested = member.getValue() instanceof Map<?, ?> ? embeddedValue(target, name) : null;
+      if (nested != null) {
+        mergePatch(nested, (Map<?, ?>) member.getValue());
+        continue;
+      }
+
+      var field = ReflectionUtils.findField(target.getClass(), name);
+      if (field != null) {
+        var type = objectMapper().getTypeFactory().constructType(field.getGenericType());
+        setEmbeddedField(target, field, objectMapper().convertValue(member.getValue(), type));
+      }
+    }
+  }
+
+  private static void setEmbeddedField(Object target, Field field, Object value) {
+    if (value == null && field.getType().isPrimitive()) {
+      return; // cannot assign null to a primitive field
+    }
+    ReflectionUtils.makeAccessible(field);
+    ReflectionUtils.setField(field, target, value);
+  }
+
+  private Object readPatchValue(JsonParser parser, JavaType type) throws IOException {
+    if (parser.currentToken() == JsonToken.VALUE_NULL) {
+      return null; // keep explicit nulls, do not let primitive deserializers turn them into defaults
+    }
+    return objectMapper().readValue(parser, type);
+  }
+
+  /**
+   * Applies the given PATCH fields to a managed entity in place.
+   *
+   * <p>Each field is first offered to {@link #applyPatchField(Object, String, Object)} with the value
+   * converted to {@link #patchFieldType(String)}; generated services override both with a switch over
+   * the entity's field names, so known fields are applied through typed setters without reflection.
+   * Fields the generated applier does not handle (e.g. declared on a subclass) go through
+   * {@link #applyPatchFieldReflectively(Object, String, Object)}.
+   *
+   * @param entity the managed entity to patch
+   * @param fields map of field names to desired values
+   */
+  protected void applyPatch(E entity, Map<String, Object> fields) {
+    for (var entry : fields.entrySet()) {
+      String name = entry.getKey();
+      if (name == null || name.isBlank() || name.equalsIgnoreCase("id")) {
+        continue;
+      }
+
+      var embedded = entry.getValue() instanceof Map<?, ?> ? embeddedValue(entity, name) : null;
+      if (embedded != null) {
+        mergePatch(embedded, (Map<?, ?>) entry.getValue());
+        continue;
+      }
+
+      var type = patchFieldType(name);
+      if (type != null && applyPatchField(entity, name, convertPatchValue(entry.getValue(), type))) {
+        continue;
+      }
+      applyPatchFieldReflectively(entity, name, entry.getValue());
+    }
+  }
+
+  /**
+   * Returns the pre-resolved Jackson type of the named field, or {@code null} if the field is not handled by
+   * {@link #applyPatchField(Object, String, Object)}. Overridden by generated services.
+   *
+   * @param name the field name
+   * @return the field's generic type, or {@code null}
+   */
+  protected JavaType patchFieldType(String name) {
+    return null;
+  }
+
+  /**
+   * Applies an already converted PATCH value to the named field. Overridden by generated services with
+   * typed setter calls; the default handles nothing.
+   *
+   * @param entity the managed entity
+   * @param name   the field name
+   * @param value  the value, already converted to {@link #patchFieldType(String)}
+   * @return true if the field was applied, false to fall back to reflection
+   */
+  protected boolean applyPatchField(E entity, String name, Object value) {
+    return false;
+  }
+
+  /**
+   * Reflective PATCH fallback for a single field.
+   *
+   * <p>The incoming value is deserialized into the target field's <em>generic</em> type via Jackson, so
+   * nested objects and typed collections become real instances rather than raw maps. Unknown fields are
+   * skipped.
+   *
+   * @param entity the managed entity
+   * @param name   the field name
+   * @param raw    the raw value as bound from the request body
+   */
+  protected void applyPatchFieldReflectively(E entity, String name, Object raw) {
+    Field field = ReflectionUtils.findField(entity.getClass(), name);
+    if (field == null) {
+      return; // unknown field - skip
+    }
+
+    // Deserialize into the field's generic type so collection elements and nested
+    // objects become real entities (Set<ProductImage>), not raw LinkedHashMaps.
+    JavaType javaType = objectMapper().getTypeFactory().constructType(field.getGenericType());
+    setPatchFieldReflectively(entity, field, objectMapper().convertValue(raw, javaType));
+  }
+
+  private void setPatchFieldReflectively(E entity, Field field, Object value) {
+    field.setAccessible(true);
+    Object current = ReflectionUtils.getField(field, entity);
+    if (current instanceof Collection<?> && value instanceof Collection<?>) {
+      @SuppressWarnings("unchecked")
+      Collection<Object> target = (Collection<Object>) current;
+      mergePatchCollection(target, (Collection<?>) value);
+    } else {
+      if (value == null && field.getType().isPrimitive()) {
+        return; // cannot assign null to a primitive field
+      }
+      ReflectionUtils.setField(field, entity, value);
+    }
+  }
+
+  /**
+   * Converts a raw PATCH value into the given type. Values that already are instances of a non-generic
+   * target type are returned as is, skipping Jackson's conversion round trip.
+   *
+   * @param value the raw value
+   * @param type  the target type
+   * @return the converted value
+   */
+  protected Object convertPatchValue(Object value, JavaType type) {
+    if (value == null) {
+      return null;
+    }
+    if (!type.isContainerType() && !type.hasGenericTypes() && type.getRawClass().isInstance(value)) {
+      return value;
+    }
+    return objectMapper().convertValue(value, type);
+  }
+
+  /**
+   * Resolves a Jackson type once, for use as a generated {@code *_PATCH_TYPE} constant.
+   *
+   * @param type the Java type
+   * @return the resolved Jackson type
+   */
+  protected static JavaType patchType(Type type) {
+    return TypeFactory.defaultInstance().constructType(type);
+  }
+
+  /**
+   * Resolves a generic Jackson type once, for use as a generated {@code *_PATCH_TYPE} constant.
+   *
+   * @param type the type reference capturing the generic field type
+   * @return the resolved Jackson type
+   */
+  protected static JavaType patchType(TypeReference<?> type) {
+    return TypeFactory.defaultInstance().constructType(type);
+  }
+
+  /**
+   * Sets a PATCHed collection field, mutating the managed collection in place when one exists.
+   *
+   * @param current the current (possibly managed) collection
+   * @param value   the new elements
+   * @param setter  setter used when there is no collection to merge into
+   * @param <C>     the collection type
+   */
+  protected static <C extends Collection<?>> void setPatchCollection(C current, C value, Consumer<C> setter) {
+    if (current != null && value != null) {
+      @SuppressWarnings("unchecked")
+      Collection<Object> target = (Collection<Object>) current;
+      mergePatchCollection(target, value);
+    } else {
+      setter.accept(value);
+    }
+  }
+
+  private static void mergePatchCollection(Collection<Object> target, Collection<?> value) {
+    // Mutate the managed collection in place (never replace the instance, which would
+    // break all-delete-orphan mappings and detach Hibernate's collection wrapper).
+    //
+    // This replaces children via orphan-removal delete + re-insert within one flush, where
+    // Hibernate orders INSERTs before DELETEs. If the entity has a unique constraint on
+    // (child, parent) and the replacement reuses an existing key, perform it as TWO PATCH
+    // calls: first set the collection to [] (delete-only), then PATCH the new elements
+    // (insert-only). That avoids the transient collision without an intra-call flush.
+    target.clear();
+    target.addAll(value);
+  }
+
+  /**
+   * Sets the ID on the given entity.
+   * Must be implemented by generated services to handle different ID types and field names.
+   *
+   * @param entity the entity to set the ID on
+   * @param id     the ID value
+   */
+  protected abstract void setId(E entity, ID id);
+
+  /**
+   * Returns the class of the entity handled by this service.
+   *
+   * @return the entity class
+   */
+  public abstract Class<E> getEntityClass();
+
+
+  /**
+   * Counts the total number of entities.
+   *
+   * @return the total count
+   */
+  public long count() {
+    return repository.count();
+  }
+
+  /**
+   * Counts the entities with the service's {@link #countStrategy()}.
+   *
+   * @return the count, telling whether it is exact
+   */
+  @Transactional(readOnly = true)
+  public ForgeCount countTotal() {
+    return countStrategy().count(this);
+  }
+
+  /**
+   * Returns the strategy used by {@link #countTotal()}. Generated services override this with the strategy selected
+   * through {@code @WithService(count = ...)}; defaults to {@link ForgeCountStrategy#exact()}.
+   *
+   * @return the count strategy
+   */
+  protected ForgeCountStrategy countStrategy() {
+    return EXACT_COUNT;
+  }
+
+  /**
+   * Estimates the number of entities from the database statistics, without scanning the table. On PostgreSQL this
+   * reads {@code pg_class.reltuples} of {@link #countTableName()}, which is kept current by {@code ANALYZE} and
+   * autovacuum; other databases, and tables never analyzed, have no estimate.
+   *
+   * @return the estimate, or empty if none is available
+   */
+  protected OptionalLong approximateCount() {
+    var table = countTableName();
+    if (table == null || !isPostgreSql()) {
+      return OptionalLong.empty();
+    }
+    var rows = entityManager
+        .createNativeQuery("SELECT reltuples FROM pg_class WHERE oid = to_regclass(?1)")
+        .setParameter(1, table)
+        .getResultList();
+    if (rows.isEmpty() || !(rows.getFirst() instanceof Number estimate) || estimate.doubleValue() < 0) {
+      return OptionalLong.empty();
+    }
+    return OptionalLong.of(Math.round(estimate.doubleValue()));
+  }
+
+  /**
+   * Returns the table whose statistics {@link #approximateCount()} reads: the table Hibernate maps the entity to,
+   * after the physical naming strategy, schema qualification and quoting. Entities that share their table with
+   * others of an inheritance hierarchy, or are spread over several, have no single table to estimate.
+   *
+   * @return the table name, optionally schema-qualified, or {@code null} if unknown
+   */
+  protected String countTableName() {
+    var persister = entityManager
+        .getEntityManagerFactory()
+        .unwrap(SessionFactoryImplementor.class)
+        .getMappingMetamodel()
+        .getEntityDescriptor(getEntityClass());
+    if (persister.isInherited() || persister.hasSubclasses()) {
+      return null;
+    }
+    return persister instanceof AbstractEntityPersister entityPersister ? entityPersister.getTableName() : null;
+  }
+
+  private boolean isPostgreSql() {
+    if (postgreSql == null) {
+      postgreSql = false;
+      if (dataSource != null) {
+        try (var connection = dataSource.getConnection()) {
+          postgreSql = connection.getMetaData().getDatabaseProductName().equalsIgnoreCase("PostgreSQL");
+        } catch (SQLException ignored) {
+          // no estimate, fall back to exact counts
+        }
+      }
+    }
+    return postgreSql;
+  }
+
+  /**
+   * Discards counts remembered by the {@link #countStrategy()}, once now and again when the current transaction
+   * completes, so that no count read in between outlives the change.
+   */
+  protected void invalidateCount() {
+    var strategy = countStrategy();
+    strategy.invalidate();
+    afterCompletion(strategy::invalidate);
+  }
+
+  private static void afterCompletion(Runnable action) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          action.run();
+        }
+      });
+    }
+  }
+
+  /**
+   * Finds a page of entities.
+   *
+   * @param pageable pagination information
+   * @return a page of entities
+   */
+  public Page<E> findAll(Pageable pageable) {
+    return repository.findAll(pageable);
+  }
+
+  /**
+   * Finds a slice of entities without counting them: one row beyond the page is fetched to tell whether another
+   * slice follows.
+   *
+   * @param pageable pagination information
+   * @return a slice of entities
+   */
+  @Transactional(readOnly = true)
+  public Slice<E> findSlice(Pageable pageable) {
+    var builder = entityManager.getCriteriaBuilder();
+    var criteria = builder.createQuery(getEntityClass());
+    var root = criteria.from(getEntityClass());
+    criteria.select(root).orderBy(QueryUtils.toOrders(pageable.getSort(), root, builder));
+
+    var query = entityManager.createQuery(criteria);
+    if (pageable.isPaged()) {
+      query.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize() + 1);
+    }
+    return slice(query.getResultList(), pageable);
+  }
+
+  /**
+   * Builds a slice from rows fetched with a limit of one more than the page size.
+   *
+   * @param rows     the fetched rows
+   * @param pageable the requested page
+   * @return the slice, knowing whether another one follows
+   */
+  protected <T> Slice<T> slice(List<T> rows, Pageable pageable) {
+    if (pageable.isUnpaged() || rows.size() <= pageable.getPageSize()) {
+      return new SliceImpl<>(rows, pageable, false);
+    }
+    return new SliceImpl<>(rows.subList(0, pageable.getPageSize()), pageable, true);
+  }
+
+  /**
+   * Returns the QueryDSL path of the entity. Overridden by generated services.
+   *
+   * @return the entity path, or {@code null} if sparse fieldsets are not supported
+   */
+  protected EntityPath<E> entityPath() {
+    return null;
+  }
+
+  /**
+   * Returns the QueryDSL path of the entity's ID. Overridden by generated services.
+   *
+   * @return the ID path, or {@code null} if sparse fieldsets are not supported
+   */
+  protected SimpleExpression<ID> idPath() {
+    return null;
+  }
+
+  /**
+   * Returns the fields that may be requested as a sparse fieldset, mapped to their column paths. Generated services
+   * override this with the basic fields of the entity.
+   *
+   * @return the selectable fields by name
+   */
+  protected Map<String, Expression<?>> sparseFields() {
+    return Map.of();
+  }
+
+  /**
+   * Parses a comma-separated sparse fieldset, validated against {@link #sparseFields()}.
+   *
+   * @param fields the comma-separated field names
+   * @return the distinct field names, in request order
+   * @throws IllegalArgumentException if the fieldset is empty or names a field that cannot be selected
+   */
+  public List<String> sparseFieldNames(String fields) {
+    var selectable = sparseFields();
+    var names = new LinkedHashSet<String>();
+    for (var name : fields.split(",")) {
+      name = name.trim();
+      if (name.isEmpty()) continue;
+      if (!selectable.containsKey(name)) {
+        throw new IllegalArgumentException("Unknown field '" + name + "', expected one of " + new TreeSet<>(selectable.keySet()));
+      }
+      names.add(name);
+    }
+    if (names.isEmpty()) {
+      throw new IllegalArgumentException("No fields requested");
+    }
+    return List.copyOf(names);
+  }
+
+  /**
+   * Finds a page of entities, reading only the given fields: the fields become the {@code SELECT} list, so no other
+   * columns are loaded and no entities are managed.
+   *
+   * @param fields    the fields to read, see {@link #sparseFieldNames(String)}
+   * @param predicate the filter predicate, may be {@code null}
+   * @param pageable  pagination information
+   * @param count     whether to count all matching rows, returning a {@link Page}, rather than a {@link Slice}
+   * @return the rows as maps from field name to value
+   */
+  @Transactional(readOnly = true)
+  public Slice<Map<String, Object>> findFields(List<String> fields, Predicate predicate, Pageable pageable, boolean count) {
+    var query = selectFields(fields).from(entityPath()).where(predicate);
+    return fetchPage(query, predicate, pageable, count, tuples -> toFieldMaps(fields, tuples));
+  }
+
+  /**
+   * Returns the to-one associations that may be requested as includes, fetched by a join in the page query.
+   * Generated services override this with the associations exposed through {@code @WithEndpoints} or
+   * {@code @FilterField}.
+   *
+   * @return the names of the to-one associations
+   */
+  protected Set<String> toOneIncludes() {
+    return Set.of();
+  }
+
+  /**
+   * Returns the to-many associations that may be requested as includes, loaded by one secondary query per
+   * association for all entities of the page, so the page query keeps one row per entity. Generated services
+   * override this like {@link #toOneIncludes()}.
+   *
+   * @return the names of the to-many associations
+   */
+  protected Set<String> toManyIncludes() {
+    return Set.of();
+  }
+
+  /**
+   * Parses a comma-separated list of associations to include, validated against {@link #toOneIncludes()} and
+   * {@link #toManyIncludes()}.
+   *
+   * @param include the comma-separated association names
+   * @return the distinct association names, in request order
+   * @throws IllegalArgumentException if an association cannot be included
+   */
+  public List<String> includeNames(String include) {
+    var names = new LinkedHashSet<String>();
+    for (var name : include.split(",")) {
+      name = name.trim();
+      if (name.isEmpty()) continue;
+      if (!toOneIncludes().contains(name) && !toManyIncludes().contains(name)) {
+        var includable = new TreeSet<>(toOneIncludes());
+        includable.addAll(toManyIncludes());
+        throw new IllegalArgumentException("Unknown include '" + name + "', expected one of " + includable);
+      }
+      names.add(name);
+    }
+    return List.copyOf(names);
+  }
+
+  /**
+   * Finds a page of entities together with the given associations, so that serializing the page does not load them
+   * one entity at a time. To-one associations are fetched by a join in the page query, to-many associations by one
+   * {@code IN} query each over the entities of the page.
+   *
+   * @param predicate the filter predicate, may be {@code null}
+   * @param pageable  pagination information
+   * @param count     whether to count all matching rows, returning a {@link Page}, rather than a {@link Slice}
+   * @param include   the associations to load, see {@link #includeNames(String)}
+   * @return the entities
+   */
+  @Transactional(readOnly = true)
+  public Slice<E> findAll(Predicate predicate, Pageable pageable, boolean count, List<String> include) {
+    var path = entityPath();
+    var builder = new PathBuilder<>(path.getType(), path.getMetadata());
+    var query = new JPAQuery<E>(entityManager).select(path).from(path);
+    include.stream().filter(toOneIncludes()::contains).forEach(name -> query.leftJoin(builder.get(name)).fetchJoin());
+    query.where(predicate);
+
+    return fetchPage(query, predicate, pageable, count, rows -> {
+      include.stream().filter(toManyIncludes()::contains).forEach(name -> fetchCollection(rows, name));
+      return rows;
+    });
+  }
+
+  /**
+   * Initializes a to-many association of the given managed entities with a single fetch-join query.
+   */
+  private void fetchCollection(List<E> rows, String association) {
+    if (rows.isEmpty()) return;
+    var entityName = entityManager.getMetamodel().entity(getEntityClass()).getName();
+    entityManager
+        .createQuery("select distinct e from " + entityName + " e left join fetch e." + association + " where e in :rows", getEntityClass())
+        .setParameter("rows", rows)
+        .getResultList();
+  }
+
+  /**
+   * Applies sorting and paging to a query over {@link #entityPath()} and fetches a page or slice of its rows.
+   *
+   * @param query     the query, with its {@code FROM} and {@code WHERE} clauses
+   * @param predicate the filter predicate of the query, counted for pages
+   * @param pageable  pagination information
+   * @param count     whether to count all matching rows, returning a {@link Page}, rather than a {@link Slice}
+   * @param content   maps the fetched rows to the content
+   */
+  private <R, T> Slice<T> fetchPage(
+      JPAQuery<R> query,
+      Predicate predicate,
+      Pageable pageable,
+      boolean count,
+      Function<List<R>, List<T>> content
+  ) {
+    var path = entityPath();
+    new Querydsl(entityManager, new PathBuilder<>(path.getType(), path.getMetadata())).applySorting(pageable.getSort(), query);
+    if (pageable.isPaged()) {
+      query.offset(pageable.getOffset()).limit(pageable.getPageSize() + (count ? 0L : 1L));
+    }
+    var rows = content.apply(cacheable(query).fetch());
+    if (!count) {
+      return slice(rows, pageable);
+    }
+    return PageableExecutionUtils.getPage(rows, pageable, () -> {
+      var total = cacheable(new JPAQuery<Long>(entityManager).select(Wildcard.count).from(path).where(predicate)).fetchOne();
+      return total == null ? 0L : total;
+    });
+  }
+
+  /**
+   * Whether list queries go through the Hibernate query cache. Overridden by generated services of entities
+   * annotated with {@code @ForgeCacheable(queries = true)}.
+   *
+   * @return true if list queries are cacheable, false otherwise
+   */
+  protected boolean queryCacheable() {
+    return false;
+  }
+
+  /**
+   * Marks the query as cacheable for the Hibernate query cache if {@link #queryCacheable()}.
+   */
+  private <Q extends JPAQuery<?>> Q cacheable(Q query) {
+    if (queryCacheable()) {
+      query.setHint(CACHEABLE_HINT, true);
+    }
+    return query;
+  }
+
+  /**
+   * Reads only the given fields of an entity.
+   *
+   * @param id     the ID of the entity
+   * @param fields the fields to read, see {@link #sparseFieldNames(String)}
+   * @return the fields by name
+   * @throws EntityNotFoundException if no entity with the given ID exists
+   */
+  @Transactional(readOnly = true)
+  public Map<String, Object> getFieldsById(ID id, List<String> fields) {
+    var rows = toFieldMaps(fields, selectFields(fields).from(entityPath()).where(idPath().eq(id)).limit(1).fetch());
+    if (rows.isEmpty()) {
+      throw new EntityNotFoundException();
+    }
+    return rows.getFirst();
+  }
+
+  private JPAQuery<Tuple> selectFields(List<String> fields) {
+    var selectable = sparseFields();
+    var paths = fields.stream().map(selectable::get).toArray(Expression<?>[]::new);
+    return new JPAQuery<Tuple>(entityManager).select(paths);
+  }
+
+  private List<Map<String, Object>> toFieldMaps(List<String> fields, List<Tuple> tuples) {
+    var rows = new ArrayList<Map<String, Object>>(tuples.size());
+    for (var tuple : tuples) {
+      var row = new LinkedHashMap<String, Object>();
+      for (int i = 0; i < fields.size(); i++) {
+        row.put(fields.get(i), tuple.get(i, Object.class));
+      }
+      rows.add(row);
+    }
+    return rows;
+  }
+
+  /**
+   * Finds all entities.
+   *
+   * @return a list of all entities
+   */
+  public List<E> findAll() {
+    return repository.findAll();
+  }
+
+  /**
+   * Builds the window of a keyset scroll from rows fetched with a limit of {@code size + 1}: the extra row only
+   * signals that another window follows, and the token of the last returned row continues after it.
+   *
+   * @param rows  the fetched rows, at most {@code size + 1}
+   * @param size  the requested window size
+   * @param token encodes the sort keys of a row as a continuation token
+   * @return the window
+   */
+  protected ForgeWindow<E> window(List<E> rows, int size, Function<? super E, String> token) {
+    if (rows.size() <= size) {
+      return new ForgeWindow<>(rows, null);
+    }
+    var content = rows.subList(0, size);
+    return new ForgeWindow<>(content, token.apply(content.get(size - 1)));
+  }
+
+  /**
+   * Encodes the sort keys of a row as an opaque continuation token. Each key is written in its string form;
+   * {@code null} keys are preserved.
+   *
+   * @param keys the sort keys, ending with the ID
+   * @return the token
+   */
+  protected static String scrollToken(Object... keys) {
+    var encoder = Base64.getUrlEncoder().withoutPadding();
+    var token = new StringJoiner(".");
+    for (var key : keys) {
+      token.add(key == null ? NULL_SCROLL_KEY : encoder.encodeToString(key.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+    return token.toString();
+  }
+
+  /**
+   * Decodes a continuation token created by {@link #scrollToken(Object...)}.
+   *
+   * @param token the token
+   * @param count the expected number of keys
+   * @return the keys in their string form, {@code null} for null keys
+   * @throws IllegalArgumentException if the token is malformed
+   */
+  protected static String[] scrollKeys(String token, int count) {
+    var parts = token.split("\\.", -1);
+    if (parts.length != count) {
+      throw new IllegalArgumentException("Invalid scroll token");
+    }
+    var decoder = Base64.getUrlDecoder();
+    var keys = new String[count];
+    for (int i = 0; i < count; i++) {
+      keys[i] = parts[i].equals(NULL_SCROLL_KEY) ? null : new String(decoder.decode(parts[i]), StandardCharsets.UTF_8);
+    }
+    return keys;
+  }
+
+  /**
+   * Streams all entities to the given consumer, one at a time.
+   *
+   * <p>Unlike {@link #findAll()} the result is never materialized: rows are read through a database cursor in
+   * chunks of {@link #streamFetchSize()}, and the persistence context is cleared after every chunk, so memory
+   * use stays flat regardless of table size. Entities handed to the consumer are only valid until it returns.
+   *
+   * @param consumer receives each entity
+   */
+  @Transactional(readOnly = true)
+  public void stream(Consumer<? super E> consumer) {
+    var criteria = entityManager.getCriteriaBuilder().createQuery(getEntityClass());
+    criteria.select(criteria.from(getEntityClass()));
+    stream(entityManager.createQuery(criteria), consumer);
+  }
+
+  /**
+   * Streams the results of the given query to the consumer, read-only and in chunks of
+   * {@link #streamFetchSize()}, clearing the persistence context after every chunk.
+   * Must be called within a transaction.
+   *
+   * @param query    the query selecting entities
+   * @param consumer receives each entity
+   */
+  @SuppressWarnings("unchecked")
+  protected void stream(Query query, Consumer<? super E> consumer) {
+    var fetchSize = streamFetchSize();
+    query.setHint("org.hibernate.fetchSize", fetchSize);
+    query.setHint("org.hibernate.readOnly", true);
+
+    try (var rows = (Stream<E>) query.getResultStream()) {
+      var iterator = rows.iterator();
+      int count = 0;
+      while (iterator.hasNext()) {
+        consumer.accept(iterator.next());
+        if (++count % fetchSize == 0) {
+          entityManager.clear();
+        }
+      }
+    }
+  }
+
+  /**
+   * Number of rows fetched per round trip by {@link #stream(Consumer)}, and the interval at which the
+   * persistence context is cleared. Generated services override this with the configured
+   * {@code stream.fetch-size}; defaults to 500.
+   *
+   * @return the fetch size
+   */
+  protected int streamFetchSize() {
+    return 500;
+  }
+
+  /**
+   * Returns the fields that {@link #updateAll(Predicate, Map, boolean)} may set, by name. Generated services of
+   * entities with {@code @WithRestController(bulkUpdate = true)} override this with the QueryDSL paths of their
+   * basic, updatable fields.
+   *
+   * @return the updatable fields by name
+   */
+  protected Map<String, Path<?>> bulkUpdateFields() {
+    return Map.of();
+  }
+
+  /**
+   * Returns the QueryDSL path of the numeric {@link jakarta.persistence.Version} field, incremented by
+   * {@link #updateAll(Predicate, Map, boolean)} so that concurrent editors of updated entities fail their
+   * optimistic lock. Overridden by generated services of versioned entities.
+   *
+   * @return the version path, or {@code null} if the entity is not versioned
+   */
+  protected NumberPath<?> versionPath() {
+    return null;
+  }
+
+  /**
+   * Sets the given fields on every entity matching the predicate with a single {@code UPDATE} statement, without
+   * loading the entities. The predicate is evaluated in an {@code id IN (SELECT ...)} subquery, so it may join
+   * associations. Entity callbacks and {@code ForgePersistenceAspect} update hooks do not run. Pending changes are
+   * flushed before the statement, and the instances of the entity type are detached after it so that none is served
+   * stale from the persistence context.
+   *
+   * @param predicate the filter predicate, may be {@code null}
+   * @param fields    the values to set by field name, see {@link #bulkUpdateFields()}
+   * @param force     whether to update all entities when the predicate is empty
+   * @return the number of updated entities
+   * @throws IllegalArgumentException if no or an unknown field is given, a value cannot be converted, or the
+   *                                  predicate is empty without {@code force}
+   */
+  @Transactional
+  @SuppressWarnings("unchecked")
+  public long updateAll(Predicate predicate, Map<String, Object> fields, boolean force) {
+    if (fields.isEmpty()) {
+      throw new IllegalArgumentException("No fields to update");
+    }
+    if (!force && (predicate == null || predicate instanceof BooleanBuilder builder && !builder.hasValue())) {
+      throw new IllegalArgumentException("Refusing to update all entities without force=true");
+    }
+
+    var target = statementTarget();
+    var update = new JPAUpdateClause(entityManager, target).where(matching(target, predicate));
+    for (var entry : fields.entrySet()) {
+      var path = (Path<Object>) bulkUpdateFields().get(entry.getKey());
+      if (path == null) {
+        throw new IllegalArgumentException(
+            "Unknown field '" + entry.getKey() + "', expected one of " + new TreeSet<>(bulkUpdateFields().keySet()));
+      }
+      var type = patchFieldType(entry.getKey());
+      var value = type == null ? entry.getValue() : convertPatchValue(entry.getValue(), type);
+      if (value == null && path.getType().isPrimitive()) {
+        throw new IllegalArgumentException("Field '" + entry.getKey() + "' cannot be null");
+      }
+      update.set(target.get(path.getMetadata().getName(), (Class<Object>) path.getType()), value);
+    }
+    if (versionPath() != null) {
+      incrementVersion(update, target, versionPath());
+    }
+
+    entityManager.flush();
+    var updated = update.execute();
+    detachAll();
+    if (updated > 0) {
+      invalidateEntities();
+    }
+    return updated;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <N extends Number & Comparable<?>> void incrementVersion(
+      JPAUpdateClause update, PathBuilder<?> target, NumberPath<N> version) {
+    var path = target.getNumber(version.getMetadata().getName(), (Class<N>) version.getType());
+    update.set(path, path.add(1));
+  }
+
+  /**
+   * Root of an {@code UPDATE} or {@code DELETE} statement, aliased apart from {@link #entityPath()} so that
+   * {@link #matching} can select the IDs from the latter.
+   */
+  private PathBuilder<? extends E> statementTarget() {
+    return new PathBuilder<>(entityPath().getType(), "forgeTarget");
+  }
+
+  /**
+   * Matches the rows of a statement over {@link #statementTarget()} whose IDs the predicate selects. The predicate
+   * may join associations, which {@code UPDATE} and {@code DELETE} statements cannot, so it runs in a subquery.
+   */
+  @SuppressWarnings("unchecked")
+  private BooleanExpression matching(PathBuilder<?> target, Predicate predicate) {
+    var id = target.get(((Path<?>) idPath()).getMetadata().getName(), (Class<ID>) idPath().getType());
+    return id.in(JPAExpressions.select(idPath()).from(entityPath()).where(predicate));
+  }
+
+  /**
+   * Deletes an entity by its ID.
+   *
+   * @param id the ID of the entity to delete
+   * @throws EntityNotFoundException if the entity with the given ID does not exist
+   */
+  @Transactional
+  public void deleteById(ID id) {
+    var entity = repository.findById(id).orElseThrow(EntityNotFoundException::new);
+
+    repository.delete(entity);
+    invalidateCount();
+    invalidateEntity(id);
+  }
+
+  /**
+   * Whether removing an entity has no side effects, so that bulk deletes can run as {@code DELETE} statements
+   * instead of loading and removing each entity. Generated services override this for entities without cascaded
+   * or orphan removals, element collections, owned join tables, inheritance or remove callbacks, as long as
+   * {@link #hasPersistenceAspect()} is false.
+   *
+   * @return true if entities can be deleted by statement
+   */
+  protected boolean directDeleteSupported() {
+    return false;
+  }
+
+  /**
+   * Whether a {@link ForgePersistenceAspect} bean applies to this service's entity, so that its delete hooks must see
+   * every removed entity.
+   *
+   * @return true if a persistence aspect handles the entity type
+   */
+  protected boolean hasPersistenceAspect() {
+    return persistenceAspects != null && persistenceAspects.stream().anyMatch(a -> a.appliesTo(getEntityClass()));
+  }
+
+  /**
+   * Deletes the entities with the given IDs, in chunks of {@link #streamFetchSize()}: by one
+   * {@code DELETE ... WHERE id IN (...)} statement per chunk if {@link #directDeleteSupported()}, otherwise by loading
+   * and removing the entities of each chunk, flushing and detaching the chunk in between. Pending changes are flushed
+   * before the statements, and the instances of the entity type are detached after them. IDs of entities that do not
+   * exist are ignored.
+   *
+   * @param ids the IDs of the entities to delete
+   * @return the number of deleted entities
+   */
+  @Transactional
+  public long deleteAllById(Collection<ID> ids) {
+    var distinct = List.copyOf(new LinkedHashSet<>(ids));
+    distinct.forEach(this::invalidateEntity);
+    var chunkSize = streamFetchSize();
+    if (directDeleteSupported()) {
+      entityManager.flush();
+    }
+    long deleted = 0;
+    for (int from = 0; from < distinct.size(); from += chunkSize) {
+      var chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+      if (directDeleteSupported()) {
+        deleted += new JPADeleteClause(entityManager, entityPath()).where(idPath().in(chunk)).execute();
+      } else {
+        var entities = repository.findAllById(chunk);
+        entities.forEach(repository::delete);
+        repository.flush();
+        entities.forEach(entityManager::detach);
+        deleted += entities.size();
+      }
+    }
+    if (directDeleteSupported()) {
+      detachAll();
+    }
+    if (deleted > 0) {
+      invalidateCount();
+    }
+    return deleted;
+  }
+
+  /**
+   * Deletes every entity matching the predicate: by a single {@code DELETE} statement if
+   * {@link #directDeleteSupported()}, otherwise by reading the IDs of the matching entities in ascending chunks of
+   * {@link #streamFetchSize()}, each starting after the last ID of the previous one, and deleting them like
+   * {@link #deleteAllById(Collection)}. IDs must be comparable. The statement is preceded by a flush of pending changes
+   * and followed by detaching the instances of the entity type.
+   *
+   * @param predicate the filter predicate, may be {@code null}
+   * @param force     whether to delete all entities when the predicate is empty
+   * @return the number of deleted entities
+   * @throws IllegalArgumentException if the predicate is empty without {@code force}
+   */
+  @Transactional
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public long deleteAll(Predicate predicate, boolean force) {
+    if (!force && (predicate == null || predicate instanceof BooleanBuilder builder && !builder.hasValue())) {
+      throw new IllegalArgumentException("Refusing to delete all entities without force=true");
+    }
+    if (!directDeleteSupported()) {
+      var source = new PathBuilder<>(entityPath().getType(), entityPath().getMetadata().getName());
+      var sourceId = source.getComparable(((Path<?>) idPath()).getMetadata().getName(), Comparable.class);
+      var chunkSize = streamFetchSize();
+      long deleted = 0;
+      Comparable last = null;
+      while (true) {
+        var chunk = new JPAQuery<>(entityManager)
+            .select(sourceId)
+            .from(entityPath())
+            .where(predicate, last == null ? null : sourceId.gt(last))
+            .orderBy(sourceId.asc())
+            .limit(chunkSize)
+            .fetch();
+        if (chunk.isEmpty()) break;
+        deleted += deleteAllById((List<ID>) (List<?>) chunk);
+        if (chunk.size() < chunkSize) break;
+        last = chunk.getLast();
+      }
+      return deleted;
+    }
+
+    entityManager.flush();
+    var target = statementTarget();
+    var deleted = new JPADeleteClause(entityManager, target).where(matching(target, predicate)).execute();
+    detachAll();
+    if (deleted > 0) {
+      invalidateCount();
+      invalidateEntities();
+    }
+    return deleted;
   }
 }
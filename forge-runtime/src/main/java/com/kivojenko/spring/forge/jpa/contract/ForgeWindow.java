@@ -0,0 +1,26 @@
+package com.kivojenko.spring.forge.jpa.contract;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A window of entities read by keyset pagination.
+ *
+ * @param content the entities of this window
+ * @param next    the opaque token to pass as {@code after} to read the following window, or {@code null} if this is
+ *                the last one
+ * @param <E>     the entity type
+ */
+public record ForgeWindow<E>(List<E> content, String next) {
+
+  /**
+   * Maps the content of this window, keeping its continuation token.
+   *
+   * @param mapper the mapping applied to each element
+   * @param <T>    the mapped type
+   * @return the mapped window
+   */
+  public <T> ForgeWindow<T> map(Function<? super E, ? extends T> mapper) {
+    return new ForgeWindow<>(content.stream().<T>map(mapper).toList(), next);
+  }
+}
@@ -6,8 +6,13 @@ import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 
+import com.kivojenko.spring.forge.jpa.contract.ForgeBatchException;
+import com.kivojenko.spring.forge.jpa.contract.ForgeBatchResult;
 import com.kivojenko.spring.forge.jpa.contract.ForgeService;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Interface for persistence hooks that are automatically executed before and after CRUD operations via AOP.
  * To use a hook, implement this interface as a Spring {@code @Bean} or {@code @Component}
@@ -21,6 +26,16 @@ public abstract class ForgePersistenceAspect<E> {
 
   protected abstract Class<E> entityType();
 
+  /**
+   * Whether the entity hooks of this aspect run for entities of the given type.
+   *
+   * @param type the entity type
+   * @return true if entities of the given type are instances of {@link #entityType()}
+   */
+  public boolean appliesTo(Class<?> type) {
+    return entityType().isAssignableFrom(type);
+  }
+
   /**
    * Executed before an entity is created.
    *
@@ -53,6 +68,49 @@ public abstract class ForgePersistenceAspect<E> {
 
   public void afterCreate(E entity) {}
 
+  /**
+   * Executed before a batch of entities is created, calling {@link #beforeCreate(Object)} for each of them.
+   * Every element is checked before the batch is rejected, so that all failing elements are reported at once.
+   *
+   * @param entities the entities to be created
+   * @throws ForgeBatchException if the hook throws for any element
+   */
+  @SuppressWarnings("unchecked")
+  @Before("execution(* com.kivojenko.spring.forge.jpa.contract.ForgeService+.createAll(..)) && args(entities)")
+  public void onBeforeCreateAll(List<?> entities) {
+    var failures = new ArrayList<ForgeBatchResult.Failure>();
+    for (int i = 0; i < entities.size(); i++) {
+      var entity = entities.get(i);
+      if (!entityType().isInstance(entity)) {
+        continue;
+      }
+      try {
+        beforeCreate((E) entity);
+      } catch (RuntimeException e) {
+        failures.add(new ForgeBatchResult.Failure(i, e.getMessage()));
+      }
+    }
+    if (!failures.isEmpty()) {
+      throw new ForgeBatchException(failures);
+    }
+  }
+
+  /**
+   * Executed after a batch of entities is created, calling {@link #afterCreate(Object)} for each of them.
+   * Unlike {@link #onAfterCreate(Object)}, it is skipped when the batch fails, as nothing was created.
+   *
+   * @param entities the created entities
+   */
+  @SuppressWarnings("unchecked")
+  @AfterReturning("execution(* com.kivojenko.spring.forge.jpa.contract.ForgeService+.createAll(..)) && args(entities)")
+  public void onAfterCreateAll(List<?> entities) {
+    for (var entity : entities) {
+      if (entityType().isInstance(entity)) {
+        afterCreate((E) entity);
+      }
+    }
+  }
+
   /**
    * Executed before a sub-entity is added to a main entity.
    *
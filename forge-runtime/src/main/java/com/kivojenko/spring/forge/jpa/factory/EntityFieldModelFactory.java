@@ -0,0 +1,288 @@
+package com.kivojenko.spring.forge.jpa.factory;
+
+import com.kivojenko.spring.forge.jpa.model.EntityFieldModel;
+import com.squareup.javapoet.TypeName;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import static com.kivojenko.spring.forge.jpa.utils.StringUtils.capitalize;
+
+/**
+ * Factory for resolving {@link EntityFieldModel}s from entity elements.
+ */
+public final class EntityFieldModelFactory {
+  private static final String LOMBOK_GETTER = "lombok.Getter";
+  private static final String LOMBOK_SETTER = "lombok.Setter";
+  private static final String LOMBOK_DATA = "lombok.Data";
+
+  private static final Set<String> DATABASE_GENERATED = Set.of(
+      "org.hibernate.annotations.Generated",
+      "org.hibernate.annotations.GeneratedColumn",
+      "org.hibernate.annotations.ColumnDefault",
+      "org.hibernate.annotations.Formula"
+  );
+  private static final Set<String> TIMESTAMPS = Set.of(
+      "org.hibernate.annotations.CurrentTimestamp",
+      "org.hibernate.annotations.CreationTimestamp",
+      "org.hibernate.annotations.UpdateTimestamp"
+  );
+
+  /**
+   * Resolves all persistent fields of the given entity, walking up the superclass hierarchy.
+   * Static, {@code transient} and {@link Transient} fields are skipped; fields shadowed by a subclass
+   * are reported once.
+   *
+   * @param entity the entity type element
+   * @param env    the processing environment
+   * @return the persistent fields in declaration order, subclass first
+   */
+  public static List<EntityFieldModel> resolve(TypeElement entity, ProcessingEnvironment env) {
+    var result = new ArrayList<EntityFieldModel>();
+    var seen = new HashSet<String>();
+    var collectionType = env.getTypeUtils().erasure(
+        env.getElementUtils().getTypeElement("java.util.Collection").asType()
+    );
+
+    TypeElement current = entity;
+    while (current != null) {
+      for (var enclosed : current.getEnclosedElements()) {
+        if (enclosed.getKind() != ElementKind.FIELD) continue;
+        var field = (VariableElement) enclosed;
+        if (field.getModifiers().contains(Modifier.STATIC) || field.getModifiers().contains(Modifier.TRANSIENT)) continue;
+        if (field.getAnnotation(Transient.class) != null) continue;
+        if (!seen.add(field.getSimpleName().toString())) continue;
+
+        var type = field.asType();
+        var erasure = env.getTypeUtils().erasure(type);
+        result.add(EntityFieldModel.builder()
+                       .element(field)
+                       .declaringType(current)
+                       .type(type)
+                       .typeName(TypeName.get(type))
+                       .id(field.getAnnotation(Id.class) != null)
+                       .version(field.getAnnotation(Version.class) != null)
+                       .collection(env.getTypeUtils().isAssignable(erasure, collectionType))
+                       .typeVariable(containsTypeVariable(type))
+                       .databaseGenerated(isDatabaseGenerated(field, new HashSet<>()))
+                       .embedded(isEmbedded(field))
+                       .toOne(field.getAnnotation(ManyToOne.class) != null || field.getAnnotation(OneToOne.class) != null)
+                       .inverse(isInverse(field))
+                       .updatable(isUpdatable(field))
+                       .cascadesOnRemove(cascadesOnRemove(field))
+                       .cascadesOnSave(cascadesOnSave(field))
+                       .getterName(findAccessor(entity, field, true))
+                       .setterName(findAccessor(entity, field, false))
+                       .build());
+      }
+
+      var superType = current.getSuperclass();
+      if (superType.getKind() == TypeKind.DECLARED) {
+        current = (TypeElement) ((DeclaredType) superType).asElement();
+        if (current.getQualifiedName().contentEquals("java.lang.Object")) {
+          current = null;
+        }
+      } else {
+        current = null;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Whether the field's value is produced by the database on insert, so that it has to be re-read after
+   * saving: Hibernate generated columns, column defaults and formulas, database-sourced timestamps, or a
+   * {@code columnDefinition} declaring a default. Embedded values are inspected recursively.
+   */
+  private static boolean isDatabaseGenerated(VariableElement field, Set<String> visited) {
+    for (var annotation : field.getAnnotationMirrors()) {
+      var name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().toString();
+      if (DATABASE_GENERATED.contains(name)) return true;
+      if (TIMESTAMPS.contains(name) && annotationValue(annotation, "source").endsWith("DB")) return true;
+    }
+
+    var column = field.getAnnotation(Column.class);
+    if (column != null) {
+      var definition = column.columnDefinition().toLowerCase(Locale.ROOT);
+      if (definition.contains("default") || definition.contains("generated")) return true;
+    }
+
+    if (!isEmbedded(field)) return false;
+    var embeddable = (TypeElement) ((DeclaredType) field.asType()).asElement();
+    if (!visited.add(embeddable.getQualifiedName().toString())) return false;
+
+    for (var enclosed : embeddable.getEnclosedElements()) {
+      if (enclosed.getKind() != ElementKind.FIELD || enclosed.getModifiers().contains(Modifier.STATIC)) continue;
+      if (isDatabaseGenerated((VariableElement) enclosed, visited)) return true;
+    }
+    return false;
+  }
+
+  private static boolean isEmbedded(VariableElement field) {
+    if (field.getAnnotation(Embedded.class) != null || field.getAnnotation(EmbeddedId.class) != null) return true;
+    return field.asType() instanceof DeclaredType declared && declared.asElement().getAnnotation(Embeddable.class) != null;
+  }
+
+  private static boolean isInverse(VariableElement field) {
+    var oneToOne = field.getAnnotation(OneToOne.class);
+    if (oneToOne != null && !oneToOne.mappedBy().isEmpty()) return true;
+    var oneToMany = field.getAnnotation(OneToMany.class);
+    if (oneToMany != null && !oneToMany.mappedBy().isEmpty()) return true;
+    var manyToMany = field.getAnnotation(ManyToMany.class);
+    return manyToMany != null && !manyToMany.mappedBy().isEmpty();
+  }
+
+  /**
+   * Whether an UPDATE statement may write the field: excludes read-only mappings and columns written only on insert.
+   */
+  private static boolean isUpdatable(VariableElement field) {
+    if (hasAnnotation(field, "org.hibernate.annotations.Formula")
+        || hasAnnotation(field, "org.hibernate.annotations.Generated")
+        || hasAnnotation(field, "org.hibernate.annotations.GeneratedColumn")
+        || hasAnnotation(field, "org.hibernate.annotations.CreationTimestamp")) {
+      return false;
+    }
+    var column = field.getAnnotation(Column.class);
+    if (column != null && !column.updatable()) return false;
+    var joinColumn = field.getAnnotation(JoinColumn.class);
+    return joinColumn == null || joinColumn.updatable();
+  }
+
+  /**
+   * Whether removing the owning entity through the entity manager touches other rows because of this field:
+   * cascaded or orphan removals, element collections, and join tables owned by the entity.
+   */
+  private static boolean cascadesOnRemove(VariableElement field) {
+    if (field.getAnnotation(ElementCollection.class) != null) return true;
+
+    var oneToMany = field.getAnnotation(OneToMany.class);
+    if (oneToMany != null) {
+      return oneToMany.orphanRemoval() || oneToMany.mappedBy().isEmpty() || cascadesRemove(oneToMany.cascade());
+    }
+    var manyToMany = field.getAnnotation(ManyToMany.class);
+    if (manyToMany != null) {
+      return manyToMany.mappedBy().isEmpty() || cascadesRemove(manyToMany.cascade());
+    }
+    var oneToOne = field.getAnnotation(OneToOne.class);
+    if (oneToOne != null) {
+      return oneToOne.orphanRemoval() || cascadesRemove(oneToOne.cascade());
+    }
+    var manyToOne = field.getAnnotation(ManyToOne.class);
+    return manyToOne != null && cascadesRemove(manyToOne.cascade());
+  }
+
+  /**
+   * Whether saving the owning entity through the entity manager persists, merges or orphan-removes the target of
+   * this to-one field.
+   */
+  private static boolean cascadesOnSave(VariableElement field) {
+    var oneToOne = field.getAnnotation(OneToOne.class);
+    if (oneToOne != null) {
+      return oneToOne.orphanRemoval() || cascadesSave(oneToOne.cascade());
+    }
+    var manyToOne = field.getAnnotation(ManyToOne.class);
+    return manyToOne != null && cascadesSave(manyToOne.cascade());
+  }
+
+  private static boolean cascadesSave(CascadeType[] cascade) {
+    for (var type : cascade) {
+      if (type == CascadeType.ALL || type == CascadeType.PERSIST || type == CascadeType.MERGE) return true;
+    }
+    return false;
+  }
+
+  private static boolean cascadesRemove(CascadeType[] cascade) {
+    for (var type : cascade) {
+      if (type == CascadeType.ALL || type == CascadeType.REMOVE) return true;
+    }
+    return false;
+  }
+
+  private static String annotationValue(AnnotationMirror annotation, String name) {
+    for (var entry : annotation.getElementValues().entrySet()) {
+      if (entry.getKey().getSimpleName().contentEquals(name)) {
+        return String.valueOf(entry.getValue().getValue());
+      }
+    }
+    return "";
+  }
+
+  private static boolean containsTypeVariable(TypeMirror type) {
+    return switch (type.getKind()) {
+      case TYPEVAR, WILDCARD -> true;
+      case DECLARED -> ((DeclaredType) type).getTypeArguments().stream().anyMatch(EntityFieldModelFactory::containsTypeVariable);
+      case ARRAY -> containsTypeVariable(((javax.lang.model.type.ArrayType) type).getComponentType());
+      default -> false;
+    };
+  }
+
+  /**
+   * Finds the public accessor of a field, either generated by Lombok or declared in the entity hierarchy.
+   *
+   * @return the accessor method name, or {@code null} if there is none
+   */
+  private static String findAccessor(TypeElement entity, VariableElement field, boolean getter) {
+    var name = capitalize(field.getSimpleName().toString());
+    var isBoolean = field.asType().getKind() == TypeKind.BOOLEAN;
+    var lombokName = getter ? (isBoolean ? "is" : "get") + name : "set" + name;
+
+    var lombokAnnotation = getter ? LOMBOK_GETTER : LOMBOK_SETTER;
+    if (hasAnnotation(field, lombokAnnotation)) return lombokName;
+
+    var declaring = (TypeElement) field.getEnclosingElement();
+    if (hasAnnotation(declaring, lombokAnnotation) || hasAnnotation(declaring, LOMBOK_DATA)) return lombokName;
+
+    TypeElement current = entity;
+    while (current != null) {
+      for (var enclosed : current.getEnclosedElements()) {
+        if (enclosed.getKind() != ElementKind.METHOD || !enclosed.getModifiers().contains(Modifier.PUBLIC)) continue;
+        var method = (ExecutableElement) enclosed;
+        var methodName = method.getSimpleName().toString();
+        if (getter && method.getParameters().isEmpty()
+            && (methodName.equals("get" + name) || (isBoolean && methodName.equals("is" + name)))) {
+          return methodName;
+        }
+        if (!getter && method.getParameters().size() == 1 && methodName.equals("set" + name)) {
+          return methodName;
+        }
+      }
+      var superType = current.getSuperclass();
+      current = superType.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superType).asElement() : null;
+    }
+    return null;
+  }
+
+  private static boolean hasAnnotation(Element element, String annotationFqn) {
+    return element.getAnnotationMirrors()
+        .stream()
+        .anyMatch(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationFqn));
+  }
+}
@@ -0,0 +1,87 @@
+package com.kivojenko.spring.forge.jpa.generator;
+
+import com.kivojenko.spring.forge.jpa.model.base.JpaEntityModel;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+
+import javax.lang.model.element.Modifier;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.COMPONENT;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.HIBERNATE_PROPERTIES_CUSTOMIZER;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.MAP;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.STRING;
+
+/**
+ * Generator for the Hibernate properties customizers registering the second-level cache of entities annotated with
+ * {@code @ForgeCacheable}.
+ */
+public final class CacheGenerator {
+  /**
+   * Prefix of the Hibernate properties declaring the cache of an entity, followed by the entity name.
+   */
+  private static final String CLASS_CACHE_PREFIX = "hibernate.classcache.";
+
+  /**
+   * Prefix of the Hibernate properties declaring the cache of a collection, followed by the collection role.
+   */
+  private static final String COLLECTION_CACHE_PREFIX = "hibernate.collectioncache.";
+
+  /**
+   * Generates a {@link JavaFile} containing the cache customizer for the given model.
+   *
+   * @param model the entity model
+   * @return the generated Java file
+   */
+  public static JavaFile generateFile(JpaEntityModel model) {
+    return JavaFile.builder(model.getPackages().repositoryPackageName(), generate(model)).build();
+  }
+
+  /**
+   * Generates the {@link TypeSpec} for the cache customizer: a component adding the Hibernate properties that make the
+   * entity, and the requested collections, cacheable with the configured concurrency strategy. Hibernate reads them
+   * while building the entity manager factory, so the entity itself needs no {@code @Cache} annotation.
+   *
+   * @param model the entity model
+   * @return the type specification
+   * @throws IllegalArgumentException if a requested collection is not a collection field of the entity
+   */
+  public static TypeSpec generate(JpaEntityModel model) {
+    var annotation = model.getRequirements().cacheAnnotation();
+    var usage = annotation.concurrency().externalName();
+    var entityName = model.getEnv().getElementUtils().getBinaryName(model.getElement()).toString();
+
+    var customize = MethodSpec
+        .methodBuilder("customize")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(ParameterizedTypeName.get(MAP, STRING, TypeName.OBJECT), "hibernateProperties")
+        .addStatement(
+            "hibernateProperties.put($S, $S)",
+            CLASS_CACHE_PREFIX + entityName,
+            annotation.region().isEmpty() ? usage : usage + "," + annotation.region()
+        );
+
+    var requested = new HashSet<>(Arrays.asList(annotation.collections()));
+    for (var field : model.getEntityFields()) {
+      if (!field.isCollection() || !requested.remove(field.getName())) continue;
+      customize.addStatement("hibernateProperties.put($S, $S)", COLLECTION_CACHE_PREFIX + entityName + "." + field.getName(), usage);
+    }
+    if (!requested.isEmpty()) {
+      throw new IllegalArgumentException("Unknown cached collections " + requested + " of " + model.getEntityType());
+    }
+
+    return TypeSpec
+        .classBuilder(model.getCacheName())
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(COMPONENT)
+        .addSuperinterface(HIBERNATE_PROPERTIES_CUSTOMIZER)
+        .addJavadoc("Generated second-level cache configuration of {@link $T}.\n", model.getEntityType())
+        .addMethod(customize.build())
+        .build();
+  }
+}
@@ -1,27 +1,43 @@
 package com.kivojenko.spring.forge.jpa.generator;
 
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.DELETE_MAPPING;
-import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.FORGE_ABSTRACT_CONTROLLER;
-import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.FORGE_CONTROLLER;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.FORGE_BASE_CONTROLLER;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.FORGE_BATCH_RESULT;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.FORGE_LOOKUP;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.FORGE_WINDOW;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.GET_MAPPING;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.HTTP_HEADERS;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.HTTP_STATUS;
-import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.PAGE;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.HTTP_SERVLET_RESPONSE;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.INPUT_STREAM;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.IO_EXCEPTION;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.LIST;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.MAP;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.MEDIA_TYPE;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.PAGEABLE;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.PAGEABLE_DEFAULT;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.PATCH_MAPPING;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.PATH_VARIABLE;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.POST_MAPPING;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.PUT_MAPPING;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.REQUEST_BODY;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.REQUEST_HEADER;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.REQUEST_MAPPING;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.REQUEST_METHOD;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.REQUEST_PARAM;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.RESPONSE_ENTITY;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.RESPONSE_STATUS_EXCEPTION;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.RESPONSE_STATUS;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.REST_CONTROLLER;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.SLICE;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.STREAMING_RESPONSE_BODY;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.STRING;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.VALID;
 
-import com.kivojenko.spring.forge.config.SpringForgeConfig;
+import com.kivojenko.spring.forge.jpa.model.EntityFieldModel;
 import com.kivojenko.spring.forge.jpa.model.base.JpaEntityModel;
 import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.CodeBlock;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
@@ -53,9 +69,8 @@ public final class ControllerGenerator {
    * @return the type specification
    */
   public static TypeSpec generate(JpaEntityModel model) {
-    var baseController = model.isAbstract() ? FORGE_ABSTRACT_CONTROLLER : FORGE_CONTROLLER;
     var superClass = ParameterizedTypeName.get(
-        baseController,
+        FORGE_BASE_CONTROLLER,
         model.getEntityType(),
         model.getJpaId().type(),
         model.getRepositoryType(),
@@ -100,26 +115,67 @@ public final class ControllerGenerator {
           .addModifiers(Modifier.PUBLIC)
           .addAnnotation(mapping)
           .addParameter(param)
-          .returns(model.getEntityType())
-          .addStatement("return service.getOrCreate($L)", paramName)
+          .returns(viewType(model))
+          .addStatement("return $L", view(model, CodeBlock.of("service.getOrCreate($L)", paramName)))
           .build();
       builder.addMethod(getOrCreate);
+
+      var keysName = paramName + "s";
+      var entities = CodeBlock.of("service.getOrCreateAll($L)", keysName);
+      var getOrCreateBatch = MethodSpec
+          .methodBuilder("getOrCreateBatch")
+          .addJavadoc("Retrieves up to $L {@link $T} entities by $L, creating the missing ones in one batch.\n", model.getMaxBatchSize(), model.getEntityType(), fieldPath)
+          .addJavadoc("@param $L the $L values of the entities\n", keysName, fieldPath)
+          .addJavadoc("@return the entity of every distinct value, in request order\n")
+          .addModifiers(Modifier.PUBLIC)
+          .addAnnotation(AnnotationSpec.builder(POST_MAPPING).addMember("value", "$S", path + "/batch").build())
+          .addParameter(ParameterSpec.builder(ParameterizedTypeName.get(LIST, fieldType.box()), keysName).addAnnotation(REQUEST_BODY).build())
+          .returns(ParameterizedTypeName.get(MAP, fieldType.box(), viewType(model)))
+          .addStatement("limitBatchSize($L.size(), $L)", keysName, model.getMaxBatchSize())
+          .addStatement("return $L", model.wantsDto() ? CodeBlock.of("mapValues($L, $T::from)", entities, model.getDtoType()) : entities)
+          .build();
+      builder.addMethod(getOrCreateBatch);
     }
 
     var pageableAnnotation = AnnotationSpec
         .builder(PAGEABLE_DEFAULT)
-        .addMember("size", "$L", SpringForgeConfig.getAllPageSize)
+        .addMember("size", "$L", model.getDefaultPageSize())
         .build();
     var pageableParam = ParameterSpec.builder(PAGEABLE, "pageable").addAnnotation(pageableAnnotation).build();
+    var countParam = ParameterSpec
+        .builder(ClassName.get(Boolean.class), "count")
+        .addAnnotation(AnnotationSpec.builder(REQUEST_PARAM).addMember("name", "$S", "count").addMember("required", "false").build())
+        .build();
     var findAllBuilder = MethodSpec
         .methodBuilder("findAll")
         .addJavadoc("Retrieves a paged result of all {@link $T} entities.\n", model.getEntityType())
+        .addJavadoc("Pages are limited to $L entities; larger requests are $L. Unless {@code count} is given, the result\n",
+                    model.getMaxPageSize(), model.isRejectOversizedPages() ? "rejected" : "clamped")
+        .addJavadoc("$L.\n", model.isCountingPages()
+            ? "is a counted page"
+            : "is a slice that skips the count query")
         .addJavadoc("@param pageable the pagination information\n")
+        .addJavadoc("@param count whether to count all matching entities, optional\n")
         .addModifiers(Modifier.PUBLIC)
         .addAnnotation(GET_MAPPING)
-        .returns(ParameterizedTypeName.get(PAGE, model.getEntityType()))
-        .addParameter(pageableParam);
+        .returns(ParameterizedTypeName.get(RESPONSE_ENTITY, ParameterizedTypeName.get(SLICE, viewType(model))))
+        .addParameter(pageableParam)
+        .addParameter(countParam);
+
+    var includes = !model.getIncludableFields().isEmpty();
+    if (includes) {
+      var includeParam = ParameterSpec
+          .builder(STRING, "include")
+          .addAnnotation(AnnotationSpec.builder(REQUEST_PARAM).addMember("name", "$S", "include").addMember("required", "false").build())
+          .build();
+      findAllBuilder
+          .addParameter(includeParam)
+          .addJavadoc("@param include the comma-separated associations to load with the page, optional; one of $L\n",
+                      String.join(", ", model.getIncludableFields().stream().map(EntityFieldModel::getName).toList()));
+    }
 
+    var arguments = "pageable";
+    var predicate = "null";
     if (model.wantsFilter()) {
       var filterParam = ParameterSpec.builder(model.getFilterType(), "filter")
           .addAnnotation(VALID)
@@ -127,15 +183,65 @@ public final class ControllerGenerator {
       findAllBuilder
           .addParameter(filterParam)
           .addJavadoc("@param filter the filter criteria\n")
-          .addJavadoc("@return a page of entities matching the filter criteria\n")
-          .addStatement("return service.findAll(pageable, filter)");
-      builder.addMethod(findAllBuilder.build());
+          .addJavadoc("@return a page or slice of entities matching the filter criteria, linking to the next one\n");
+      arguments = "pageable, filter";
+      predicate = "filter.toPredicate()";
     } else {
+      findAllBuilder.addJavadoc("@return a page or slice of entities, linking to the next one\n");
+    }
+    findAllBuilder
+        .addStatement("pageable = limitPageSize(pageable, $L, $L)", model.getMaxPageSize(), model.isRejectOversizedPages());
+    if (includes) {
       findAllBuilder
-          .addJavadoc("@return a page of entities\n")
-          .addStatement("return service.findAll(pageable)");
-      builder.addMethod(findAllBuilder.build());
+          .beginControlFlow("if (include != null)")
+          .addStatement(
+              "return page(service.findAll($L, pageable, count != null ? count : $L, includeNames(include))$L)",
+              predicate,
+              model.isCountingPages(),
+              mapView(model)
+          )
+          .endControlFlow();
     }
+    findAllBuilder
+        .beginControlFlow("if (count != null ? count : $L)", model.isCountingPages())
+        .addStatement("return page(service.findAll($L)$L)", arguments, mapView(model))
+        .endControlFlow()
+        .addStatement("return page(service.findSlice($L)$L)", arguments, mapView(model));
+    builder.addMethod(findAllBuilder.build());
+
+    addSparseFields(builder, model, pageableParam, countParam);
+    addScroll(builder, model);
+    addBulkUpdate(builder, model);
+    addBulkDelete(builder, model);
+    addLookup(builder, model);
+
+    var streamMapping = AnnotationSpec
+        .builder(GET_MAPPING)
+        .addMember("value", "$S", "/stream")
+        .addMember("produces", "$S", "application/x-ndjson")
+        .build();
+    var streamBuilder = MethodSpec
+        .methodBuilder("stream")
+        .addJavadoc("Streams all {@link $T} entities as newline-delimited JSON, reading them through a cursor.\n", model.getEntityType())
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(streamMapping)
+        .returns(ParameterizedTypeName.get(RESPONSE_ENTITY, STREAMING_RESPONSE_BODY));
+
+    if (model.wantsFilter()) {
+      var filterParam = ParameterSpec.builder(model.getFilterType(), "filter")
+          .addAnnotation(VALID)
+          .build();
+      streamBuilder
+          .addParameter(filterParam)
+          .addJavadoc("@param filter the filter criteria\n")
+          .addJavadoc("@return one entity matching the filter criteria per line\n")
+          .addStatement("return ndjson(rows -> service.stream(filter, rows)$L)", streamView(model));
+    } else {
+      streamBuilder
+          .addJavadoc("@return one entity per line\n")
+          .addStatement("return ndjson(rows -> service.stream(rows)$L)", streamView(model));
+    }
+    builder.addMethod(streamBuilder.build());
 
     addStandardOverrides(builder, model);
 
@@ -144,23 +250,281 @@ public final class ControllerGenerator {
     return builder.build();
   }
 
+  private static void addSparseFields(
+      TypeSpec.Builder builder,
+      JpaEntityModel model,
+      ParameterSpec pageableParam,
+      ParameterSpec countParam
+  ) {
+    if (!model.isSparseFieldsSupported()) return;
+
+    var rowType = ParameterizedTypeName.get(MAP, STRING, TypeName.OBJECT);
+    var fieldsParam = ParameterSpec
+        .builder(STRING, "fields")
+        .addAnnotation(AnnotationSpec.builder(REQUEST_PARAM).addMember("name", "$S", "fields").build())
+        .build();
+    var fieldNames = String.join(", ", model.getSparseFields().stream().map(EntityFieldModel::getName).toList());
+
+    var findFields = MethodSpec
+        .methodBuilder("findFields")
+        .addJavadoc("Retrieves a paged result of {@link $T} entities reduced to the requested fields, which are the only\n", model.getEntityType())
+        .addJavadoc("columns read from the database. Selectable fields: $L.\n", fieldNames)
+        .addJavadoc("@param fields the comma-separated fields to return\n")
+        .addJavadoc("@param pageable the pagination information\n")
+        .addJavadoc("@param count whether to count all matching entities, optional\n")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(AnnotationSpec.builder(GET_MAPPING).addMember("params", "$S", "fields").build())
+        .returns(ParameterizedTypeName.get(RESPONSE_ENTITY, ParameterizedTypeName.get(SLICE, rowType)))
+        .addParameter(fieldsParam)
+        .addParameter(pageableParam)
+        .addParameter(countParam);
+
+    var predicate = "null";
+    if (model.wantsFilter()) {
+      findFields
+          .addParameter(ParameterSpec.builder(model.getFilterType(), "filter").addAnnotation(VALID).build())
+          .addJavadoc("@param filter the filter criteria\n");
+      predicate = "filter.toPredicate()";
+    }
+    findFields
+        .addJavadoc("@return a page or slice of field maps, linking to the next one\n")
+        .addStatement("var names = sparseFieldNames(fields)")
+        .addStatement("pageable = limitPageSize(pageable, $L, $L)", model.getMaxPageSize(), model.isRejectOversizedPages())
+        .addStatement(
+            "return page(service.findFields(names, $L, pageable, count != null ? count : $L))",
+            predicate,
+            model.isCountingPages()
+        );
+    builder.addMethod(findFields.build());
+
+    var idName = model.getJpaId().name();
+    builder.addMethod(MethodSpec
+        .methodBuilder("getFields")
+        .addJavadoc("Retrieves the requested fields of a {@link $T}, reading only their columns.\n", model.getEntityType())
+        .addJavadoc("@param $L the ID of the entity\n", idName)
+        .addJavadoc("@param fields the comma-separated fields to return\n")
+        .addJavadoc("@return the fields by name\n")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(AnnotationSpec
+                           .builder(GET_MAPPING)
+                           .addMember("value", "$S", "/{" + idName + "}")
+                           .addMember("params", "$S", "fields")
+                           .build())
+        .returns(rowType)
+        .addParameter(ParameterSpec.builder(model.getJpaId().type(), idName).addAnnotation(PATH_VARIABLE).build())
+        .addParameter(fieldsParam)
+        .addStatement("return getFieldsById($L, fields)", idName)
+        .build());
+  }
+
+  private static void addScroll(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.isScrollSupported()) return;
+
+    var afterParam = ParameterSpec
+        .builder(STRING, "after")
+        .addAnnotation(AnnotationSpec.builder(REQUEST_PARAM).addMember("name", "$S", "after").addMember("required", "false").build())
+        .build();
+    var sizeParam = ParameterSpec
+        .builder(TypeName.INT, "size")
+        .addAnnotation(AnnotationSpec
+                           .builder(REQUEST_PARAM)
+                           .addMember("name", "$S", "size")
+                           .addMember("defaultValue", "$S", String.valueOf(model.getDefaultPageSize()))
+                           .build())
+        .build();
+    var scroll = MethodSpec
+        .methodBuilder("scroll")
+        .addJavadoc("Reads a window of {@link $T} entities by keyset pagination: pass the returned {@code next} token as\n", model.getEntityType())
+        .addJavadoc("{@code after} to continue, at constant cost regardless of how far the client has scrolled.\n")
+        .addJavadoc("@param after the continuation token of the previous window, optional\n")
+        .addJavadoc("@param size the window size\n")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(AnnotationSpec.builder(GET_MAPPING).addMember("value", "$S", "/scroll").build())
+        .returns(ParameterizedTypeName.get(FORGE_WINDOW, viewType(model)))
+        .addParameter(afterParam)
+        .addParameter(sizeParam);
+
+    var arguments = "after, limitPageSize(size, $L, $L)";
+    if (model.wantsFilter()) {
+      scroll
+          .addParameter(ParameterSpec.builder(model.getFilterType(), "filter").addAnnotation(VALID).build())
+          .addJavadoc("@param filter the filter criteria\n");
+      arguments = "filter, " + arguments;
+    }
+    scroll
+        .addJavadoc("@return the window, with the token of the next one if there are more entities\n")
+        .beginControlFlow("try")
+        .addStatement("return service.scroll(" + arguments + ")$L", model.getMaxPageSize(), model.isRejectOversizedPages(), mapView(model))
+        .nextControlFlow("catch ($T e)", IllegalArgumentException.class)
+        .addStatement("throw new $T($T.BAD_REQUEST, e.getMessage(), e)", RESPONSE_STATUS_EXCEPTION, HTTP_STATUS)
+        .endControlFlow();
+
+    builder.addMethod(scroll.build());
+  }
+
+  private static void addBulkUpdate(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.wantsBulkUpdate()) return;
+
+    var fieldNames = String.join(", ", model.getBulkUpdateFields().stream().map(EntityFieldModel::getName).toList());
+    builder.addMethod(MethodSpec
+        .methodBuilder("bulkUpdate")
+        .addJavadoc("Sets the given fields on every {@link $T} matching the filter criteria with a single statement.\n", model.getEntityType())
+        .addJavadoc("Updatable fields: $L. Without filter criteria, {@code force=true} is required.\n", fieldNames)
+        .addJavadoc("@param fields the values to set by field name\n")
+        .addJavadoc("@param force whether to update all entities when no filter criteria are given\n")
+        .addJavadoc("@param filter the filter criteria\n")
+        .addJavadoc("@return the number of updated entities\n")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(PATCH_MAPPING)
+        .returns(TypeName.LONG)
+        .addParameter(ParameterSpec
+                          .builder(ParameterizedTypeName.get(MAP, STRING, TypeName.OBJECT), "fields")
+                          .addAnnotation(REQUEST_BODY)
+                          .build())
+        .addParameter(ParameterSpec
+                          .builder(TypeName.BOOLEAN, "force")
+                          .addAnnotation(AnnotationSpec
+                                             .builder(REQUEST_PARAM)
+                                             .addMember("name", "$S", "force")
+                                             .addMember("defaultValue", "$S", "false")
+                                             .build())
+                          .build())
+        .addParameter(ParameterSpec.builder(model.getFilterType(), "filter").addAnnotation(VALID).build())
+        .addStatement("return updateAll(filter.toPredicate(), fields, force)")
+        .build());
+  }
+
+  private static void addBulkDelete(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.wantsBulkDelete()) return;
+
+    var forceParam = ParameterSpec
+        .builder(TypeName.BOOLEAN, "force")
+        .addAnnotation(AnnotationSpec
+                           .builder(REQUEST_PARAM)
+                           .addMember("name", "$S", "force")
+                           .addMember("defaultValue", "$S", "false")
+                           .build())
+        .build();
+    var idListType = ParameterizedTypeName.get(LIST, model.getJpaId().type().box());
+
+    builder.addMethod(MethodSpec
+        .methodBuilder("deleteAllById")
+        .addJavadoc("Deletes up to $L {@link $T} entities by ID$L. Unknown IDs are ignored.\n",
+                    model.getMaxBatchSize(), model.getEntityType(),
+                    model.isDirectDeleteSupported() ? ", with one statement per chunk unless a persistence aspect applies" : ", loading them in chunks")
+        .addJavadoc("@param ids the IDs of the entities to delete\n")
+        .addJavadoc("@return the number of deleted entities\n")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(AnnotationSpec.builder(DELETE_MAPPING).addMember("consumes", "$T.APPLICATION_JSON_VALUE", MEDIA_TYPE).build())
+        .returns(TypeName.LONG)
+        .addParameter(ParameterSpec.builder(idListType, "ids").addAnnotation(REQUEST_BODY).build())
+        .addStatement("return deleteAllById(ids, $L)", model.getMaxBatchSize())
+        .build());
+
+    if (!model.wantsFilter()) return;
+    builder.addMethod(MethodSpec
+        .methodBuilder("deleteAll")
+        .addJavadoc("Deletes every {@link $T} matching the filter criteria$L.\n", model.getEntityType(),
+                    model.isDirectDeleteSupported() ? ", with a single statement unless a persistence aspect applies" : ", loading them in chunks")
+        .addJavadoc("Without filter criteria, {@code force=true} is required.\n")
+        .addJavadoc("@param force whether to delete all entities when no filter criteria are given\n")
+        .addJavadoc("@param filter the filter criteria\n")
+        .addJavadoc("@return the number of deleted entities\n")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(DELETE_MAPPING)
+        .returns(TypeName.LONG)
+        .addParameter(forceParam)
+        .addParameter(ParameterSpec.builder(model.getFilterType(), "filter").addAnnotation(VALID).build())
+        .addStatement("return deleteAll(filter.toPredicate(), force)")
+        .build());
+  }
+
+  private static void addLookup(TypeSpec.Builder builder, JpaEntityModel model) {
+    var idListType = ParameterizedTypeName.get(LIST, model.getJpaId().type().box());
+    var lookupType = ParameterizedTypeName.get(FORGE_LOOKUP, viewType(model), model.getJpaId().type().box());
+    var lookup = CodeBlock.of("getAllById(ids, $L)$L", model.getMaxBatchSize(), mapView(model));
+
+    builder.addMethod(MethodSpec
+        .methodBuilder("getAllById")
+        .addJavadoc("Retrieves up to $L {@link $T} entities by ID, in the requested order.\n", model.getMaxBatchSize(), model.getEntityType())
+        .addJavadoc("@param ids the IDs of the entities to retrieve\n")
+        .addJavadoc("@return the found entities, and the IDs that were not found\n")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(AnnotationSpec.builder(GET_MAPPING).addMember("value", "$S", "/by-ids").build())
+        .returns(lookupType)
+        .addParameter(ParameterSpec
+                          .builder(idListType, "ids")
+                          .addAnnotation(AnnotationSpec.builder(REQUEST_PARAM).addMember("name", "$S", "ids").build())
+                          .build())
+        .addStatement("return $L", lookup)
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("existingIds")
+        .addJavadoc("Returns which of up to $L {@link $T} IDs exist, without loading the entities.\n", model.getMaxBatchSize(), model.getEntityType())
+        .addJavadoc("@param ids the IDs to check\n")
+        .addJavadoc("@return the existing IDs in the requested order\n")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(AnnotationSpec.builder(POST_MAPPING).addMember("value", "$S", "/exists").build())
+        .returns(idListType)
+        .addParameter(ParameterSpec.builder(idListType, "ids").addAnnotation(REQUEST_BODY).build())
+        .addStatement("return existingIds(ids, $L)", model.getMaxBatchSize())
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("postAllById")
+        .addJavadoc("Retrieves up to $L {@link $T} entities by ID, for ID lists too long for a query string.\n", model.getMaxBatchSize(), model.getEntityType())
+        .addJavadoc("@param ids the IDs of the entities to retrieve\n")
+        .addJavadoc("@return the found entities in the requested order, and the IDs that were not found\n")
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(AnnotationSpec.builder(POST_MAPPING).addMember("value", "$S", "/by-ids").build())
+        .returns(lookupType)
+        .addParameter(ParameterSpec.builder(idListType, "ids").addAnnotation(REQUEST_BODY).build())
+        .addStatement("return $L", lookup)
+        .build());
+  }
+
   private static void addStandardOverrides(TypeSpec.Builder builder, JpaEntityModel model) {
     var idName = model.getJpaId().name();
     var idType = model.getJpaId().type();
     var entityType = model.getEntityType();
+    var idParam = ParameterSpec.builder(idType, idName).addAnnotation(PATH_VARIABLE).build();
+    var idMapping = AnnotationSpec.builder(GET_MAPPING).addMember("value", "$S", "/{" + idName + "}").build();
 
     // getById
-    builder.addMethod(
-        MethodSpec
-            .methodBuilder("getById")
-            .addAnnotation(AnnotationSpec.builder(GET_MAPPING).addMember("value", "$S", "/{" + idName + "}").build())
-            .addModifiers(Modifier.PUBLIC)
-            .addAnnotation(Override.class)
-            .returns(entityType)
-            .addParameter(ParameterSpec.builder(idType, idName).addAnnotation(PATH_VARIABLE).build())
-            .addStatement("return service.getById($L)", idName)
-            .build()
-    );
+    var ifNoneMatchParam = ParameterSpec
+        .builder(STRING, "ifNoneMatch")
+        .addAnnotation(AnnotationSpec
+                           .builder(REQUEST_HEADER)
+                           .addMember("name", "$T.IF_NONE_MATCH", HTTP_HEADERS)
+                           .addMember("required", "false")
+                           .build())
+        .build();
+    var view = model.wantsDto() ? CodeBlock.of("$T::from", model.getDtoType()) : CodeBlock.of("entity -> entity");
+    var getById = MethodSpec
+        .methodBuilder(model.wantsDto() ? "getDtoById" : "getById")
+        .addAnnotation(idMapping)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(idParam)
+        .addParameter(ifNoneMatchParam);
+    if (model.getRequirements().wantsResponseCache()) {
+      getById
+          .addJavadoc("Writes the serialized {@link $T}$L with the given ID, see {@link #getCached}.\n", entityType, model.wantsDto() ? " DTO" : "")
+          .addJavadoc("@param $L the ID of the entity\n", idName)
+          .addJavadoc("@param ifNoneMatch the entity tag held by the client, optional\n")
+          .addJavadoc("@param response the response the cached bytes are written to\n")
+          .addJavadoc("@throws $T if the response cannot be written\n", IO_EXCEPTION)
+          .addParameter(HTTP_SERVLET_RESPONSE, "response")
+          .addException(IO_EXCEPTION)
+          .addStatement("getCached($L, ifNoneMatch, $L, response)", idName, view);
+    } else {
+      getById
+          .addJavadoc("Retrieves a {@link $T} by ID$L, see {@link #getConditionally}.\n", entityType, model.wantsDto() ? " as its DTO" : "")
+          .addJavadoc("@param $L the ID of the entity\n", idName)
+          .addJavadoc("@param ifNoneMatch the entity tag held by the client, optional\n")
+          .addJavadoc("@return the found entity$L with its entity tag, or status 304 if it is unchanged\n", model.wantsDto() ? "'s DTO" : "")
+          .returns(ParameterizedTypeName.get(RESPONSE_ENTITY, viewType(model)))
+          .addStatement("return getConditionally($L, ifNoneMatch, $L)", idName, view);
+    }
+    builder.addMethod(getById.build());
 
     // exists
     builder.addMethod(
@@ -175,27 +539,121 @@ public final class ControllerGenerator {
             )
             .addModifiers(Modifier.PUBLIC)
             .addAnnotation(Override.class)
-            .returns(TypeName.BOOLEAN)
-            .addParameter(ParameterSpec.builder(idType, idName).addAnnotation(PATH_VARIABLE).build())
-            .addStatement("return service.exists($L)", idName)
+            .returns(ParameterizedTypeName.get(RESPONSE_ENTITY, ClassName.get(Void.class)))
+            .addParameter(idParam)
+            .addStatement("return super.exists($L)", idName)
             .build()
     );
 
     // update
+    var ifMatchHeader = AnnotationSpec
+        .builder(REQUEST_HEADER)
+        .addMember("name", "$T.IF_MATCH", HTTP_HEADERS)
+        .addMember("required", "false")
+        .build();
+    var dtoSuffix = model.wantsDto() ? "'s DTO" : "";
     builder.addMethod(
         MethodSpec
-            .methodBuilder("update")
+            .methodBuilder(model.wantsDto() ? "updateDto" : "update")
+            .addJavadoc("Updates a {@link $T} by ID, see {@link #updateConditionally}.\n", entityType)
+            .addJavadoc("@param $L the ID of the entity\n", idName)
+            .addJavadoc("@param ifMatch the expected entity tag, optional\n")
+            .addJavadoc("@param entity the entity with updated fields\n")
+            .addJavadoc("@return the updated entity$L\n", dtoSuffix)
             .addAnnotation(AnnotationSpec.builder(PUT_MAPPING).addMember("value", "$S", "/{" + idName + "}").build())
-            .addAnnotation(AnnotationSpec.builder(RESPONSE_STATUS).addMember("code", "$T.CREATED", HTTP_STATUS).build())
             .addModifiers(Modifier.PUBLIC)
-            .addAnnotation(Override.class)
-            .returns(entityType)
-            .addParameter(ParameterSpec.builder(idType, idName).addAnnotation(PATH_VARIABLE).build())
+            .returns(ParameterizedTypeName.get(RESPONSE_ENTITY, viewType(model)))
+            .addParameter(idParam)
+            .addParameter(ParameterSpec.builder(STRING, "ifMatch").addAnnotation(ifMatchHeader).build())
             .addParameter(ParameterSpec.builder(entityType, "entity").addAnnotation(VALID).addAnnotation(REQUEST_BODY).build())
-            .addStatement("return service.update($L, entity)", idName)
+            .addStatement(
+                "return $L",
+                model.wantsDto()
+                    ? CodeBlock.of("view(updateConditionally($L, ifMatch, entity), $T::from)", idName, model.getDtoType())
+                    : CodeBlock.of("updateConditionally($L, ifMatch, entity)", idName)
+            )
             .build()
     );
 
+    // patch
+    var fieldsParam = ParameterSpec
+        .builder(ParameterizedTypeName.get(MAP, STRING, TypeName.OBJECT), "fields")
+        .addAnnotation(REQUEST_BODY)
+        .build();
+    builder.addMethod(
+        MethodSpec
+            .methodBuilder(model.wantsDto() ? "patchDto" : "patch")
+            .addJavadoc("Partially updates a {@link $T} by ID.\n", entityType)
+            .addJavadoc("@param $L the ID of the entity\n", idName)
+            .addJavadoc("@param fields the fields to update\n")
+            .addJavadoc("@return the updated entity$L\n", dtoSuffix)
+            .addAnnotation(AnnotationSpec.builder(PATCH_MAPPING).addMember("value", "$S", "/{" + idName + "}").build())
+            .addModifiers(Modifier.PUBLIC)
+            .returns(viewType(model))
+            .addParameter(idParam)
+            .addParameter(fieldsParam)
+            .addStatement("return $L", view(model, CodeBlock.of("service.patch($L, fields)", idName)))
+            .build()
+    );
+
+    var mergePatchMapping = AnnotationSpec
+        .builder(PATCH_MAPPING)
+        .addMember("value", "$S", "/{" + idName + "}")
+        .addMember("consumes", "$T.MERGE_PATCH_JSON", FORGE_BASE_CONTROLLER)
+        .build();
+    builder.addMethod(
+        MethodSpec
+            .methodBuilder(model.wantsDto() ? "patchDtoStreaming" : "patchStreaming")
+            .addJavadoc("Partially updates a {@link $T} by ID from a JSON merge patch streamed into its fields.\n", entityType)
+            .addJavadoc("@param $L the ID of the entity\n", idName)
+            .addJavadoc("@param body the JSON object holding the fields to update\n")
+            .addJavadoc("@return the updated entity$L\n", dtoSuffix)
+            .addJavadoc("@throws IOException if the body cannot be read\n")
+            .addAnnotation(mergePatchMapping)
+            .addModifiers(Modifier.PUBLIC)
+            .returns(viewType(model))
+            .addParameter(idParam)
+            .addParameter(INPUT_STREAM, "body")
+            .addException(IO_EXCEPTION)
+            .addStatement("return $L", view(model, CodeBlock.of("patchStreamed($L, body)", idName)))
+            .build()
+    );
+
+    // create
+    if (!model.isAbstract()) {
+      builder.addMethod(
+          MethodSpec
+              .methodBuilder(model.wantsDto() ? "createDto" : "create")
+              .addJavadoc("Creates a new {@link $T}.\n", entityType)
+              .addJavadoc("@param entity the entity to create\n")
+              .addJavadoc("@return the created entity$L\n", dtoSuffix)
+              .addAnnotation(POST_MAPPING)
+              .addAnnotation(AnnotationSpec.builder(RESPONSE_STATUS).addMember("code", "$T.CREATED", HTTP_STATUS).build())
+              .addModifiers(Modifier.PUBLIC)
+              .returns(viewType(model))
+              .addParameter(ParameterSpec.builder(entityType, "entity").addAnnotation(VALID).addAnnotation(REQUEST_BODY).build())
+              .addStatement("return $L", view(model, CodeBlock.of("service.create(entity)")))
+              .build()
+      );
+
+      builder.addMethod(
+          MethodSpec
+              .methodBuilder("createBatch")
+              .addJavadoc("Creates up to $L {@link $T} entities in one transaction.\n", model.getMaxBatchSize(), entityType)
+              .addJavadoc("@param entities the entities to create\n")
+              .addJavadoc("@return the IDs of the created entities in request order, or the rejected elements\n")
+              .addAnnotation(AnnotationSpec.builder(POST_MAPPING).addMember("value", "$S", "/batch").build())
+              .addModifiers(Modifier.PUBLIC)
+              .returns(ParameterizedTypeName.get(RESPONSE_ENTITY, ParameterizedTypeName.get(FORGE_BATCH_RESULT, idType)))
+              .addParameter(ParameterSpec
+                                .builder(ParameterizedTypeName.get(LIST, entityType), "entities")
+                                .addAnnotation(REQUEST_BODY)
+                                .build())
+              .addStatement("return createBatch(entities, $L)", model.getMaxBatchSize())
+              .build()
+      );
+    }
+
     // delete
     builder.addMethod(
         MethodSpec
@@ -210,12 +668,37 @@ public final class ControllerGenerator {
             .addModifiers(Modifier.PUBLIC)
             .addAnnotation(Override.class)
             .returns(TypeName.VOID)
-            .addParameter(ParameterSpec.builder(idType, idName).addAnnotation(PATH_VARIABLE).build())
+            .addParameter(idParam)
             .addStatement("service.deleteById($L)", idName)
             .build()
     );
   }
 
+  /**
+   * The type returned by the generated endpoints: the generated DTO if requested, otherwise the entity.
+   */
+  private static TypeName viewType(JpaEntityModel model) {
+    return model.wantsDto() ? model.getDtoType() : model.getEntityType();
+  }
+
+  /**
+   * Wraps an expression producing an entity so that it produces the returned type, see {@link #viewType}.
+   */
+  private static CodeBlock view(JpaEntityModel model, CodeBlock entity) {
+    return model.wantsDto() ? CodeBlock.of("$T.from($L)", model.getDtoType(), entity) : entity;
+  }
+
+  /**
+   * Suffix mapping a page, slice or window of entities to the returned type, see {@link #viewType}.
+   */
+  private static CodeBlock mapView(JpaEntityModel model) {
+    return model.wantsDto() ? CodeBlock.of(".map($T::from)", model.getDtoType()) : CodeBlock.of("");
+  }
+
+  private static CodeBlock streamView(JpaEntityModel model) {
+    return model.wantsDto() ? CodeBlock.of(", $T::from", model.getDtoType()) : CodeBlock.of("");
+  }
+
   private static String toSafeParamName(String path) {
     if (path.indexOf('.') < 0) return path;
     var parts = path.split("\\.");
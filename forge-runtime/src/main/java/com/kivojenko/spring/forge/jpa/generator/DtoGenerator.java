@@ -0,0 +1,129 @@
+package com.kivojenko.spring.forge.jpa.generator;
+
+import com.kivojenko.spring.forge.jpa.model.base.JpaEntityModel;
+import com.kivojenko.spring.forge.jpa.model.base.JpaId;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import jakarta.persistence.Entity;
+
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.LIST;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.VALUE;
+import static com.kivojenko.spring.forge.jpa.utils.StringUtils.capitalize;
+import static com.kivojenko.spring.forge.jpa.utils.StringUtils.getterName;
+
+/**
+ * Generator for the immutable read DTOs returned by generated controllers with {@code @WithRestController(dto = true)}.
+ */
+public final class DtoGenerator {
+
+  /**
+   * Generates a {@link JavaFile} containing the DTO for the given model.
+   *
+   * @param model the entity model
+   * @return the generated Java file
+   */
+  public static JavaFile generateFile(JpaEntityModel model) {
+    return JavaFile.builder(model.getPackages().controllerPackageName(), generate(model)).build();
+  }
+
+  /**
+   * Generates the {@link TypeSpec} for the DTO: a Lombok value class with one component per basic or embedded field,
+   * one per to-one association holding the target's ID, and one per requested collection, plus a static {@code from}
+   * mapper that reads the entity through its getters without initializing lazy associations.
+   *
+   * @param model the entity model
+   * @return the type specification
+   * @throws IllegalArgumentException if a requested collection is not a collection field of the entity
+   */
+  public static TypeSpec generate(JpaEntityModel model) {
+    var entityType = model.getEntityType();
+    var requested = new HashSet<>(Arrays.asList(model.getRequirements().controllerAnnotation().dtoCollections()));
+
+    var builder = TypeSpec
+        .classBuilder(model.getDtoName())
+        .addModifiers(Modifier.PUBLIC)
+        .addAnnotation(VALUE)
+        .addJavadoc("Generated read model of {@link $T}, returned by its generated controller instead of the entity.\n", entityType)
+        .addJavadoc("Associations are represented by their IDs, so serializing it never loads a lazy association.\n");
+
+    var arguments = CodeBlock.builder();
+    for (var field : model.getEntityFields()) {
+      if (!field.hasGetter() || field.isTypeVariable() || field.isJsonIgnored()) continue;
+
+      var getter = CodeBlock.of("entity.$L()", field.getGetterName());
+      String name;
+      TypeName type;
+      CodeBlock value;
+      if (field.isPlural()) {
+        if (!requested.remove(field.getName())) continue;
+        if (!field.isCollection()) {
+          throw new IllegalArgumentException("DTO collection " + field.getName() + " of " + entityType + " is not a collection");
+        }
+        var elementType = ((DeclaredType) field.getType()).getTypeArguments().getFirst();
+        var target = targetEntity(elementType);
+        name = field.getName();
+        if (target != null) {
+          var targetId = JpaId.resolveId(target);
+          type = ParameterizedTypeName.get(LIST, targetId.type().box());
+          value = CodeBlock.of("$L == null ? null : $L.stream().map(e -> e.$L()).toList()", getter, getter, getterName(targetId.name()));
+        } else {
+          type = ParameterizedTypeName.get(LIST, TypeName.get(elementType).box());
+          value = CodeBlock.of("$L == null ? null : $L.stream().toList()", getter, getter);
+        }
+      } else if (field.isToOne()) {
+        var target = targetEntity(field.getType());
+        if (target == null) continue;
+        var targetId = JpaId.resolveId(target);
+        name = field.getName() + capitalize(targetId.name());
+        type = targetId.type().box();
+        value = CodeBlock.of("$L == null ? null : $L.$L()", getter, getter, getterName(targetId.name()));
+      } else {
+        name = field.getName();
+        type = field.getTypeName();
+        value = getter;
+      }
+
+      builder.addField(FieldSpec.builder(type, name).build());
+      arguments.add(arguments.isEmpty() ? "$L" : ",\n$L", value);
+    }
+
+    if (!requested.isEmpty()) {
+      throw new IllegalArgumentException("Unknown DTO collections " + requested + " of " + entityType);
+    }
+
+    builder.addMethod(MethodSpec
+        .methodBuilder("from")
+        .addJavadoc("Maps a {@link $T} to its DTO. Only IDs are read from to-one associations, which Hibernate serves\n", entityType)
+        .addJavadoc("without initializing a lazy proxy.\n")
+        .addJavadoc("@param entity the entity\n")
+        .addJavadoc("@return the DTO\n")
+        .addModifiers(Modifier.PUBLIC, Modifier.STATIC)
+        .returns(model.getDtoType())
+        .addParameter(entityType, "entity")
+        .addCode("return new $T(\n", model.getDtoType())
+        .addCode(CodeBlock.builder().indent().add(arguments.build()).unindent().build())
+        .addCode("\n);\n")
+        .build());
+
+    return builder.build();
+  }
+
+  private static TypeElement targetEntity(TypeMirror type) {
+    if (type.getKind() != TypeKind.DECLARED) return null;
+    var element = (TypeElement) ((DeclaredType) type).asElement();
+    return element.getAnnotation(Entity.class) != null ? element : null;
+  }
+}
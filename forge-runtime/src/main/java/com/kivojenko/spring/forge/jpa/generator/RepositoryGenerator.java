@@ -4,14 +4,22 @@ package com.kivojenko.spring.forge.jpa.generator;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.HAS_NAME_REPOSITORY;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.JPA_REPOSITORY;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.LIST;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.PAGEABLE;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.QUERY_DSL_PREDICATE_EXECUTOR;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.QUERY_HINT;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.QUERY_HINTS;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.STRING;
 import static com.kivojenko.spring.forge.jpa.utils.StringUtils.capitalize;
 
+import com.kivojenko.spring.forge.jpa.contract.ForgeService;
 import com.kivojenko.spring.forge.jpa.model.FilterFieldModel;
 import com.kivojenko.spring.forge.jpa.model.base.JpaEntityModel;
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.JavaFile;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
 import com.squareup.javapoet.TypeSpec;
 import javax.lang.model.element.Modifier;
 
@@ -42,7 +50,10 @@ public final class RepositoryGenerator {
                 .addSuperinterface(jpaRepositoryOf(model));
 
         if (model.getRequirements().wantsAbstractRepository()) builder.addModifiers(Modifier.ABSTRACT);
-        if (model.getRequirements().hasName()) builder.addSuperinterface(hasNameRepositoryOf(model));
+        if (model.getRequirements().hasName()) {
+            builder.addSuperinterface(hasNameRepositoryOf(model));
+            if (model.getRequirements().wantsQueryCache()) addCachedNameMethods(builder, model);
+        }
         for (var repositoryInterface : model.getRequirements().repositoryInterfaces()) {
             builder.addSuperinterface(repositoryInterface);
         }
@@ -71,9 +82,9 @@ public final class RepositoryGenerator {
                 var findMethod = MethodSpec.methodBuilder(findMethodName)
                         .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
                         .returns(optEntity)
-                        .addParameter(fieldType, paramName)
-                        .build();
-                builder.addMethod(findMethod);
+                        .addParameter(fieldType, paramName);
+                addCacheHint(findMethod, model);
+                builder.addMethod(findMethod.build());
             }
         }
 
@@ -114,12 +125,52 @@ public final class RepositoryGenerator {
             var method = MethodSpec.methodBuilder(methodName)
                     .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
                     .returns(ParameterizedTypeName.get(LIST, model.getEntityType()))
-                    .addParameter(field.getTypeName(), field.getName())
-                    .build();
-            builder.addMethod(method);
+                    .addParameter(field.getTypeName(), field.getName());
+            addCacheHint(method, model);
+            builder.addMethod(method.build());
         }
     }
 
+    /**
+     * Redeclares the finder methods of {@code HasNameRepository} with the query cache hint, for cached entities.
+     */
+    private static void addCachedNameMethods(TypeSpec.Builder builder, JpaEntityModel model) {
+        var optEntity = ParameterizedTypeName.get(ClassName.get(java.util.Optional.class), model.getEntityType());
+        var listEntity = ParameterizedTypeName.get(LIST, model.getEntityType());
+
+        builder.addMethod(cachedNameMethod("findByName", optEntity, model).build());
+        builder.addMethod(cachedNameMethod("findByNameIgnoreCase", optEntity, model).build());
+        builder.addMethod(cachedNameMethod("findAllByNameContaining", listEntity, model).build());
+        builder.addMethod(cachedNameMethod("findAllByNameContainingIgnoreCase", listEntity, model)
+                                  .addParameter(PAGEABLE, "pageable")
+                                  .build());
+    }
+
+    private static MethodSpec.Builder cachedNameMethod(String name, TypeName returnType, JpaEntityModel model) {
+        var method = MethodSpec.methodBuilder(name)
+                .addAnnotation(Override.class)
+                .addModifiers(Modifier.PUBLIC, Modifier.ABSTRACT)
+                .returns(returnType)
+                .addParameter(STRING, "name");
+        addCacheHint(method, model);
+        return method;
+    }
+
+    /**
+     * Marks a derived query method as cacheable in the Hibernate query cache if the entity is annotated with
+     * {@code @ForgeCacheable(queries = true)}.
+     */
+    private static void addCacheHint(MethodSpec.Builder method, JpaEntityModel model) {
+        if (!model.getRequirements().wantsQueryCache()) return;
+
+        var hint = AnnotationSpec
+                .builder(QUERY_HINT)
+                .addMember("name", "$S", ForgeService.CACHEABLE_HINT)
+                .addMember("value", "$S", "true")
+                .build();
+        method.addAnnotation(AnnotationSpec.builder(QUERY_HINTS).addMember("value", "$L", hint).build());
+    }
+
     private static ParameterizedTypeName jpaRepositoryOf(JpaEntityModel model) {
         return ParameterizedTypeName.get(JPA_REPOSITORY, model.getEntityType(), model.getJpaId().type());
     }
@@ -1,19 +1,49 @@
 package com.kivojenko.spring.forge.jpa.generator;
 
+import com.kivojenko.spring.forge.annotation.CountMode;
+import com.kivojenko.spring.forge.annotation.GetOrCreateMode;
+import com.kivojenko.spring.forge.config.SpringForgeConfig;
+import com.kivojenko.spring.forge.jpa.factory.JpaEntityModelFactory;
+import com.kivojenko.spring.forge.jpa.model.EntityFieldModel;
 import com.kivojenko.spring.forge.jpa.model.base.JpaEntityModel;
 import com.squareup.javapoet.*;
 
+import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.*;
 import static com.kivojenko.spring.forge.jpa.utils.StringUtils.capitalize;
+import static com.kivojenko.spring.forge.jpa.utils.StringUtils.decapitalize;
+import static com.kivojenko.spring.forge.jpa.utils.StringUtils.getterName;
 
 /**
  * Generator for Spring services.
  */
 public final class ServiceGenerator {
+  private static final Set<TypeName> SCROLL_TEMPORAL_TYPES = Set.of(
+      ClassName.get(Instant.class),
+      ClassName.get(LocalDate.class),
+      ClassName.get(LocalDateTime.class),
+      ClassName.get(LocalTime.class),
+      ClassName.get(OffsetDateTime.class),
+      ClassName.get(ZonedDateTime.class)
+  );
 
 
   /**
@@ -51,6 +81,28 @@ public final class ServiceGenerator {
             .addStatement("return $T.class", model.getEntityType())
             .build());
 
+    builder.addMethod(MethodSpec.methodBuilder("refreshAfterCreate")
+        .addJavadoc("Resolved at compile time from database-generated columns of {@link $T}.\n", model.getEntityType())
+        .addJavadoc("@return true to flush and refresh after insert\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(TypeName.BOOLEAN)
+        .addStatement("return $L", model.isRefreshAfterCreate())
+        .build());
+
+    builder.addMethod(MethodSpec.methodBuilder("streamFetchSize")
+        .addJavadoc("Configured through {@code stream.fetch-size}.\n")
+        .addJavadoc("@return the fetch size\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(TypeName.INT)
+        .addStatement("return $L", SpringForgeConfig.streamFetchSize)
+        .build());
+
+    addCountStrategy(builder, model);
+    addEntityCache(builder, model);
+    addResponseCache(builder, model);
+
     if (model.getRequirements().wantsAbstractService()) {
       builder.addModifiers(Modifier.ABSTRACT);
     } else {
@@ -91,6 +143,10 @@ public final class ServiceGenerator {
       var suffix = toPropertyPathSuffix(fieldPath);
       var paramName = toSafeParamName(fieldPath);
       var findMethod = "findBy" + suffix + (ignoreCase ? "IgnoreCase" : "");
+      var lookupCache = annotation.lookupCache();
+      var find = lookupCache
+          ? CodeBlock.of("findByKey($L, $L, repository::$L)", paramName, ignoreCase, findMethod)
+          : CodeBlock.of("repository.$L($L)", findMethod, paramName);
 
       var getOrCreate = MethodSpec
           .methodBuilder("getOrCreate")
@@ -101,25 +157,78 @@ public final class ServiceGenerator {
           .addAnnotation(TRANSACTIONAL)
           .returns(model.getEntityType())
           .addParameter(fieldType, paramName)
-          .addStatement("return repository.$L($L).orElseGet(() -> createSafely($L))", findMethod, paramName, paramName)
+          .addStatement("return $L.orElseGet(() -> createSafely($L))", find, paramName)
           .build();
 
-      MethodSpec createSafely = MethodSpec
+      var createSafely = MethodSpec
           .methodBuilder("createSafely")
           .addJavadoc("Attempts to create an entity with the given $L, handling race conditions where another thread might have created it.\n", fieldPath)
           .addJavadoc("@param $L the $L of the entity\n", paramName, fieldPath)
           .addJavadoc("@return the retrieved or newly created entity\n")
           .addModifiers(Modifier.PROTECTED)
           .returns(model.getEntityType())
-          .addParameter(fieldType, paramName)
-          .beginControlFlow("try")
-          .addStatement("return repository.save(create($L))", paramName)
-          .nextControlFlow("catch ($T e)", DATA_INTEGRITY_VIOLATION_EXCEPTION)
-          .addStatement("return repository.$L($L).orElseThrow()", findMethod, paramName)
-          .endControlFlow()
+          .addParameter(fieldType, paramName);
+      if (annotation.mode() == GetOrCreateMode.UPSERT) {
+        // A relation ID path such as country.code is no attribute of the entity to name as the conflict target
+        var conflict = fieldPath.contains(".") ? CodeBlock.of("null") : CodeBlock.of("$S", fieldPath);
+        createSafely.addStatement("return createIfAbsent(create($L), $L, () -> repository.$L($L))", paramName, conflict, findMethod, paramName);
+      } else {
+        createSafely
+            .beginControlFlow("try")
+            .addStatement("invalidateCount()");
+        if (lookupCache) {
+          createSafely
+              .addStatement("var entity = repository.save(create($L))", paramName)
+              .addStatement("invalidateKey(entity)")
+              .addStatement("return entity");
+        } else {
+          createSafely.addStatement("return repository.save(create($L))", paramName);
+        }
+        createSafely
+            .nextControlFlow("catch ($T e)", DATA_INTEGRITY_VIOLATION_EXCEPTION)
+            .addStatement("return repository.$L($L).orElseThrow()", findMethod, paramName)
+            .endControlFlow();
+      }
+
+      var keysName = paramName + "s";
+      var getOrCreateAll = MethodSpec
+          .methodBuilder("getOrCreateAll")
+          .addJavadoc("Retrieves the {@link $T} entities with the given $L values, creating the missing ones in one batch.\n", model.getEntityType(), fieldPath)
+          .addJavadoc("@param $L the $L values of the entities\n", keysName, fieldPath)
+          .addJavadoc("@return the entity of every distinct value, in the given order\n")
+          .addModifiers(Modifier.PUBLIC)
+          .addAnnotation(TRANSACTIONAL)
+          .returns(ParameterizedTypeName.get(MAP, fieldType.box(), model.getEntityType()))
+          .addParameter(ParameterizedTypeName.get(COLLECTION, fieldType.box()), keysName)
+          .addStatement(
+              "return getOrCreateAllBy($L, $S, $L, $L, this::create)",
+              keysName,
+              fieldPath,
+              ignoreCase,
+              annotation.mode() == GetOrCreateMode.UPSERT
+          )
           .build();
 
-      builder.addMethod(model.createMethodForField(fieldPath)).addMethod(getOrCreate).addMethod(createSafely);
+      builder
+          .addMethod(model.createMethodForField(fieldPath))
+          .addMethod(getOrCreate)
+          .addMethod(createSafely.build())
+          .addMethod(getOrCreateAll);
+
+      if (lookupCache) {
+        addKeyCache(builder, model, fieldPath, ignoreCase);
+        builder.addMethod(MethodSpec
+            .methodBuilder(findMethod)
+            .addJavadoc("Finds a {@link $T} by $L through the lookup key cache, see {@link #findByKey}.\n", model.getEntityType(), fieldPath)
+            .addJavadoc("@param $L the $L of the entity\n", paramName, fieldPath)
+            .addJavadoc("@return the entity, or empty if none has the $L\n", fieldPath)
+            .addModifiers(Modifier.PUBLIC)
+            .addAnnotation(AnnotationSpec.builder(TRANSACTIONAL).addMember("readOnly", "true").build())
+            .returns(ParameterizedTypeName.get(OPTIONAL, model.getEntityType()))
+            .addParameter(fieldType, paramName)
+            .addStatement("return $L", find)
+            .build());
+      }
     }
 
 
@@ -157,13 +266,824 @@ public final class ServiceGenerator {
           )
           .build();
 
-      builder.addMethod(findAllPagedFiltered).addMethod(findAllFiltered);
+      var consumerParam = ParameterSpec
+          .builder(ParameterizedTypeName.get(CONSUMER, WildcardTypeName.supertypeOf(model.getEntityType())), "consumer")
+          .build();
+      var streamFiltered = MethodSpec
+          .methodBuilder("stream")
+          .addJavadoc("Streams the {@link $T} entities matching the filter criteria to the given consumer.\n", model.getEntityType())
+          .addJavadoc("@param filter the filter criteria\n")
+          .addJavadoc("@param consumer receives each matching entity\n")
+          .addAnnotation(AnnotationSpec.builder(TRANSACTIONAL).addMember("readOnly", "true").build())
+          .addModifiers(Modifier.PUBLIC)
+          .addParameter(filterParam)
+          .addParameter(consumerParam)
+          .addStatement("var entity = $T.$L", model.getEntityPathType(), decapitalize(model.getEntityType().simpleName()))
+          .addStatement(
+              "stream(new $T<$T>(entityManager).select(entity).from(entity).where(filter.toPredicate()).createQuery(), consumer)",
+              JPA_QUERY,
+              model.getEntityType()
+          )
+          .build();
+
+      var findSliceFiltered = MethodSpec
+          .methodBuilder("findSlice")
+          .addJavadoc("Retrieves a slice of {@link $T} entities matching the filter criteria, without counting them.\n", model.getEntityType())
+          .addJavadoc("@param pageable the pagination information\n")
+          .addJavadoc("@param filter the filter criteria\n")
+          .addJavadoc("@return a slice of entities matching the filter\n")
+          .addAnnotation(AnnotationSpec.builder(TRANSACTIONAL).addMember("readOnly", "true").build())
+          .addModifiers(Modifier.PUBLIC)
+          .returns(ParameterizedTypeName.get(SLICE, model.getEntityType()))
+          .addParameter(pageableParam)
+          .addParameter(filterParam)
+          .addStatement("var entity = $T.$L", model.getEntityPathType(), decapitalize(model.getEntityType().simpleName()))
+          .addStatement(
+              "var query = new $T<$T>(entityManager).select(entity).from(entity).where(filter.toPredicate())",
+              JPA_QUERY,
+              model.getEntityType()
+          )
+          .addStatement(
+              "new $T(entityManager, new $T<>(entity.getType(), entity.getMetadata())).applySorting(pageable.getSort(), query)",
+              QUERYDSL,
+              PATH_BUILDER
+          )
+          .beginControlFlow("if (pageable.isPaged())")
+          .addStatement("query.offset(pageable.getOffset()).limit(pageable.getPageSize() + 1L)")
+          .endControlFlow()
+          .addStatement("return slice(query.fetch(), pageable)")
+          .build();
+
+      builder.addMethod(findAllPagedFiltered)
+          .addMethod(findSliceFiltered)
+          .addMethod(findAllFiltered)
+          .addMethod(streamFiltered);
     }
 
+    addPatchApplier(builder, model);
+    addVersionAccessors(builder, model);
+    addConditionalUpdate(builder, model);
+    addDirectDelete(builder, model);
+    addScroll(builder, model);
+    addEntityPaths(builder, model);
+    addSparseFields(builder, model);
+    addIncludes(builder, model);
+    addBulkUpdate(builder, model);
+    addQueryCache(builder, model);
+
     model.getEndpointRelations().forEach(r -> r.addMethod(builder));
     return builder.build();
   }
 
+  /**
+   * Overrides {@code countStrategy} with the strategy selected through {@code @WithService(count = ...)}. Exact
+   * counting is inherited.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addCountStrategy(TypeSpec.Builder builder, JpaEntityModel model) {
+    var annotation = model.getRequirements().serviceAnnotation();
+    if (annotation == null || annotation.count() == CountMode.EXACT) return;
+
+    var initializer = switch (annotation.count()) {
+      case CACHED -> CodeBlock.of("$T.cached($T.ofSeconds($L))", FORGE_COUNT_STRATEGY, Duration.class, annotation.countTtlSeconds());
+      default -> CodeBlock.of("$T.approximate()", FORGE_COUNT_STRATEGY);
+    };
+    builder.addField(FieldSpec
+        .builder(FORGE_COUNT_STRATEGY, "countStrategy", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer(initializer)
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("countStrategy")
+        .addJavadoc("Counts {@link $T} entities $L.\n", model.getEntityType(),
+                    annotation.count() == CountMode.CACHED
+                        ? "exactly, remembering the count for " + annotation.countTtlSeconds() + " seconds"
+                        : "from the database statistics")
+        .addJavadoc("@return the count strategy\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(FORGE_COUNT_STRATEGY)
+        .addStatement("return countStrategy")
+        .build());
+  }
+
+  /**
+   * Overrides {@code keyCache} with a Caffeine cache sized through {@code @GetOrCreate(lookupCacheMaxSize = ...,
+   * lookupCacheTtlSeconds = ..., lookupCacheNegativeTtlSeconds = ...)}, and {@code lookupKey} with the normalized
+   * get-or-create field, for entities with {@code @GetOrCreate(lookupCache = true)}.
+   *
+   * @param builder    the service type builder
+   * @param model      the entity model
+   * @param fieldPath  the get-or-create field, possibly a relation ID path
+   * @param ignoreCase whether the field is looked up case-insensitively
+   */
+  private static void addKeyCache(TypeSpec.Builder builder, JpaEntityModel model, String fieldPath, boolean ignoreCase) {
+    var annotation = model.getRequirements().getOrCreateAnnotation();
+    var type = ParameterizedTypeName.get(FORGE_KEY_CACHE, model.getJpaId().type().box());
+    builder.addField(FieldSpec
+        .builder(type, "keyCache", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer(
+            "$T.caffeine($LL, $T.ofSeconds($L), $T.ofSeconds($L))",
+            FORGE_KEY_CACHE,
+            annotation.lookupCacheMaxSize(),
+            Duration.class,
+            annotation.lookupCacheTtlSeconds(),
+            Duration.class,
+            annotation.lookupCacheNegativeTtlSeconds()
+        )
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("keyCache")
+        .addJavadoc("Caches up to $L {@link $T} IDs by $L for $L seconds each, and misses for $L seconds.\n",
+                    annotation.lookupCacheMaxSize(),
+                    model.getEntityType(),
+                    fieldPath,
+                    annotation.lookupCacheTtlSeconds(),
+                    annotation.lookupCacheNegativeTtlSeconds())
+        .addJavadoc("@return the lookup key cache\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(type)
+        .addStatement("return keyCache")
+        .build());
+
+    var parts = fieldPath.split("\\.");
+    var lookupKey = MethodSpec
+        .methodBuilder("lookupKey")
+        .addJavadoc("Returns the $L of the entity$L.\n", fieldPath, ignoreCase ? ", upper-cased" : "")
+        .addJavadoc("@param entity the entity\n")
+        .addJavadoc("@return the lookup key\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(Object.class)
+        .addParameter(model.getEntityType(), "entity");
+    if (parts.length == 1) {
+      lookupKey.addStatement("return normalizedKey(entity.$L(), $L)", getterName(fieldPath), ignoreCase);
+    } else {
+      // Relation ID path such as country.code
+      lookupKey
+          .addStatement("var $L = entity.$L()", parts[0], getterName(parts[0]))
+          .addStatement("return $L == null ? null : normalizedKey($L.$L(), $L)", parts[0], parts[0], getterName(parts[parts.length - 1]), ignoreCase);
+    }
+    builder.addMethod(lookupKey.build());
+  }
+
+  /**
+   * Overrides {@code entityCache} with a Caffeine cache sized through {@code @WithService(readCacheMaxSize = ...,
+   * readCacheTtlSeconds = ...)} for entities with {@code @WithService(readCache = true)}, and {@code getById} with a
+   * read-only transaction that reads through it.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addEntityCache(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.getRequirements().wantsReadCache()) return;
+
+    var annotation = model.getRequirements().serviceAnnotation();
+    var type = ParameterizedTypeName.get(FORGE_ENTITY_CACHE, model.getJpaId().type().box(), model.getEntityType());
+    builder.addField(FieldSpec
+        .builder(type, "entityCache", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer("$T.caffeine($LL, $T.ofSeconds($L))", FORGE_ENTITY_CACHE, annotation.readCacheMaxSize(), Duration.class, annotation.readCacheTtlSeconds())
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("entityCache")
+        .addJavadoc("Caches up to $L {@link $T} entities for $L seconds each.\n", annotation.readCacheMaxSize(), model.getEntityType(), annotation.readCacheTtlSeconds())
+        .addJavadoc("@return the entity cache\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(type)
+        .addStatement("return entityCache")
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("getById")
+        .addJavadoc("Retrieves a {@link $T} by its ID in a read-only transaction, which serves it from the entity cache.\n", model.getEntityType())
+        .addJavadoc("@param id the ID of the entity to retrieve\n")
+        .addJavadoc("@return the found entity, shared with other readers\n")
+        .addJavadoc("@throws $T if no entity with the given ID exists\n", ENTITY_NOT_FOUND_EXCEPTION)
+        .addAnnotation(Override.class)
+        .addAnnotation(AnnotationSpec
+                           .builder(TRANSACTIONAL)
+                           .addMember("readOnly", "true")
+                           .addMember("noRollbackFor", "$T.class", ENTITY_NOT_FOUND_EXCEPTION)
+                           .build())
+        .addModifiers(Modifier.PUBLIC)
+        .returns(model.getEntityType())
+        .addParameter(model.getJpaId().type(), "id")
+        .addStatement("return super.getById(id)")
+        .build());
+  }
+
+  /**
+   * Overrides {@code responseCache} with a Caffeine cache sized through {@code @WithRestController(responseCacheMaxBytes
+   * = ..., responseCacheTtlSeconds = ..., responseCacheOffHeap = ...)} for entities with
+   * {@code @WithRestController(responseCache = true)}.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addResponseCache(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.getRequirements().wantsResponseCache()) return;
+
+    var annotation = model.getRequirements().controllerAnnotation();
+    var type = ParameterizedTypeName.get(FORGE_ENTITY_CACHE, model.getJpaId().type().box(), FORGE_CACHED_RESPONSE);
+    builder.addField(FieldSpec
+        .builder(type, "responseCache", Modifier.PRIVATE, Modifier.FINAL)
+        .initializer(
+            "$T.responses($LL, $T.ofSeconds($L), $L)",
+            FORGE_ENTITY_CACHE,
+            annotation.responseCacheMaxBytes(),
+            Duration.class,
+            annotation.responseCacheTtlSeconds(),
+            annotation.responseCacheOffHeap()
+        )
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("responseCache")
+        .addJavadoc("Caches up to $L bytes of serialized {@link $T} responses$L for $L seconds each.\n",
+                    annotation.responseCacheMaxBytes(), model.getEntityType(),
+                    annotation.responseCacheOffHeap() ? " off-heap" : "", annotation.responseCacheTtlSeconds())
+        .addJavadoc("@return the response cache\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(type)
+        .addStatement("return responseCache")
+        .build());
+  }
+
+  /**
+   * Adds the {@code entityPath} and {@code idPath} overrides that {@code ForgeService} builds its QueryDSL queries on,
+   * and {@code versionPath} for entities with a numeric version.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addEntityPaths(TypeSpec.Builder builder, JpaEntityModel model) {
+    var entityPath = CodeBlock.of("$T.$L", model.getEntityPathType(), decapitalize(model.getEntityType().simpleName()));
+    builder.addMethod(MethodSpec
+        .methodBuilder("entityPath")
+        .addJavadoc("@return the QueryDSL path of {@link $T}\n", model.getEntityType())
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(ParameterizedTypeName.get(ENTITY_PATH, model.getEntityType()))
+        .addStatement("return $L", entityPath)
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("idPath")
+        .addJavadoc("@return the QueryDSL path of the ID\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(ParameterizedTypeName.get(SIMPLE_EXPRESSION, model.getJpaId().type()))
+        .addStatement("return $L.$L", entityPath, model.getJpaId().name())
+        .build());
+
+    if (!model.hasNumericVersion()) return;
+    builder.addMethod(MethodSpec
+        .methodBuilder("versionPath")
+        .addJavadoc("@return the QueryDSL path of the version\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(ParameterizedTypeName.get(NUMBER_PATH, model.getVersionField().getTypeName().box()))
+        .addStatement("return $L.$L", entityPath, model.getVersionField().getName())
+        .build());
+  }
+
+  /**
+   * Adds the sparse fieldset whitelist: a constant mapping each selectable field to its QueryDSL path, and the
+   * {@code sparseFields} override that {@code ForgeService} builds its projections from.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addSparseFields(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.isSparseFieldsSupported()) return;
+
+    var entityPath = CodeBlock.of("$T.$L", model.getEntityPathType(), decapitalize(model.getEntityType().simpleName()));
+    var fieldsType = ParameterizedTypeName.get(MAP, STRING, ParameterizedTypeName.get(EXPRESSION, WildcardTypeName.subtypeOf(Object.class)));
+
+    var entries = CodeBlock.builder().add("$T.ofEntries(\n", MAP).indent();
+    var fields = model.getSparseFields();
+    for (int i = 0; i < fields.size(); i++) {
+      var name = fields.get(i).getName();
+      entries.add("$T.entry($S, $L.$L)$L\n", MAP, name, entityPath, name, i < fields.size() - 1 ? "," : "");
+    }
+    entries.unindent().add(")");
+
+    builder.addField(FieldSpec
+        .builder(fieldsType, "SPARSE_FIELDS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer(entries.build())
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("sparseFields")
+        .addJavadoc("Resolved at compile time from the basic fields of {@link $T}.\n", model.getEntityType())
+        .addJavadoc("@return the selectable fields by name\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(fieldsType)
+        .addStatement("return SPARSE_FIELDS")
+        .build());
+  }
+
+  /**
+   * Adds the bulk update whitelist: a constant mapping each basic, updatable field to its QueryDSL path, and the
+   * {@code bulkUpdateFields} override returning it.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addBulkUpdate(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.wantsBulkUpdate()) return;
+
+    var entityPath = CodeBlock.of("$T.$L", model.getEntityPathType(), decapitalize(model.getEntityType().simpleName()));
+    var fieldsType = ParameterizedTypeName.get(MAP, STRING, ParameterizedTypeName.get(PATH, WildcardTypeName.subtypeOf(Object.class)));
+
+    var entries = CodeBlock.builder().add("$T.ofEntries(\n", MAP).indent();
+    var fields = model.getBulkUpdateFields();
+    for (int i = 0; i < fields.size(); i++) {
+      var name = fields.get(i).getName();
+      entries.add("$T.entry($S, $L.$L)$L\n", MAP, name, entityPath, name, i < fields.size() - 1 ? "," : "");
+    }
+    entries.unindent().add(")");
+
+    builder.addField(FieldSpec
+        .builder(fieldsType, "BULK_UPDATE_FIELDS", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer(entries.build())
+        .build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("bulkUpdateFields")
+        .addJavadoc("Resolved at compile time from the basic, updatable fields of {@link $T}.\n", model.getEntityType())
+        .addJavadoc("@return the updatable fields by name\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(fieldsType)
+        .addStatement("return BULK_UPDATE_FIELDS")
+        .build());
+  }
+
+  /**
+   * Overrides {@code queryCacheable} for entities annotated with {@code @ForgeCacheable(queries = true)}, so that list
+   * queries go through the Hibernate query cache.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addQueryCache(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.getRequirements().wantsQueryCache()) return;
+
+    builder.addMethod(MethodSpec
+        .methodBuilder("queryCacheable")
+        .addJavadoc("@return true, as {@link $T} is cached\n", model.getEntityType())
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(TypeName.BOOLEAN)
+        .addStatement("return true")
+        .build());
+  }
+
+  /**
+   * Adds the {@code toOneIncludes} and {@code toManyIncludes} overrides listing the associations that the list
+   * endpoint may load up front through its {@code include} parameter.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addIncludes(TypeSpec.Builder builder, JpaEntityModel model) {
+    var toOne = model.getIncludableFields().stream().filter(EntityFieldModel::isToOne).map(EntityFieldModel::getName).toList();
+    var toMany = model.getIncludableFields().stream().filter(f -> !f.isToOne()).map(EntityFieldModel::getName).toList();
+    var setType = ParameterizedTypeName.get(SET, STRING);
+
+    if (!toOne.isEmpty()) {
+      builder.addMethod(MethodSpec
+          .methodBuilder("toOneIncludes")
+          .addJavadoc("@return the to-one associations of {@link $T} fetched by a join when included\n", model.getEntityType())
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PROTECTED)
+          .returns(setType)
+          .addStatement("return $T.of($L)", SET, toOne.stream().map(n -> CodeBlock.of("$S", n)).collect(CodeBlock.joining(", ")))
+          .build());
+    }
+    if (!toMany.isEmpty()) {
+      builder.addMethod(MethodSpec
+          .methodBuilder("toManyIncludes")
+          .addJavadoc("@return the to-many associations of {@link $T} loaded by a secondary query when included\n", model.getEntityType())
+          .addAnnotation(Override.class)
+          .addModifiers(Modifier.PROTECTED)
+          .returns(setType)
+          .addStatement("return $T.of($L)", SET, toMany.stream().map(n -> CodeBlock.of("$S", n)).collect(CodeBlock.joining(", ")))
+          .build());
+    }
+  }
+
+  /**
+   * Adds a reflection-free PATCH applier: one pre-resolved Jackson type constant per patchable field,
+   * plus {@code patchFieldType} and {@code applyPatchField} overrides switching over the field names.
+   * Fields that are not patchable here are left to the reflective fallback in {@code ForgeService}.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addPatchApplier(TypeSpec.Builder builder, JpaEntityModel model) {
+    var fields = model.getEntityFields().stream().filter(EntityFieldModel::isPatchable).toList();
+    if (fields.isEmpty()) return;
+
+    var nameParam = ParameterSpec.builder(STRING, "name").build();
+    var typeSwitch = CodeBlock.builder().add("return switch (name) {\n").indent();
+    var applySwitch = CodeBlock.builder().beginControlFlow("switch (name)");
+
+    for (var field : fields) {
+      var typeName = field.getTypeName().withoutAnnotations();
+      var constant = field.getPatchTypeConstantName();
+
+      var initializer = typeName instanceof ParameterizedTypeName
+          ? CodeBlock.of("patchType(new $T<$T>() {})", TYPE_REFERENCE, typeName)
+          : CodeBlock.of("patchType($T.class)", typeName);
+      builder.addField(FieldSpec
+          .builder(JAVA_TYPE, constant, Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+          .initializer(initializer)
+          .build());
+      typeSwitch.add("case $S -> $L;\n", field.getName(), constant);
+
+      if (field.isCollection()) {
+        applySwitch.addStatement(
+            "case $S -> setPatchCollection(entity.$L(), ($T) value, entity::$L)",
+            field.getName(),
+            field.getGetterName(),
+            typeName,
+            field.getSetterName()
+        );
+      } else if (typeName.isPrimitive()) {
+        applySwitch
+            .beginControlFlow("case $S ->", field.getName())
+            .addStatement("if (value != null) entity.$L(($T) value)", field.getSetterName(), typeName.box())
+            .endControlFlow();
+      } else {
+        applySwitch.addStatement("case $S -> entity.$L(($T) value)", field.getName(), field.getSetterName(), typeName);
+      }
+    }
+
+    typeSwitch.add("default -> super.patchFieldType(name);\n").unindent().add("};\n");
+    applySwitch
+        .beginControlFlow("default ->")
+        .addStatement("return super.applyPatchField(entity, name, value)")
+        .endControlFlow()
+        .endControlFlow()
+        .addStatement("return true");
+
+    builder.addMethod(MethodSpec
+        .methodBuilder("patchFieldType")
+        .addJavadoc("Returns the pre-resolved Jackson type of the given {@link $T} field.\n", model.getEntityType())
+        .addJavadoc("@param name the field name\n")
+        .addJavadoc("@return the field type, or {@code null} if the field is not handled by the generated applier\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(JAVA_TYPE)
+        .addParameter(nameParam)
+        .addCode(typeSwitch.build())
+        .build());
+
+    builder.addMethod(MethodSpec
+        .methodBuilder("applyPatchField")
+        .addJavadoc("Applies a converted PATCH value to the given {@link $T} field through its setter.\n", model.getEntityType())
+        .addJavadoc("@param entity the managed entity\n")
+        .addJavadoc("@param name the field name\n")
+        .addJavadoc("@param value the value, already converted to the field type\n")
+        .addJavadoc("@return true if the field was applied\n")
+        .addAnnotation(Override.class)
+        .addAnnotation(AnnotationSpec.builder(SuppressWarnings.class).addMember("value", "$S", "unchecked").build())
+        .addModifiers(Modifier.PROTECTED)
+        .returns(TypeName.BOOLEAN)
+        .addParameter(model.getEntityType(), "entity")
+        .addParameter(nameParam)
+        .addParameter(Object.class, "value")
+        .addCode(applySwitch.build())
+        .build());
+  }
+
+  /**
+   * Adds {@code getVersion}/{@code setVersion} overrides for entities with a {@code @Version} field, backing
+   * entity tags and {@code If-Match} preconditions. Only numeric versions can be set from an entity tag.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addVersionAccessors(TypeSpec.Builder builder, JpaEntityModel model) {
+    var version = model.getVersionField();
+    if (version == null || !version.hasGetter()) return;
+
+    builder.addMethod(MethodSpec
+        .methodBuilder("getVersion")
+        .addJavadoc("Returns the {@code $L} of the given {@link $T}.\n", version.getName(), model.getEntityType())
+        .addJavadoc("@param entity the entity\n")
+        .addJavadoc("@return the version\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(Object.class)
+        .addParameter(model.getEntityType(), "entity")
+        .addStatement("return entity.$L()", version.getGetterName())
+        .build());
+
+    if (!model.hasNumericVersion()) return;
+
+    var boxed = version.getTypeName().box();
+    builder.addMethod(MethodSpec
+        .methodBuilder("setVersion")
+        .addJavadoc("Sets the {@code $L} of the given {@link $T} from its string form.\n", version.getName(), model.getEntityType())
+        .addJavadoc("@param entity the entity\n")
+        .addJavadoc("@param version the version\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .addParameter(model.getEntityType(), "entity")
+        .addParameter(STRING, "version")
+        .addStatement("entity.$L($T.valueOf(version))", version.getSetterName(), boxed)
+        .build());
+  }
+
+  /**
+   * Overrides {@code update} with a single JPQL statement
+   * ({@code UPDATE ... SET ..., version = version + 1 WHERE id = :id AND version = :version}) for entities that
+   * support it; see {@link JpaEntityModel#isConditionalUpdateSupported()}. Without an expected version the
+   * statement is unconditional. The updated row is read back, so that the stored state is returned.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addConditionalUpdate(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.isConditionalUpdateSupported()) return;
+
+    var version = model.getVersionField();
+    var versionName = version.getName();
+    var idName = model.getJpaId().name();
+    var nullableVersion = !version.getTypeName().isPrimitive();
+    var fields = model.getEntityFields()
+        .stream()
+        .filter(f -> !f.isId() && !f.isVersion() && !f.isInverse() && f.isUpdatable())
+        .toList();
+
+    var assignments = new StringBuilder();
+    for (var field : fields) {
+      assignments.append("e.").append(field.getName()).append(" = :").append(field.getName()).append(", ");
+    }
+    var update = "UPDATE " + model.getJpqlName() + " e SET " + assignments
+        + "e." + versionName + " = e." + versionName + " + 1"
+        + " WHERE e." + idName + " = :" + idName;
+
+    builder.addField(FieldSpec
+        .builder(STRING, "VERSIONED_UPDATE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$S", update + " AND e." + versionName + " = :" + versionName)
+        .build());
+    if (nullableVersion) {
+      builder.addField(FieldSpec
+          .builder(STRING, "UNVERSIONED_UPDATE", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+          .initializer("$S", update)
+          .build());
+    }
+
+    var query = CodeBlock.builder()
+        .add("var query = entityManager.createQuery($L)\n",
+             nullableVersion ? CodeBlock.of("versioned ? VERSIONED_UPDATE : UNVERSIONED_UPDATE") : "VERSIONED_UPDATE")
+        .indent()
+        .add(".setParameter($S, id)", idName);
+    for (var field : fields) {
+      if (field.isToOne()) {
+        var target = JpaEntityModelFactory.get((TypeElement) ((DeclaredType) field.getType()).asElement());
+        query.add(
+            "\n.setParameter($S, entity.$L() == null ? null : reference($T.class, entity.$L().$L(), $S))",
+            field.getName(),
+            field.getGetterName(),
+            target.getEntityType(),
+            field.getGetterName(),
+            target.getGetterName(),
+            field.getName()
+        );
+      } else {
+        query.add("\n.setParameter($S, entity.$L())", field.getName(), field.getGetterName());
+      }
+    }
+    query.add(";\n").unindent();
+
+    var method = MethodSpec
+        .methodBuilder("update")
+        .addJavadoc("Updates the {@link $T} with the given ID in a single statement, conditional on the entity's\n", model.getEntityType())
+        .addJavadoc("{@code $L} when one is given.\n", versionName)
+        .addJavadoc("@param id the ID of the entity to update\n")
+        .addJavadoc("@param entity the entity with updated data and the expected version\n")
+        .addJavadoc("@return the updated entity\n")
+        .addJavadoc("@throws $T if the entity does not exist\n", ENTITY_NOT_FOUND_EXCEPTION)
+        .addJavadoc("@throws $T if the entity is at another version\n", OPTIMISTIC_LOCKING_FAILURE_EXCEPTION)
+        .addAnnotation(Override.class)
+        .addAnnotation(TRANSACTIONAL)
+        .addModifiers(Modifier.PUBLIC)
+        .returns(model.getEntityType())
+        .addParameter(model.getJpaId().type(), "id")
+        .addParameter(model.getEntityType(), "entity")
+        .addStatement("setId(entity, id)")
+        .addStatement("entity = fixParameters(entity)");
+
+    if (nullableVersion) {
+      method.addStatement("var versioned = entity.$L() != null", version.getGetterName());
+    }
+    method.addCode(query.build());
+    if (nullableVersion) {
+      method.beginControlFlow("if (versioned)")
+          .addStatement("query.setParameter($S, entity.$L())", versionName, version.getGetterName())
+          .endControlFlow();
+    } else {
+      method.addStatement("query.setParameter($S, entity.$L())", versionName, version.getGetterName());
+    }
+
+    method.beginControlFlow("if (query.executeUpdate() == 0)")
+        .addStatement("throw conditionalUpdateFailure(id)")
+        .endControlFlow();
+    if (model.getRequirements().cachesById()) {
+      method.addStatement("invalidateEntity(id)");
+    }
+    var newVersion = CodeBlock.of("($T) (entity.$L() + 1)", version.getTypeName().unbox(), version.getGetterName());
+    var reload = CodeBlock.of("reload(id, $L)", nullableVersion ? CodeBlock.of("versioned ? $L : null", newVersion) : newVersion);
+    if (model.getRequirements().wantsLookupCache()) {
+      method.addStatement("var updated = $L", reload)
+          .addStatement("invalidateKey(updated)")
+          .addStatement("return updated");
+    } else {
+      method.addStatement("return $L", reload);
+    }
+
+    builder.addMethod(method.build());
+  }
+
+  /**
+   * Overrides {@code deleteById} with a single {@code DELETE ... WHERE id = :id} statement for entities whose
+   * removal has no side effects, and enables statement-based bulk deletes for them; see
+   * {@link JpaEntityModel#isDirectDeleteSupported()}.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addDirectDelete(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.isDirectDeleteSupported()) return;
+
+    var idName = model.getJpaId().name();
+    builder.addField(FieldSpec
+        .builder(STRING, "DELETE_BY_ID", Modifier.PRIVATE, Modifier.STATIC, Modifier.FINAL)
+        .initializer("$S", "DELETE FROM " + model.getJpqlName() + " e WHERE e." + idName + " = :" + idName)
+        .build());
+
+    var deleteById = MethodSpec
+        .methodBuilder("deleteById")
+        .addJavadoc("Deletes the {@link $T} with the given ID in a single statement, without loading it first, unless a\n", model.getEntityType())
+        .addJavadoc("persistence aspect needs to see the removed entity.\n")
+        .addJavadoc("@param id the ID of the entity to delete\n")
+        .addJavadoc("@throws $T if the entity does not exist\n", ENTITY_NOT_FOUND_EXCEPTION)
+        .addAnnotation(Override.class)
+        .addAnnotation(TRANSACTIONAL)
+        .addModifiers(Modifier.PUBLIC)
+        .addParameter(model.getJpaId().type(), "id")
+        .beginControlFlow("if (!directDeleteSupported())")
+        .addStatement("super.deleteById(id)")
+        .addStatement("return")
+        .endControlFlow()
+        .beginControlFlow("if (entityManager.createQuery(DELETE_BY_ID).setParameter($S, id).executeUpdate() == 0)", idName)
+        .addStatement("throw new $T()", ENTITY_NOT_FOUND_EXCEPTION)
+        .endControlFlow()
+        .addStatement("detach(id)")
+        .addStatement("invalidateCount()");
+    if (model.getRequirements().cachesById()) {
+      deleteById.addStatement("invalidateEntity(id)");
+    }
+    builder.addMethod(deleteById.build());
+    builder.addMethod(MethodSpec
+        .methodBuilder("directDeleteSupported")
+        .addJavadoc("Removing a {@link $T} has no side effects of its own, so deletes run as statements unless a\n", model.getEntityType())
+        .addJavadoc("persistence aspect applies to it.\n")
+        .addJavadoc("@return true if no persistence aspect applies to the entity\n")
+        .addAnnotation(Override.class)
+        .addModifiers(Modifier.PROTECTED)
+        .returns(TypeName.BOOLEAN)
+        .addStatement("return !hasPersistenceAspect()")
+        .build());
+  }
+
+  /**
+   * Adds a keyset {@code scroll} method reading the entities after a continuation token, ordered by the
+   * {@link JpaEntityModel#getScrollSortField() sort key} (nulls last) and the ID. The seek predicate is combined with
+   * the generated filter, so no rows are skipped by offset.
+   *
+   * @param builder the service type builder
+   * @param model   the entity model
+   */
+  private static void addScroll(TypeSpec.Builder builder, JpaEntityModel model) {
+    if (!model.isScrollSupported()) return;
+
+    var entityType = model.getEntityType();
+    var idName = model.getJpaId().name();
+    var sort = model.getScrollSortField();
+    var keyCount = sort == null ? 1 : 2;
+    var idKey = "keys[" + (keyCount - 1) + "]";
+
+    var method = MethodSpec
+        .methodBuilder("scroll")
+        .addJavadoc("Reads the window of {@link $T} entities following the given continuation token, ordered by\n", entityType)
+        .addJavadoc(sort == null ? "ID.\n" : "{@code " + sort.getName() + "} and ID.\n");
+    if (model.wantsFilter()) {
+      method.addJavadoc("@param filter the filter criteria\n");
+    }
+    method
+        .addJavadoc("@param after the continuation token of the previous window, or {@code null} to start at the beginning\n")
+        .addJavadoc("@param size the maximum number of entities to read\n")
+        .addJavadoc("@return the window, with the token of the next one if there are more entities\n")
+        .addJavadoc("@throws $T if the token is malformed\n", IllegalArgumentException.class)
+        .addAnnotation(AnnotationSpec.builder(TRANSACTIONAL).addMember("readOnly", "true").build())
+        .addModifiers(Modifier.PUBLIC)
+        .returns(ParameterizedTypeName.get(FORGE_WINDOW, entityType));
+    if (model.wantsFilter()) {
+      method.addParameter(model.getFilterType(), "filter");
+    }
+    method
+        .addParameter(STRING, "after")
+        .addParameter(TypeName.INT, "size")
+        .addStatement("var entity = $T.$L", model.getEntityPathType(), decapitalize(entityType.simpleName()))
+        .addStatement(model.wantsFilter() ? "var predicate = new $T(filter.toPredicate())" : "var predicate = new $T()", BOOLEAN_BUILDER);
+
+    method.beginControlFlow("if (after != null)")
+        .addStatement("var keys = scrollKeys(after, $L)", keyCount);
+    var idType = model.getJpaId().type().box();
+    method.addStatement("$T lastId", idType);
+    if (sort != null) {
+      method.addStatement("$T lastSort", sort.getTypeName().box());
+    }
+    method.beginControlFlow("try")
+        .addStatement("lastId = $L", parseScrollKey(model.getJpaId().type(), null, idKey));
+    if (sort != null) {
+      method.addStatement("lastSort = keys[0] == null ? null : $L", parseScrollKey(sort.getTypeName(), sort.getType(), "keys[0]"));
+    }
+    method.nextControlFlow("catch ($T e)", RuntimeException.class)
+        .addStatement("throw new $T($S, e)", IllegalArgumentException.class, "Invalid scroll token")
+        .endControlFlow();
+
+    if (sort == null) {
+      method.addStatement("predicate.and(entity.$L.gt(lastId))", idName);
+    } else {
+      var sortName = sort.getName();
+      method.beginControlFlow("if (lastSort == null)")
+          .addStatement("predicate.and(entity.$L.isNull().and(entity.$L.gt(lastId)))", sortName, idName)
+          .nextControlFlow("else")
+          .addStatement(
+              "predicate.and(entity.$L.gt(lastSort).or(entity.$L.eq(lastSort).and(entity.$L.gt(lastId))).or(entity.$L.isNull()))",
+              sortName, sortName, idName, sortName
+          )
+          .endControlFlow();
+    }
+    method.endControlFlow();
+
+    var order = sort == null
+        ? CodeBlock.of("entity.$L.asc()", idName)
+        : CodeBlock.of("entity.$L.asc().nullsLast(), entity.$L.asc()", sort.getName(), idName);
+    method
+        .addStatement(
+            "var rows = new $T<$T>(entityManager).select(entity).from(entity).where(predicate).orderBy($L).limit(size + 1L).fetch()",
+            JPA_QUERY,
+            entityType,
+            order
+        )
+        .addStatement(
+            sort == null
+                ? CodeBlock.of("return window(rows, size, e -> scrollToken(e.$L()))", model.getGetterName())
+                : CodeBlock.of("return window(rows, size, e -> scrollToken(e.$L(), e.$L()))", sort.getGetterName(), model.getGetterName())
+        );
+
+    builder.addMethod(method.build());
+  }
+
+  /**
+   * Builds the expression parsing a scroll key back from its string form.
+   *
+   * @param type   the key type
+   * @param mirror the key type mirror, used to recognize enums; may be {@code null}
+   * @param value  the expression holding the string form
+   * @return the parsing expression, or {@code null} if keys of this type cannot be carried by a continuation token
+   */
+  public static CodeBlock parseScrollKey(TypeName type, TypeMirror mirror, String value) {
+    var boxed = type.isPrimitive() ? type.box() : type.withoutAnnotations();
+    if (boxed.equals(STRING)) {
+      return CodeBlock.of("$L", value);
+    }
+    if (boxed.isBoxedPrimitive() && !boxed.equals(ClassName.get(Character.class))) {
+      return CodeBlock.of("$T.valueOf($L)", boxed, value);
+    }
+    if (boxed.equals(ClassName.get(BigDecimal.class)) || boxed.equals(ClassName.get(BigInteger.class))) {
+      return CodeBlock.of("new $T($L)", boxed, value);
+    }
+    if (SCROLL_TEMPORAL_TYPES.contains(boxed)) {
+      return CodeBlock.of("$T.parse($L)", boxed, value);
+    }
+    if (boxed.equals(ClassName.get(UUID.class))) {
+      return CodeBlock.of("$T.fromString($L)", boxed, value);
+    }
+    if (mirror instanceof DeclaredType declared && declared.asElement().getKind() == ElementKind.ENUM) {
+      return CodeBlock.of("$T.valueOf($L)", boxed, value);
+    }
+    return null;
+  }
+
   private static String toPropertyPathSuffix(String path) {
     if (path.indexOf('.') < 0) return capitalize(path);
     var parts = path.split("\\.");
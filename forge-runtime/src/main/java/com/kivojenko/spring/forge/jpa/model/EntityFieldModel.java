@@ -0,0 +1,100 @@
+package com.kivojenko.spring.forge.jpa.model;
+
+import com.squareup.javapoet.TypeName;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.OneToMany;
+import lombok.Builder;
+import lombok.Data;
+
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+
+import static com.kivojenko.spring.forge.jpa.utils.StringUtils.toConstantCase;
+
+/**
+ * Describes a persistent field of an entity (including fields inherited from mapped superclasses)
+ * as seen by the processor. Used to emit typed, reflection-free code in generated classes.
+ */
+@Data
+@Builder
+public class EntityFieldModel {
+  private static final String JSON_IGNORE = "com.fasterxml.jackson.annotation.JsonIgnore";
+
+  VariableElement element;
+  TypeElement declaringType;
+  TypeMirror type;
+  TypeName typeName;
+  boolean id;
+  boolean version;
+  boolean collection;
+  boolean typeVariable;
+  boolean databaseGenerated;
+  boolean embedded;
+  boolean toOne;
+  boolean inverse;
+  boolean updatable;
+  boolean cascadesOnRemove;
+  boolean cascadesOnSave;
+  String getterName;
+  String setterName;
+
+  public String getName() {
+    return element.getSimpleName().toString();
+  }
+
+  public boolean hasGetter() {
+    return getterName != null;
+  }
+
+  public boolean hasSetter() {
+    return setterName != null;
+  }
+
+  /**
+   * Whether the field maps to more than one value: a collection, or a map-valued element collection or association.
+   *
+   * @return true if the field is plural
+   */
+  public boolean isPlural() {
+    return collection
+        || element.getAnnotation(ElementCollection.class) != null
+        || element.getAnnotation(OneToMany.class) != null
+        || element.getAnnotation(ManyToMany.class) != null;
+  }
+
+  /**
+   * Whether Jackson leaves this field out of the entity's JSON through {@code @JsonIgnore}.
+   *
+   * @return true if the field is ignored by Jackson
+   */
+  public boolean isJsonIgnored() {
+    return element.getAnnotationMirrors()
+        .stream()
+        .anyMatch(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().contentEquals(JSON_IGNORE));
+  }
+
+  /**
+   * Name of the generated constant holding the pre-resolved Jackson type of this field.
+   *
+   * @return the constant name, e.g. {@code CREATED_AT_PATCH_TYPE}
+   */
+  public String getPatchTypeConstantName() {
+    return toConstantCase(getName()) + "_PATCH_TYPE";
+  }
+
+  /**
+   * Whether a PATCH value for this field can be applied through a generated setter call.
+   * Identifiers, fields without setters and fields whose type depends on a type variable
+   * are left to the reflective fallback.
+   *
+   * @return true if the field can be patched by generated code
+   */
+  public boolean isPatchable() {
+    if (id || typeVariable || !hasSetter()) {
+      return false;
+    }
+    return !collection || hasGetter();
+  }
+}
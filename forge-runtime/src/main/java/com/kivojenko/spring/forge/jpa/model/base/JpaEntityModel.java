@@ -1,7 +1,18 @@
 package com.kivojenko.spring.forge.jpa.model.base;
 
+import com.kivojenko.spring.forge.annotation.OversizedPageMode;
+import com.kivojenko.spring.forge.annotation.PagingMode;
+import com.kivojenko.spring.forge.annotation.RefreshMode;
+import com.kivojenko.spring.forge.annotation.WithService;
+import com.kivojenko.spring.forge.annotation.endpoint.WithEndpoints;
+import com.kivojenko.spring.forge.annotation.filter.FilterField;
+import com.kivojenko.spring.forge.config.SpringForgeConfig;
 import com.kivojenko.spring.forge.jpa.factory.EndpointRelationResolver;
+import com.kivojenko.spring.forge.jpa.factory.EntityFieldModelFactory;
 import com.kivojenko.spring.forge.jpa.factory.FilterFieldModelFactory;
+import com.kivojenko.spring.forge.jpa.factory.JpaEntityModelFactory;
+import com.kivojenko.spring.forge.jpa.generator.ServiceGenerator;
+import com.kivojenko.spring.forge.jpa.model.EntityFieldModel;
 import com.kivojenko.spring.forge.jpa.model.FilterFieldModel;
 import com.kivojenko.spring.forge.jpa.model.relation.EndpointRelation;
 import com.kivojenko.spring.forge.jpa.utils.StringUtils;
@@ -9,7 +20,16 @@ import com.querydsl.core.BooleanBuilder;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.MethodSpec;
 import com.squareup.javapoet.TypeName;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.Inheritance;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
 import java.util.LinkedHashMap;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,7 +43,9 @@ import javax.lang.model.element.TypeElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeKind;
 import javax.lang.model.type.TypeMirror;
+import java.lang.annotation.Annotation;
 import java.util.List;
+import java.util.Set;
 
 import static com.kivojenko.spring.forge.jpa.generator.FilterGenerator.BUILDER_VAR_NAME;
 import static com.kivojenko.spring.forge.jpa.generator.FilterGenerator.ENTITY_VAR_NAME;
@@ -77,6 +99,18 @@ public final class JpaEntityModel {
     @Getter(lazy = true)
     private final String controllerPath = controllerPath();
 
+    @Getter(lazy = true)
+    private final String dtoName = getEntityType().simpleName() + "ForgeDto";
+    @Getter(lazy = true)
+    private final String dtoFqn = getPackages().controllerPackageName() + "." + getDtoName();
+    @Getter(lazy = true)
+    private final ClassName dtoType = ClassName.get(getPackages().controllerPackageName(), getDtoName());
+
+    @Getter(lazy = true)
+    private final String cacheName = getElement().getSimpleName() + "ForgeCache";
+    @Getter(lazy = true)
+    private final String cacheFqn = getPackages().repositoryPackageName() + "." + getCacheName();
+
     @Getter(lazy = true)
     private final String filterName = getElement().getSimpleName() + "ForgeFilter";
     @Getter(lazy = true)
@@ -95,6 +129,73 @@ public final class JpaEntityModel {
     @Getter(lazy = true)
     private final List<EndpointRelation> endpointRelations = EndpointRelationResolver.resolve(getElement(), env);
 
+    @Getter(lazy = true)
+    private final List<EntityFieldModel> entityFields = EntityFieldModelFactory.resolve(getElement(), env);
+
+    @Getter(lazy = true)
+    private final boolean refreshAfterCreate = resolveRefreshAfterCreate();
+
+    @Getter(lazy = true)
+    private final EntityFieldModel versionField = getEntityFields()
+            .stream()
+            .filter(EntityFieldModel::isVersion)
+            .findFirst()
+            .orElse(null);
+
+    @Getter(lazy = true)
+    private final boolean conditionalUpdateSupported = resolveConditionalUpdateSupported();
+
+    @Getter(lazy = true)
+    private final boolean directDeleteSupported = resolveDirectDeleteSupported();
+
+    @Getter(lazy = true)
+    private final EntityFieldModel scrollSortField = getEntityFields()
+            .stream()
+            .filter(f -> {
+                var annotation = f.getElement().getAnnotation(FilterField.class);
+                return annotation != null && annotation.sortKey();
+            })
+            .filter(f -> f.hasGetter() && !f.isCollection() && !f.isToOne() && !f.isEmbedded() && !f.isTypeVariable())
+            .filter(f -> ServiceGenerator.parseScrollKey(f.getTypeName(), f.getType(), "key") != null)
+            .findFirst()
+            .orElse(null);
+
+    @Getter(lazy = true)
+    private final List<EntityFieldModel> sparseFields = getEntityFields()
+            .stream()
+            .filter(f -> f.hasGetter() && !f.isPlural() && !f.isToOne() && !f.isEmbedded() && !f.isTypeVariable())
+            .filter(f -> !f.isJsonIgnored())
+            .toList();
+
+    @Getter(lazy = true)
+    private final List<EntityFieldModel> bulkUpdateFields = getSparseFields()
+            .stream()
+            .filter(f -> !f.isId() && !f.isVersion() && f.isUpdatable())
+            .toList();
+
+    @Getter(lazy = true)
+    private final List<EntityFieldModel> includableFields = getEntityFields()
+            .stream()
+            .filter(f -> f.hasGetter() && !f.isTypeVariable() && !f.isJsonIgnored())
+            .filter(f -> f.getElement().getAnnotation(WithEndpoints.class) != null
+                    || f.getElement().getAnnotation(FilterField.class) != null)
+            .filter(f -> f.isToOne()
+                    || f.getElement().getAnnotation(OneToMany.class) != null
+                    || f.getElement().getAnnotation(ManyToMany.class) != null)
+            .toList();
+
+    @Getter(lazy = true)
+    private final int maxPageSize = resolveMaxPageSize();
+
+    @Getter(lazy = true)
+    private final boolean rejectOversizedPages = resolveRejectOversizedPages();
+
+    @Getter(lazy = true)
+    private final boolean countingPages = resolveCountingPages();
+
+    @Getter(lazy = true)
+    private final int maxBatchSize = resolveMaxBatchSize();
+
     @Getter(lazy = true)
     private final String getterName = StringUtils.getterName(getJpaId().name());
     @Getter(lazy = true)
@@ -108,6 +209,214 @@ public final class JpaEntityModel {
         return pluralize(getEntityType().simpleName());
     }
 
+    /**
+     * Whether a keyset {@code scroll} can be generated: the ID must be a single value that a continuation token can
+     * carry in string form.
+     */
+    public boolean isScrollSupported() {
+        return ServiceGenerator.parseScrollKey(getJpaId().type(), null, "key") != null;
+    }
+
+    /**
+     * Whether the generated controller returns a DTO instead of the entity, see {@code WithRestController#dto()}.
+     */
+    public boolean wantsDto() {
+        var annotation = getRequirements().controllerAnnotation();
+        return annotation != null && annotation.dto();
+    }
+
+    /**
+     * Whether {@code PATCH /{path}} is generated: requested through {@code WithRestController#bulkUpdate()}, with
+     * generated filter parameters to select the entities and at least one basic field to set.
+     */
+    public boolean wantsBulkUpdate() {
+        var annotation = getRequirements().controllerAnnotation();
+        return annotation != null && annotation.bulkUpdate() && wantsFilter() && !getBulkUpdateFields().isEmpty();
+    }
+
+    /**
+     * Whether {@code DELETE /{path}} is generated: requested through {@code WithRestController#bulkDelete()}.
+     */
+    public boolean wantsBulkDelete() {
+        var annotation = getRequirements().controllerAnnotation();
+        return annotation != null && annotation.bulkDelete();
+    }
+
+    /**
+     * Whether sparse fieldsets can be generated: the entity has basic fields that are serialized as columns of its own
+     * table.
+     */
+    public boolean isSparseFieldsSupported() {
+        return !getSparseFields().isEmpty();
+    }
+
+    private int resolveMaxPageSize() {
+        var annotation = getRequirements().controllerAnnotation();
+        return annotation != null && annotation.maxPageSize() > 0 ? annotation.maxPageSize() : SpringForgeConfig.pageMaxSize;
+    }
+
+    private int resolveMaxBatchSize() {
+        var annotation = getRequirements().controllerAnnotation();
+        return annotation != null && annotation.maxBatchSize() > 0 ? annotation.maxBatchSize() : SpringForgeConfig.batchMaxSize;
+    }
+
+    private boolean resolveRejectOversizedPages() {
+        var annotation = getRequirements().controllerAnnotation();
+        var mode = annotation != null ? annotation.oversizedPage() : OversizedPageMode.DEFAULT;
+        return switch (mode) {
+            case CLAMP -> false;
+            case REJECT -> true;
+            case DEFAULT -> SpringForgeConfig.rejectOversizedPages;
+        };
+    }
+
+    private boolean resolveCountingPages() {
+        var annotation = getRequirements().controllerAnnotation();
+        var mode = annotation != null ? annotation.paging() : PagingMode.DEFAULT;
+        return switch (mode) {
+            case PAGE -> true;
+            case SLICE -> false;
+            case DEFAULT -> SpringForgeConfig.pageCount;
+        };
+    }
+
+    /**
+     * Default page size of the generated list endpoint: the configured {@code getAll.page.size}, capped at the
+     * maximum page size.
+     */
+    public int getDefaultPageSize() {
+        return Math.min(SpringForgeConfig.getAllPageSize, getMaxPageSize());
+    }
+
+    /**
+     * Whether {@code create} has to flush and refresh the entity: either forced through
+     * {@link WithService#refreshOnCreate()}, or because some column is populated by the database on insert.
+     */
+    private boolean resolveRefreshAfterCreate() {
+        var annotation = getRequirements().serviceAnnotation();
+        var mode = annotation != null ? annotation.refreshOnCreate() : RefreshMode.AUTO;
+        return switch (mode) {
+            case ALWAYS -> true;
+            case NEVER -> false;
+            case AUTO -> hasDynamicInsert() || getEntityFields().stream().anyMatch(EntityFieldModel::isDatabaseGenerated);
+        };
+    }
+
+    /**
+     * Name of the entity in JPQL queries.
+     */
+    public String getJpqlName() {
+        var entity = getElement().getAnnotation(Entity.class);
+        return entity != null && !entity.name().isEmpty() ? entity.name() : getElement().getSimpleName().toString();
+    }
+
+    /**
+     * Whether the version field is numeric and can be incremented and parsed from an ETag by generated code.
+     */
+    public boolean hasNumericVersion() {
+        var version = getVersionField();
+        if (version == null || !version.hasGetter() || !version.hasSetter()) return false;
+        var type = version.getTypeName().isBoxedPrimitive() ? version.getTypeName().unbox() : version.getTypeName();
+        return type.equals(TypeName.INT) || type.equals(TypeName.LONG);
+    }
+
+    /**
+     * A PUT can be executed as a single {@code UPDATE ... WHERE id = ? AND version = ?} when the entity is versioned,
+     * stands alone (no inheritance, no update callbacks or in-VM update timestamps) and every written field is a
+     * readable basic value or owning to-one reference. Collections, embedded values and to-one references that
+     * cascade persist, merge or orphan removal keep the merge path, which applies those cascades.
+     */
+    private boolean resolveConditionalUpdateSupported() {
+        if (!hasNumericVersion() || isAbstract() || isInInheritanceHierarchy() || hasUpdateCallbacks()) return false;
+
+        return getEntityFields()
+                .stream()
+                .filter(f -> !f.isId() && !f.isVersion() && !f.isInverse() && f.isUpdatable())
+                .allMatch(f -> !f.isCollection() && !f.isEmbedded() && !f.isTypeVariable() && !f.isCascadesOnSave() && f.hasGetter());
+    }
+
+    /**
+     * Whether the entity declares an inheritance strategy, extends another entity or is extended by one.
+     */
+    public boolean isInInheritanceHierarchy() {
+        if (getElement().getAnnotation(Inheritance.class) != null) return true;
+
+        var superType = getElement().getSuperclass();
+        while (superType.getKind() == TypeKind.DECLARED) {
+            var superElement = (TypeElement) ((DeclaredType) superType).asElement();
+            if (superElement.getAnnotation(Entity.class) != null) return true;
+            superType = superElement.getSuperclass();
+        }
+
+        var roundEnv = JpaEntityModelFactory.getRoundEnv();
+        if (roundEnv == null) return false;
+        return roundEnv.getElementsAnnotatedWith(Entity.class)
+                .stream()
+                .filter(e -> e != getElement() && e instanceof TypeElement)
+                .anyMatch(e -> env.getTypeUtils().isSubtype(
+                        env.getTypeUtils().erasure(e.asType()),
+                        env.getTypeUtils().erasure(getElement().asType())));
+    }
+
+    private boolean hasUpdateCallbacks() {
+        return hasLifecycleCallbacks(
+                List.of(PreUpdate.class, PostUpdate.class),
+                Set.of("org.hibernate.annotations.UpdateTimestamp", "org.hibernate.annotations.CurrentTimestamp")
+        );
+    }
+
+    /**
+     * Whether the entity hierarchy declares entity listeners, any of the given callback annotations on its methods,
+     * or any of the given (Hibernate) field annotations - all of which only run when going through the entity manager.
+     */
+    private boolean hasLifecycleCallbacks(List<Class<? extends Annotation>> callbacks, Set<String> fieldAnnotations) {
+        TypeElement current = getElement();
+        while (current != null) {
+            if (current.getAnnotation(EntityListeners.class) != null) return true;
+            for (var enclosed : current.getEnclosedElements()) {
+                if (callbacks.stream().anyMatch(c -> enclosed.getAnnotation(c) != null)) {
+                    return true;
+                }
+                if (enclosed.getKind() == ElementKind.FIELD && enclosed.getAnnotationMirrors()
+                        .stream()
+                        .map(a -> ((TypeElement) a.getAnnotationType().asElement()).getQualifiedName().toString())
+                        .anyMatch(fieldAnnotations::contains)) {
+                    return true;
+                }
+            }
+            var superType = current.getSuperclass();
+            current = superType.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superType).asElement() : null;
+        }
+        return false;
+    }
+
+    /**
+     * A DELETE can be executed as a single {@code DELETE ... WHERE id = ?} when removing the row through the entity
+     * manager would have no further effects: no cascaded or orphan removals, no owned join or collection tables,
+     * no inheritance and no remove callbacks. Persistence hooks are only known at runtime, so the generated service
+     * still falls back to loading and removing the entity when one applies.
+     */
+    private boolean resolveDirectDeleteSupported() {
+        if (isAbstract() || isInInheritanceHierarchy()) return false;
+        if (hasLifecycleCallbacks(List.of(PreRemove.class, PostRemove.class), Set.of())) return false;
+        return getEntityFields().stream().noneMatch(EntityFieldModel::isCascadesOnRemove);
+    }
+
+    private boolean hasDynamicInsert() {
+        TypeElement current = getElement();
+        while (current != null) {
+            var dynamicInsert = current.getAnnotationMirrors()
+                    .stream()
+                    .anyMatch(a -> ((TypeElement) a.getAnnotationType().asElement())
+                            .getQualifiedName()
+                            .contentEquals("org.hibernate.annotations.DynamicInsert"));
+            if (dynamicInsert) return true;
+            var superType = current.getSuperclass();
+            current = superType.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superType).asElement() : null;
+        }
+        return false;
+    }
+
     public MethodSpec setIdMethod() {
         return MethodSpec
                 .methodBuilder("setId")
@@ -145,7 +454,7 @@ public final class JpaEntityModel {
                 throw new IllegalStateException("Field '" + relationField + "' is not an entity type on " + getElement().getSimpleName());
             }
             var relationEl = (TypeElement) declared.asElement();
-            var relationModel = com.kivojenko.spring.forge.jpa.factory.JpaEntityModelFactory.get(relationEl);
+            var relationModel = JpaEntityModelFactory.get(relationEl);
             if (relationModel == null) {
                 throw new IllegalStateException("Cannot resolve model for relation '" + relationField + "'");
             }
@@ -1,5 +1,6 @@
 package com.kivojenko.spring.forge.jpa.model.base;
 
+import com.kivojenko.spring.forge.annotation.ForgeCacheable;
 import com.kivojenko.spring.forge.annotation.GetOrCreate;
 import com.kivojenko.spring.forge.annotation.WithJpaRepository;
 import com.kivojenko.spring.forge.annotation.WithRestController;
@@ -24,6 +25,7 @@ import javax.lang.model.type.TypeMirror;
  * @param serviceAnnotation     annotation for service configuration
  * @param controllerAnnotation  annotation for controller configuration
  * @param getOrCreateAnnotation annotation for "get or create" operation configuration
+ * @param cacheAnnotation       annotation for second-level cache configuration
  */
 public record JpaEntityRequirements(
         boolean hasName,
@@ -31,7 +33,8 @@ public record JpaEntityRequirements(
         List<TypeName> repositoryInterfaces,
         WithService serviceAnnotation,
         WithRestController controllerAnnotation,
-        GetOrCreate getOrCreateAnnotation
+        GetOrCreate getOrCreateAnnotation,
+        ForgeCacheable cacheAnnotation
 )
 {
     /**
@@ -54,6 +57,7 @@ public record JpaEntityRequirements(
         var repositoryInterfaces = resolveRepositoryInterfaces(entity, repositoryAnnotation, env);
 
         var getOrCreateAnnotation = entity.getAnnotation(GetOrCreate.class);
+        var cacheAnnotation = entity.getAnnotation(ForgeCacheable.class);
 
         return new JpaEntityRequirements(
                 hasName,
@@ -61,7 +65,8 @@ public record JpaEntityRequirements(
                 repositoryInterfaces,
                 serviceAnnotation,
                 controllerAnnotation,
-                getOrCreateAnnotation
+                getOrCreateAnnotation,
+                cacheAnnotation
         );
     }
 
@@ -114,6 +119,34 @@ public record JpaEntityRequirements(
         return serviceAnnotation != null && serviceAnnotation.makeAbstract();
     }
 
+    public boolean wantsReadCache() {
+        return serviceAnnotation != null && serviceAnnotation.readCache();
+    }
+
+    public boolean wantsResponseCache() {
+        return controllerAnnotation != null && controllerAnnotation.responseCache();
+    }
+
+    public boolean wantsLookupCache() {
+        return getOrCreateAnnotation != null && getOrCreateAnnotation.lookupCache();
+    }
+
+    /**
+     * Whether the generated service caches anything by entity ID, or maps lookup keys to IDs, which its writes then
+     * have to invalidate.
+     */
+    public boolean cachesById() {
+        return wantsReadCache() || wantsResponseCache() || wantsLookupCache();
+    }
+
+    public boolean wantsCache() {
+        return cacheAnnotation != null;
+    }
+
+    public boolean wantsQueryCache() {
+        return cacheAnnotation != null && cacheAnnotation.queries();
+    }
+
     public boolean wantsController() {
         return controllerAnnotation != null;
     }
@@ -62,6 +62,22 @@ public abstract class EndpointRelation {
     return param.build();
   }
 
+  /**
+   * Returns the optional {@code If-None-Match} header parameter of generated read endpoints.
+   *
+   * @return the parameter specification
+   */
+  protected ParameterSpec ifNoneMatchParamSpec() {
+    return ParameterSpec
+        .builder(STRING, "ifNoneMatch")
+        .addAnnotation(AnnotationSpec
+                           .builder(REQUEST_HEADER)
+                           .addMember("name", "$T.IF_NONE_MATCH", HTTP_HEADERS)
+                           .addMember("required", "false")
+                           .build())
+        .build();
+  }
+
   protected String path;
 
   protected String uri() {
@@ -131,7 +147,8 @@ public abstract class EndpointRelation {
   }
 
   /**
-   * Adds a statement to find the base entity by its ID to the given method builder.
+   * Adds a statement to find the base entity by its ID to the given method builder. The base entity is about to be
+   * modified, so it is also evicted from the service's entity and response caches, if it has them.
    *
    * @param methodSpec the method builder
    */
@@ -139,6 +156,9 @@ public abstract class EndpointRelation {
     methodSpec
         .addParameter(baseParamSpec(pathVariable))
         .addStatement("var $L = getById($L)", BASE_VAR_NAME, baseIdParamName());
+    if (entityModel.getRequirements().cachesById()) {
+      methodSpec.addStatement("invalidateEntity($L)", baseIdParamName());
+    }
   }
 
   /**
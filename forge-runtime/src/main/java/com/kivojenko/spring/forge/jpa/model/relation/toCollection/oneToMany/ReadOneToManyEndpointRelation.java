@@ -9,6 +9,7 @@ import javax.lang.model.element.Modifier;
 
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.GET_MAPPING;
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.ITERABLE;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.RESPONSE_ENTITY;
 import static com.kivojenko.spring.forge.jpa.utils.StringUtils.capitalize;
 
 @SuperBuilder
@@ -25,12 +26,14 @@ public class ReadOneToManyEndpointRelation extends EndpointRelation {
         .methodBuilder(generatedMethodName())
         .addJavadoc("Retrieves the {@link $T} entities associated with the {@link $T} by its ID.\n", targetEntityModel.getEntityType(), entityModel.getEntityType())
         .addJavadoc("@param $L the ID of the {@link $T} entity\n", baseIdParamName(), entityModel.getEntityType())
-        .addJavadoc("@return an iterable of associated {@link $T} entities\n", targetEntityModel.getEntityType())
+        .addJavadoc("@param ifNoneMatch the entity tag held by the client, optional\n")
+        .addJavadoc("@return an iterable of associated {@link $T} entities, with an entity tag, or status 304 if unchanged\n", targetEntityModel.getEntityType())
         .addModifiers(Modifier.PUBLIC)
         .addAnnotation(annotation(GET_MAPPING))
-        .returns(ParameterizedTypeName.get(ITERABLE, targetEntityModel.getEntityType()))
+        .returns(ParameterizedTypeName.get(RESPONSE_ENTITY, ParameterizedTypeName.get(ITERABLE, targetEntityModel.getEntityType())))
         .addParameter(baseParamSpec(true))
-        .addStatement("return getById($L).$L()", baseIdParamName(), generatedMethodName())
+        .addParameter(ifNoneMatchParamSpec())
+        .addStatement("return readConditionally(ifNoneMatch, getById($L).$L())", baseIdParamName(), generatedMethodName())
         .build();
   }
 
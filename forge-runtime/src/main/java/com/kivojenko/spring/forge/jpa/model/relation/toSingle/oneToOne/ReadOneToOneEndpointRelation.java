@@ -2,11 +2,13 @@ package com.kivojenko.spring.forge.jpa.model.relation.toSingle.oneToOne;
 
 import com.kivojenko.spring.forge.jpa.model.relation.EndpointRelation;
 import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
 import lombok.experimental.SuperBuilder;
 
 import javax.lang.model.element.Modifier;
 
 import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.GET_MAPPING;
+import static com.kivojenko.spring.forge.jpa.utils.ClassNameUtils.RESPONSE_ENTITY;
 import static com.kivojenko.spring.forge.jpa.utils.StringUtils.getterName;
 
 /**
@@ -24,12 +26,14 @@ public class ReadOneToOneEndpointRelation extends EndpointRelation {
         .methodBuilder(generatedMethodName())
         .addJavadoc("Retrieves the {@link $T} associated with the {@link $T} by its ID.\n", targetEntityModel.getEntityType(), entityModel.getEntityType())
         .addJavadoc("@param $L the ID of the {@link $T} entity\n", baseIdParamName(), entityModel.getEntityType())
-        .addJavadoc("@return the associated {@link $T} entity\n", targetEntityModel.getEntityType())
+        .addJavadoc("@param ifNoneMatch the entity tag held by the client, optional\n")
+        .addJavadoc("@return the associated {@link $T} entity, with an entity tag, or status 304 if unchanged\n", targetEntityModel.getEntityType())
         .addModifiers(Modifier.PUBLIC)
         .addAnnotation(annotation(GET_MAPPING))
-        .returns(targetEntityModel.getEntityType())
+        .returns(ParameterizedTypeName.get(RESPONSE_ENTITY, targetEntityModel.getEntityType()))
         .addParameter(baseParamSpec(true))
-        .addStatement("return getById($L).$L()", baseIdParamName(), generatedMethodName())
+        .addParameter(ifNoneMatchParamSpec())
+        .addStatement("return readConditionally(ifNoneMatch, getById($L).$L())", baseIdParamName(), generatedMethodName())
         .build();
   }
 
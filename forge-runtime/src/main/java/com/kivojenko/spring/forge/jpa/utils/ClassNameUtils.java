@@ -1,12 +1,20 @@
 package com.kivojenko.spring.forge.jpa.utils;
 
-import com.kivojenko.spring.forge.jpa.contract.ForgeAbstractController;
-import com.kivojenko.spring.forge.jpa.contract.ForgeController;
+import com.kivojenko.spring.forge.jpa.contract.ForgeBaseController;
+import com.kivojenko.spring.forge.jpa.contract.ForgeBatchResult;
+import com.kivojenko.spring.forge.jpa.contract.ForgeCachedResponse;
+import com.kivojenko.spring.forge.jpa.contract.ForgeCountStrategy;
+import com.kivojenko.spring.forge.jpa.contract.ForgeEntityCache;
+import com.kivojenko.spring.forge.jpa.contract.ForgeKeyCache;
+import com.kivojenko.spring.forge.jpa.contract.ForgeLookup;
 import com.kivojenko.spring.forge.jpa.contract.ForgeService;
+import com.kivojenko.spring.forge.jpa.contract.ForgeWindow;
 import com.kivojenko.spring.forge.jpa.contract.HasNameRepository;
 import com.squareup.javapoet.ClassName;
 import com.squareup.javapoet.TypeName;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.time.LocalDate;
@@ -15,9 +23,13 @@ import java.time.LocalTime;
 import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ClassNameUtils {
   String BIND_ANNOTATION = "org.springframework.web.bind.annotation";
@@ -26,6 +38,7 @@ public interface ClassNameUtils {
   ClassName POST_MAPPING = ClassName.get(BIND_ANNOTATION, "PostMapping");
   ClassName PUT_MAPPING = ClassName.get(BIND_ANNOTATION, "PutMapping");
   ClassName DELETE_MAPPING = ClassName.get(BIND_ANNOTATION, "DeleteMapping");
+  ClassName PATCH_MAPPING = ClassName.get(BIND_ANNOTATION, "PatchMapping");
 
   ClassName REQUEST_MAPPING = ClassName.get(BIND_ANNOTATION, "RequestMapping");
 
@@ -35,36 +48,82 @@ public interface ClassNameUtils {
   ClassName REQUEST_BODY = ClassName.get(BIND_ANNOTATION, "RequestBody");
   ClassName RESPONSE_STATUS = ClassName.get(BIND_ANNOTATION, "ResponseStatus");
   ClassName REQUEST_METHOD = ClassName.get(BIND_ANNOTATION, "RequestMethod");
+  ClassName REQUEST_HEADER = ClassName.get(BIND_ANNOTATION, "RequestHeader");
 
   ClassName VALID = ClassName.get("jakarta.validation", "Valid");
   ClassName NOT_NULL = ClassName.get("jakarta.validation.constraints", "NotNull");
   ClassName NOT_BLANK = ClassName.get("jakarta.validation.constraints", "NotBlank");
 
   ClassName HTTP_STATUS = ClassName.get("org.springframework.http", "HttpStatus");
+  ClassName HTTP_HEADERS = ClassName.get("org.springframework.http", "HttpHeaders");
+  ClassName MEDIA_TYPE = ClassName.get("org.springframework.http", "MediaType");
+  ClassName RESPONSE_ENTITY = ClassName.get("org.springframework.http", "ResponseEntity");
+  ClassName HTTP_SERVLET_RESPONSE = ClassName.get("jakarta.servlet.http", "HttpServletResponse");
+  ClassName RESPONSE_STATUS_EXCEPTION = ClassName.get("org.springframework.web.server", "ResponseStatusException");
 
   ClassName DATA_INTEGRITY_VIOLATION_EXCEPTION = ClassName.get(
       "org.springframework.dao",
       "DataIntegrityViolationException"
   );
 
+  ClassName OPTIMISTIC_LOCKING_FAILURE_EXCEPTION = ClassName.get(
+      "org.springframework.dao",
+      "OptimisticLockingFailureException"
+  );
+  ClassName ENTITY_NOT_FOUND_EXCEPTION = ClassName.get("jakarta.persistence", "EntityNotFoundException");
+
   ClassName TRANSACTIONAL = ClassName.get("org.springframework.transaction.annotation", "Transactional");
   ClassName AUTOWIRED = ClassName.get("org.springframework.beans.factory.annotation", "Autowired");
 
   ClassName PAGE = ClassName.get("org.springframework.data.domain", "Page");
+  ClassName SLICE = ClassName.get("org.springframework.data.domain", "Slice");
   ClassName PAGEABLE = ClassName.get("org.springframework.data.domain", "Pageable");
   ClassName PAGEABLE_DEFAULT = ClassName.get("org.springframework.data.web", "PageableDefault");
 
+  ClassName STREAMING_RESPONSE_BODY = ClassName.get(
+      "org.springframework.web.servlet.mvc.method.annotation",
+      "StreamingResponseBody"
+  );
+
+  ClassName JAVA_TYPE = ClassName.get("com.fasterxml.jackson.databind", "JavaType");
+  ClassName TYPE_REFERENCE = ClassName.get("com.fasterxml.jackson.core.type", "TypeReference");
+
+  ClassName JPA_QUERY = ClassName.get("com.querydsl.jpa.impl", "JPAQuery");
+  ClassName BOOLEAN_BUILDER = ClassName.get("com.querydsl.core", "BooleanBuilder");
+  ClassName PATH_BUILDER = ClassName.get("com.querydsl.core.types.dsl", "PathBuilder");
+  ClassName ENTITY_PATH = ClassName.get("com.querydsl.core.types", "EntityPath");
+  ClassName EXPRESSION = ClassName.get("com.querydsl.core.types", "Expression");
+  ClassName SIMPLE_EXPRESSION = ClassName.get("com.querydsl.core.types.dsl", "SimpleExpression");
+  ClassName PATH = ClassName.get("com.querydsl.core.types", "Path");
+  ClassName NUMBER_PATH = ClassName.get("com.querydsl.core.types.dsl", "NumberPath");
+  ClassName QUERYDSL = ClassName.get("org.springframework.data.jpa.repository.support", "Querydsl");
+
   ClassName JPA_REPOSITORY = ClassName.get("org.springframework.data.jpa.repository", "JpaRepository");
+  ClassName QUERY_HINTS = ClassName.get("org.springframework.data.jpa.repository", "QueryHints");
+  ClassName QUERY_HINT = ClassName.get("jakarta.persistence", "QueryHint");
   ClassName SERVICE = ClassName.get("org.springframework.stereotype", "Service");
+  ClassName COMPONENT = ClassName.get("org.springframework.stereotype", "Component");
+
+  ClassName HIBERNATE_PROPERTIES_CUSTOMIZER = ClassName.get(
+      "org.springframework.boot.hibernate.autoconfigure",
+      "HibernatePropertiesCustomizer"
+  );
 
-  ClassName FORGE_ABSTRACT_CONTROLLER = ClassName.get(ForgeAbstractController.class);
-  ClassName FORGE_CONTROLLER = ClassName.get(ForgeController.class);
+  ClassName FORGE_BASE_CONTROLLER = ClassName.get(ForgeBaseController.class);
   ClassName FORGE_SERVICE = ClassName.get(ForgeService.class);
+  ClassName FORGE_WINDOW = ClassName.get(ForgeWindow.class);
+  ClassName FORGE_BATCH_RESULT = ClassName.get(ForgeBatchResult.class);
+  ClassName FORGE_LOOKUP = ClassName.get(ForgeLookup.class);
+  ClassName FORGE_COUNT_STRATEGY = ClassName.get(ForgeCountStrategy.class);
+  ClassName FORGE_ENTITY_CACHE = ClassName.get(ForgeEntityCache.class);
+  ClassName FORGE_CACHED_RESPONSE = ClassName.get(ForgeCachedResponse.class);
+  ClassName FORGE_KEY_CACHE = ClassName.get(ForgeKeyCache.class);
   ClassName HAS_NAME_REPOSITORY = ClassName.get(HasNameRepository.class);
 
   ClassName GETTER = ClassName.get("lombok", "Getter");
   ClassName SETTER = ClassName.get("lombok", "Setter");
   ClassName TO_STRING = ClassName.get("lombok", "ToString");
+  ClassName VALUE = ClassName.get("lombok", "Value");
   ClassName BUILDER = ClassName.get("lombok", "Builder");
   ClassName BUILDER_DEFAULT = ClassName.get("lombok", "Builder", "Default");
   ClassName ALL_ARGS = ClassName.get("lombok", "AllArgsConstructor");
@@ -79,8 +138,14 @@ public interface ClassNameUtils {
   ClassName SET = ClassName.get(Set.class);
   ClassName HASH_SET = ClassName.get(HashSet.class);
   ClassName LIST = ClassName.get(List.class);
+  ClassName COLLECTION = ClassName.get(Collection.class);
+  ClassName OPTIONAL = ClassName.get(Optional.class);
+  ClassName MAP = ClassName.get(Map.class);
   ClassName ARRAY_LIST = ClassName.get(ArrayList.class);
   ClassName STRING = ClassName.get(String.class);
+  ClassName CONSUMER = ClassName.get(Consumer.class);
+  ClassName INPUT_STREAM = ClassName.get(InputStream.class);
+  ClassName IO_EXCEPTION = ClassName.get(IOException.class);
 
   Set<TypeName> BOOLEAN_TYPES = Set.of(TypeName.BOOLEAN, ClassName.get(Boolean.class));
 
@@ -90,6 +90,25 @@ public final class StringUtils {
     return "max" + capitalize(fieldName);
   }
 
+  /**
+   * Converts a camelCase identifier to UPPER_SNAKE_CASE, as used for constant names.
+   *
+   * @param s the identifier to convert
+   * @return the constant-style name
+   */
+  public static String toConstantCase(String s) {
+    if (s == null || s.isEmpty()) return s;
+    var sb = new StringBuilder(s.length() + 4);
+    for (int i = 0; i < s.length(); i++) {
+      char c = s.charAt(i);
+      if (Character.isUpperCase(c) && i > 0 && !Character.isUpperCase(s.charAt(i - 1))) {
+        sb.append('_');
+      }
+      sb.append(Character.toUpperCase(c));
+    }
+    return sb.toString();
+  }
+
   public static String toCamelCase(String s) {
     if (s == null || s.isEmpty()) return s;
     StringBuilder sb = new StringBuilder();